@@ -1,13 +1,39 @@
 package edu.eci.arsw.app;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.swing.SwingUtilities;
 
+import edu.eci.arsw.bench.AccountStoreBenchmark;
+import edu.eci.arsw.bench.ArenaBenchmark;
+import edu.eci.arsw.bench.BackendBenchmark;
+import edu.eci.arsw.bench.BankLoadGenerator;
+import edu.eci.arsw.bench.CheckpointBenchmark;
+import edu.eci.arsw.bench.CombiningBenchmark;
+import edu.eci.arsw.bench.ContentionBenchmark;
+import edu.eci.arsw.bench.ParameterSweep;
+import edu.eci.arsw.bench.PauseBenchmark;
+import edu.eci.arsw.bench.RateBenchmark;
+import edu.eci.arsw.bench.ReadHeavyBenchmark;
+import edu.eci.arsw.bench.StartupBenchmark;
+import edu.eci.arsw.bench.TargetingBenchmark;
+import edu.eci.arsw.bench.TeamBattleBenchmark;
+import edu.eci.arsw.bench.WalBenchmark;
 import edu.eci.arsw.demos.DeadlockDemo;
+import edu.eci.arsw.distributed.Coordinator;
+import edu.eci.arsw.distributed.PartitionNode;
 import edu.eci.arsw.demos.OrderedTransferDemo;
 import edu.eci.arsw.demos.TryLockTransferDemo;
 import edu.eci.arsw.highlandersim.ControlFrame;
+import edu.eci.arsw.immortals.ExecutionBackend;
+import edu.eci.arsw.immortals.FightRateGovernor;
 import edu.eci.arsw.immortals.FightStrategy;
 import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+import edu.eci.arsw.immortals.TargetingPolicy;
+import edu.eci.arsw.immortals.TeamLocking;
 
 public class Main {
   public static void main(String[] args) throws Exception {
@@ -23,8 +49,34 @@ public class Main {
         case "3" -> TryLockTransferDemo.run();
         default -> System.out.println("Use -Ddemo=1|2|3");
       }
+    } else if ("sweep".equals(mode)) {
+      ParameterSweep.runFromSystemProperties();
+    } else if ("bank-load".equals(mode)) {
+      BankLoadGenerator.runFromSystemProperties();
+    } else if ("bench".equals(mode)) {
+      String bench = System.getProperty("bench", "targeting");
+      switch (bench) {
+        case "targeting" -> TargetingBenchmark.run();
+        case "combining" -> CombiningBenchmark.run();
+        case "checkpoint" -> CheckpointBenchmark.run();
+        case "startup" -> StartupBenchmark.run();
+        case "backend" -> BackendBenchmark.run();
+        case "rate" -> RateBenchmark.run();
+        case "accounts" -> AccountStoreBenchmark.run();
+        case "wal" -> WalBenchmark.run();
+        case "contention" -> ContentionBenchmark.run();
+        case "readheavy" -> ReadHeavyBenchmark.run();
+        case "team" -> TeamBattleBenchmark.run();
+        case "arena" -> ArenaBenchmark.run();
+        case "pause" -> PauseBenchmark.run();
+        default -> System.out.println("Use -Dbench=targeting|combining|checkpoint|startup|backend|rate|accounts|wal|contention|readheavy|team|arena|pause");
+      }
+    } else if ("node".equals(mode)) {
+      runPartitionNode();
+    } else if ("coordinator".equals(mode)) {
+      runCoordinator();
     } else {
-      System.out.println("Use -Dmode=ui|demos");
+      System.out.println("Use -Dmode=ui|demos|sweep|bank-load|bench|node|coordinator");
     }
   }
 
@@ -40,6 +92,14 @@ private static void runHighlanderSimulator() {
         int health = Integer.parseInt(System.getProperty("health", "100"));
         int damage = Integer.parseInt(System.getProperty("damage", "10"));
         FightStrategy strategy = parseFightStrategy(System.getProperty("fight", "ordered"));
+        int keep = Integer.parseInt(System.getProperty("keep", "0"));
+        TargetingPolicy targeting = TargetingPolicy.valueOf(System.getProperty("target", "uniform").toUpperCase());
+        ExecutionBackend backend = parseBackend(System.getProperty("backend", "virtual"));
+        int threads = Integer.parseInt(System.getProperty("threads",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int team = Integer.parseInt(System.getProperty("team", "1"));
+        TeamLocking teamLock = "tryall".equalsIgnoreCase(System.getProperty("teamLock", "sorted"))
+            ? TeamLocking.TRY_ALL : TeamLocking.SORTED;
 
         System.out.printf(
             "Starting Highlander Simulator: %d immortals, %d HP, %d damage, %s strategy%n",
@@ -47,6 +107,14 @@ private static void runHighlanderSimulator() {
         );
 
         ImmortalManager manager = new ImmortalManager(count, health, damage, strategy);
+        manager.setArenaSide(Integer.parseInt(System.getProperty("arenaSide", "0")));
+        manager.setTargetingPolicy(targeting);
+        manager.setExecutionBackend(backend, threads);
+        manager.setFightRateGovernor(parseRate(System.getProperty("rate", "legacy")));
+        manager.setTeamBattle(team, teamLock);
+        if (keep > 0) {
+            manager.setRespawnPolicy(RespawnPolicy.keepPopulation(keep));
+        }
 
         SwingUtilities.invokeLater(() -> {
             new ControlFrame(manager).setVisible(true);
@@ -58,6 +126,85 @@ private static void runHighlanderSimulator() {
     }
 }
 
+  /*
+   * METODO PARA INICIAR UNA PARTICION (-Dmode=node)
+   * - -Dport=N (0 = libre), -Dcount, -Dhealth, -Ddamage, -Dfight, -Drate y -DcrossRate=ataques/s a otras particiones
+   * - Imprime el puerto y espera a que el coordinador la detenga
+   */
+  private static void runPartitionNode() throws Exception {
+    PartitionNode.Config config = new PartitionNode.Config(
+        Integer.parseInt(System.getProperty("count", "1000")),
+        Integer.parseInt(System.getProperty("health", "100")),
+        Integer.parseInt(System.getProperty("damage", "10")),
+        parseFightStrategy(System.getProperty("fight", "ordered")),
+        parseRate(System.getProperty("rate", "legacy")),
+        Double.parseDouble(System.getProperty("crossRate", "1000")));
+    try (PartitionNode node = new PartitionNode(config, Integer.parseInt(System.getProperty("port", "0")))) {
+      System.out.println("Partition node listening on port " + node.port());
+      node.awaitStop();
+    }
+  }
+
+  /*
+   * METODO PARA COORDINAR PARTICIONES (-Dmode=coordinator)
+   * - -Dports=p1,p2,... nodos ya lanzados, o -Dspawn=N para lanzar N procesos locales
+   *   (se les pasan -Dcount, -Dhealth, -Ddamage, -Dfight, -Drate y -DcrossRate)
+   * - Corre -Dmillis ms mostrando los totales cada segundo; al final pausa, muestra el
+   *   tiempo hasta quedar quieta y los totales, y detiene a todos
+   */
+  private static void runCoordinator() throws Exception {
+    int spawn = Integer.parseInt(System.getProperty("spawn", "0"));
+    long millis = Long.parseLong(System.getProperty("millis", "5000"));
+    List<String> forwarded = new ArrayList<>();
+    for (String key : List.of("count", "health", "damage", "fight", "rate", "crossRate")) {
+      String value = System.getProperty(key);
+      if (value != null)
+        forwarded.add("-D" + key + "=" + value);
+    }
+    Coordinator.LocalNodes local = spawn > 0 ? Coordinator.LocalNodes.launch(spawn, forwarded) : null;
+    List<Integer> ports = local != null ? local.ports()
+        : Arrays.stream(System.getProperty("ports", "").split(",")).filter(p -> !p.isBlank()).map(Integer::valueOf)
+            .toList();
+    if (ports.isEmpty()) {
+      System.out.println("Use -Dports=p1,p2,... or -Dspawn=N");
+      return;
+    }
+    try (Coordinator coordinator = new Coordinator(ports)) {
+      coordinator.start();
+      System.out.printf("Coordinating %d partitions on ports %s for %d ms%n", ports.size(), ports, millis);
+      long deadline = System.currentTimeMillis() + millis;
+      while (System.currentTimeMillis() < deadline) {
+        Thread.sleep(Math.min(1000, Math.max(1, deadline - System.currentTimeMillis())));
+        System.out.println(coordinator.stats());
+      }
+      Coordinator.GlobalPause pause = coordinator.pause();
+      System.out.printf("Global pause: %s, slowest partition quiesced in %.2f ms%n",
+          pause.quiesced() ? "all quiesced" : "TIMED OUT", pause.maxQuiesceNanos() / 1e6);
+      System.out.println("Paused totals: " + coordinator.stats());
+      System.out.println("Final totals: " + coordinator.stop());
+    } finally {
+      if (local != null)
+        local.close();
+    }
+  }
+
+  /* legacy (2 ms por inmortal), unthrottled o una tasa global en peleas/s */
+  private static FightRateGovernor parseRate(String rate) {
+    return switch (rate.toLowerCase()) {
+      case "legacy" -> FightRateGovernor.LEGACY;
+      case "unthrottled" -> FightRateGovernor.UNTHROTTLED;
+      default -> FightRateGovernor.tokenBucket(Double.parseDouble(rate));
+    };
+  }
+
+  private static ExecutionBackend parseBackend(String backend) {
+    return switch (backend.toLowerCase()) {
+      case "platform" -> ExecutionBackend.PLATFORM_POOL;
+      case "forkjoin" -> ExecutionBackend.FORK_JOIN;
+      default -> ExecutionBackend.VIRTUAL;
+    };
+  }
+
   /*
    * METODO PARA PARSEAR STRATEGY DESDE STRING
    * - Retorna ORDERED por defecto y avisa si la estrategia es desconocida
@@ -66,6 +213,9 @@ private static void runHighlanderSimulator() {
     return switch (strategy.toLowerCase()) {
       case "naive" -> FightStrategy.NAIVE;
       case "ordered" -> FightStrategy.ORDERED;
+      case "adaptive" -> FightStrategy.ADAPTIVE;
+      case "combining" -> FightStrategy.FLAT_COMBINING;
+      case "actor" -> FightStrategy.ACTOR;
       default -> {
         System.out.println("Unknown strategy '" + strategy + "', using ORDERED");
         yield FightStrategy.ORDERED;
@@ -0,0 +1,89 @@
+package edu.eci.arsw.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntBinaryOperator;
+
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.StripedAccountStore;
+import edu.eci.arsw.core.TransferService;
+
+/**
+ * Compara el diseño de un ReentrantLock por BankAccount con
+ * StripedAccountStore: memoria retenida por N cuentas (heap usado antes y
+ * despues de crearlas, tras un GC) y transferencias/s con T hilos de
+ * plataforma haciendo transferencias ordenadas entre cuentas al azar.
+ *
+ * -Daccounts=N (por defecto 1000000), -Dthreads=T, -Dmillis=ms.
+ */
+public final class AccountStoreBenchmark {
+  private AccountStoreBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    int accounts = Integer.parseInt(System.getProperty("accounts", "1000000"));
+    int threads = Integer.parseInt(System.getProperty("threads",
+        String.valueOf(Runtime.getRuntime().availableProcessors())));
+    long millis = Long.parseLong(System.getProperty("millis", "2000"));
+    System.out.printf("Account store benchmark: %d accounts, %d threads, %d ms%n", accounts, threads, millis);
+    System.out.printf("%-22s %12s %16s%n", "design", "heap MB", "transfers/s");
+
+    long before = usedHeap();
+    BankAccount[] perObject = new BankAccount[accounts];
+    for (int i = 0; i < accounts; i++) perObject[i] = new BankAccount(i, 1_000);
+    long perObjectBytes = usedHeap() - before;
+    double perObjectRate = measure(threads, millis, accounts, (from, to) -> {
+      TransferService.transferOrdered(perObject[from], perObject[to], 1);
+      return 0;
+    });
+    System.out.printf("%-22s %12.1f %16.1f%n", "per-account lock", perObjectBytes / 1e6, perObjectRate);
+    long perObjectTotal = 0;
+    for (BankAccount a : perObject) perObjectTotal += a.balance();
+    check(perObjectTotal, 1_000L * accounts);
+    Arrays.fill(perObject, null);
+
+    before = usedHeap();
+    var store = new StripedAccountStore(accounts, 1_000);
+    long storeBytes = usedHeap() - before;
+    double storeRate = measure(threads, millis, accounts, (from, to) -> {
+      store.transfer(from, to, 1);
+      return 0;
+    });
+    System.out.printf("%-22s %12.1f %16.1f%n", "striped (" + store.stripes() + ")", storeBytes / 1e6, storeRate);
+    check(store.totalBalance(), 1_000L * accounts);
+  }
+
+  private static double measure(int threads, long millis, int accounts, IntBinaryOperator transfer)
+      throws InterruptedException {
+    LongAdder done = new LongAdder();
+    long deadline = System.nanoTime() + millis * 1_000_000;
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      workers[t] = Thread.ofPlatform().start(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long local = 0;
+        while ((local & 255) != 0 || System.nanoTime() < deadline) {
+          try {
+            transfer.applyAsInt(random.nextInt(accounts), random.nextInt(accounts));
+          } catch (IllegalArgumentException insufficientFunds) {
+            // saldo agotado: se cuenta igual como operacion
+          }
+          local++;
+        }
+        done.add(local);
+      });
+    }
+    for (Thread w : workers) w.join();
+    return done.sum() * 1000.0 / millis;
+  }
+
+  private static void check(long total, long expected) {
+    if (total != expected) throw new IllegalStateException("Money not conserved: " + total + " != " + expected);
+  }
+
+  private static long usedHeap() {
+    Runtime rt = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) System.gc();
+    return rt.totalMemory() - rt.freeMemory();
+  }
+}
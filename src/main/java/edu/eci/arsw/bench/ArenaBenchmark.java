@@ -0,0 +1,62 @@
+package edu.eci.arsw.bench;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+import edu.eci.arsw.immortals.TargetingPolicy;
+
+/**
+ * Escalamiento de la arena espacial: con la misma poblacion, mide
+ * peleas/s y p99 de espera por locks para varios lados de grilla (mas
+ * celdas = mas dominios de lock independientes) y lo compara con la
+ * seleccion uniforme con locks por inmortal.
+ *
+ * -Dcount=N (por defecto 4096), -Dsides=1,4,16,64, -Dmillis=ms por corrida.
+ */
+public final class ArenaBenchmark {
+  private ArenaBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    int count = Integer.parseInt(System.getProperty("count", "4096"));
+    List<Integer> sides = Arrays.stream(System.getProperty("sides", "1,4,16,64").split(","))
+        .map(String::trim).map(Integer::valueOf).toList();
+    long millis = Long.parseLong(System.getProperty("millis", "1000"));
+    System.out.printf("Arena benchmark: %d immortals, ORDERED, %d ms per run%n", count, millis);
+    System.out.printf("%-16s %10s %14s %14s%n", "targeting", "cells", "fights/s", "wait p99(us)");
+    measure("uniform", count, 0, millis);
+    for (int side : sides)
+      measure("arena " + side + "x" + side, count, side, millis);
+  }
+
+  /* side = 0: seleccion uniforme */
+  private static void measure(String label, int count, int side, long millis) throws InterruptedException {
+    try (var manager = new ImmortalManager(count, 1_000_000, 10, FightStrategy.ORDERED)) {
+      manager.setFightLogging(false);
+      manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+      manager.setRespawnPolicy(RespawnPolicy.keepPopulation(count));
+      if (side > 0) {
+        manager.setArenaSide(side);
+        manager.setTargetingPolicy(TargetingPolicy.ARENA);
+      }
+      manager.start();
+      Thread.sleep(millis / 4);
+      long fights0 = manager.scoreBoard().totalFights();
+      long[] wait0 = manager.scoreBoard().lockWaitHistogram().snapshot();
+      long begin = System.nanoTime();
+      Thread.sleep(millis);
+      double seconds = (System.nanoTime() - begin) / 1e9;
+      long fights = manager.scoreBoard().totalFights() - fights0;
+      long[] wait = manager.scoreBoard().lockWaitHistogram().snapshot();
+      for (int i = 0; i < wait.length; i++)
+        wait[i] -= wait0[i];
+      manager.stop();
+      System.out.printf("%-16s %10s %14.1f %14.1f%n", label, side > 0 ? Integer.toString(side * side) : "-",
+          fights / seconds, LatencyHistogram.percentile(wait, 0.99) / 1e3);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package edu.eci.arsw.bench;
+
+import java.util.List;
+
+import edu.eci.arsw.immortals.ExecutionBackend;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+
+/**
+ * Benchmark de backends de ejecucion: para cada backend y estrategia corre
+ * una simulacion de poblacion constante y reporta peleas/s y la latencia
+ * de stop(). Con NAIVE la corrida suele terminar interbloqueada; lo que se
+ * mide ahi es que stop() la cancele de inmediato.
+ */
+public final class BackendBenchmark {
+  private BackendBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    int count = Integer.parseInt(System.getProperty("count", "1000"));
+    long millis = Long.parseLong(System.getProperty("millis", "2000"));
+    int threads = Integer.parseInt(System.getProperty("threads",
+        String.valueOf(Runtime.getRuntime().availableProcessors())));
+    List<FightStrategy> strategies = List.of(FightStrategy.ORDERED, FightStrategy.NAIVE, FightStrategy.ACTOR);
+
+    System.out.printf("Backend benchmark: %d immortals, %d pool threads, %d ms per run%n", count, threads, millis);
+    System.out.printf("%-14s %-8s %12s %12s%n", "backend", "fight", "fights/s", "stop ms");
+    for (FightStrategy strategy : strategies) {
+      for (ExecutionBackend backend : ExecutionBackend.values()) {
+        try (var manager = new ImmortalManager(count, 1000, 10, strategy)) {
+          manager.setFightLogging(false);
+          manager.setExecutionBackend(backend, threads);
+          manager.setRespawnPolicy(RespawnPolicy.keepPopulation(count));
+          manager.start();
+          long begin = System.nanoTime();
+          Thread.sleep(millis);
+          long fights = manager.scoreBoard().totalFights();
+          long elapsed = System.nanoTime() - begin;
+          manager.stop();
+          System.out.printf("%-14s %-8s %12.1f %12.2f%n", backend, strategy, fights * 1e9 / elapsed,
+              manager.lastStopNanos() / 1e6);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package edu.eci.arsw.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
+import edu.eci.arsw.concurrency.ZipfSampler;
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.ContentionManager;
+import edu.eci.arsw.core.StripedAccountStore;
+import edu.eci.arsw.core.TransferService;
+
+/**
+ * Generador de carga de transferencias (-Dmode=bank-load): reemplaza los
+ * demos de dos cuentas fijas por una carga configurable (numero de
+ * cuentas, hilos virtuales o de plataforma, sesgo Zipf de las cuentas
+ * elegidas, distribucion de montos, duracion y estrategia) y reporta
+ * throughput, percentiles de latencia, reintentos/timeouts y la
+ * verificacion de conservacion del dinero.
+ *
+ * Los hilos de carga son daemon: una corrida NAIVE que cae en deadlock
+ * termina por duracion y reporta los hilos atascados en vez de colgar la JVM.
+ */
+public final class BankLoadGenerator {
+
+  public enum Strategy { NAIVE, ORDERED, TRY_LOCK, WAIT_DIE, WOUND_WAIT, STRIPED }
+
+  public enum ThreadModel { VIRTUAL, PLATFORM }
+
+  /*
+   * DISTRIBUCION DE MONTOS (media = meanAmount)
+   * - FIXED: siempre la media; UNIFORM: 1..2*media; EXPONENTIAL: cola larga con algunos montos grandes
+   */
+  public enum AmountDistribution {
+    FIXED, UNIFORM, EXPONENTIAL;
+
+    long sample(ThreadLocalRandom random, long mean) {
+      return switch (this) {
+        case FIXED -> mean;
+        case UNIFORM -> random.nextLong(1, 2 * mean + 1);
+        case EXPONENTIAL -> 1 + (long) (-Math.log(1 - random.nextDouble()) * (mean - 1));
+      };
+    }
+  }
+
+  /* skew = 0: cuentas uniformes; skew > 0: exponente Zipf (la cuenta 0 es la mas caliente) */
+  public record Config(int accounts, long initial, int workers, ThreadModel threads, double skew,
+      AmountDistribution amounts, long meanAmount, Duration duration, Strategy strategy, Duration maxWait) {
+    @Override
+    public String toString() {
+      return String.format("accounts=%d workers=%d threads=%s skew=%.2f amount=%s(%d) strategy=%s", accounts, workers,
+          threads, skew, amounts, meanAmount, strategy);
+    }
+  }
+
+  /*
+   * stuckWorkers: hilos que no terminaron al cerrar la corrida (deadlock con NAIVE)
+   * retries: intentos fallidos de TRY_LOCK o reinicios de WAIT_DIE/WOUND_WAIT
+   */
+  public record Result(Config config, long transfers, long rejected, long retries, long timeouts, long elapsedMillis,
+      long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos, long expectedTotal, long finalTotal,
+      int stuckWorkers) {
+    public double transfersPerSecond() {
+      return elapsedMillis == 0 ? 0 : transfers * 1000.0 / elapsedMillis;
+    }
+
+    public boolean conserved() {
+      return expectedTotal == finalTotal;
+    }
+  }
+
+  private static final long JOIN_GRACE_MILLIS = 1_000;
+
+  /* Una transferencia; retorna los reintentos que necesito */
+  private interface Transfer {
+    int apply(int from, int to, long amount) throws InterruptedException;
+  }
+
+  private final Config config;
+  private final LongAdder transfers = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  public BankLoadGenerator(Config config) {
+    if (config.accounts() < 2 || config.workers() < 1 || config.meanAmount() < 1)
+      throw new IllegalArgumentException("accounts >= 2, workers >= 1 and meanAmount >= 1 required");
+    this.config = config;
+  }
+
+  /*
+   * METODO PARA EJECUTAR UNA CORRIDA
+   * - Cada hilo transfiere hasta la fecha limite y registra la latencia de las transferencias aplicadas
+   * - Fondos insuficientes cuentan como rechazos; TRY_LOCK que agota maxWait cuenta como timeout
+   * - Al final espera a los hilos (con gracia) y suma los saldos para verificar la conservacion
+   */
+  public Result run() throws InterruptedException {
+    int n = config.accounts();
+    long expected = n * config.initial();
+    BankAccount[] accounts = null;
+    StripedAccountStore store = null;
+    Transfer transfer;
+    if (config.strategy() == Strategy.STRIPED) {
+      StripedAccountStore s = store = new StripedAccountStore(n, config.initial());
+      transfer = (from, to, amount) -> { s.transfer(from, to, amount); return 0; };
+    } else {
+      BankAccount[] a = accounts = new BankAccount[n];
+      for (int i = 0; i < n; i++) a[i] = new BankAccount(i, config.initial());
+      transfer = switch (config.strategy()) {
+        case NAIVE -> (from, to, amount) -> { TransferService.transferNaive(a[from], a[to], amount); return 0; };
+        case TRY_LOCK -> (from, to, amount) -> TransferService.transferTryLock(a[from], a[to], amount, config.maxWait());
+        case WAIT_DIE, WOUND_WAIT -> {
+          var manager = new ContentionManager(config.strategy() == Strategy.WAIT_DIE
+              ? ContentionManager.Policy.WAIT_DIE : ContentionManager.Policy.WOUND_WAIT);
+          yield (from, to, amount) -> manager.transfer(a[from], a[to], amount);
+        }
+        default -> (from, to, amount) -> { TransferService.transferOrdered(a[from], a[to], amount); return 0; };
+      };
+    }
+
+    ZipfSampler zipf = config.skew() > 0 ? new ZipfSampler(n, config.skew()) : null;
+    long begin = System.nanoTime();
+    long deadline = begin + config.duration().toNanos();
+    Thread.Builder builder = config.threads() == ThreadModel.VIRTUAL
+        ? Thread.ofVirtual().name("bank-load-", 0)
+        : Thread.ofPlatform().daemon(true).name("bank-load-", 0);
+    List<Thread> workers = new ArrayList<>();
+    for (int w = 0; w < config.workers(); w++)
+      workers.add(builder.start(() -> work(transfer, zipf, deadline)));
+
+    long joinDeadline = deadline + (config.maxWait().toNanos() + JOIN_GRACE_MILLIS * 1_000_000);
+    int stuck = 0;
+    for (Thread t : workers) {
+      long left = joinDeadline - System.nanoTime();
+      if (left > 0)
+        t.join(Duration.ofNanos(left));
+      if (t.isAlive())
+        stuck++;
+    }
+    long elapsed = (System.nanoTime() - begin) / 1_000_000;
+
+    long total = 0;
+    if (store != null) {
+      total = store.totalBalance();
+    } else {
+      for (BankAccount a : accounts)
+        total += a.balance();
+    }
+    long[] counts = latency.snapshot();
+    return new Result(config, transfers.sum(), rejected.sum(), retries.sum(), timeouts.sum(), elapsed,
+        LatencyHistogram.percentile(counts, 0.50), LatencyHistogram.percentile(counts, 0.99),
+        LatencyHistogram.percentile(counts, 0.999), LatencyHistogram.percentile(counts, 1.0), expected, total, stuck);
+  }
+
+  private void work(Transfer transfer, ZipfSampler zipf, long deadline) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int n = config.accounts();
+    while (System.nanoTime() < deadline) {
+      int from = zipf == null ? random.nextInt(n) : zipf.sample(random);
+      int to = zipf == null ? random.nextInt(n) : zipf.sample(random);
+      if (from == to)
+        to = (from + 1 + random.nextInt(n - 1)) % n;
+      long amount = config.amounts().sample(random, config.meanAmount());
+      long start = System.nanoTime();
+      try {
+        retries.add(transfer.apply(from, to, amount));
+        latency.record(System.nanoTime() - start);
+        transfers.increment();
+      } catch (IllegalArgumentException insufficientFunds) {
+        rejected.increment();
+      } catch (InterruptedException timedOut) {
+        timeouts.increment();
+      }
+    }
+  }
+
+  public static String summary(Result r) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("config: %s%n", r.config()));
+    sb.append(String.format("%14s %12s %10s %10s %10s %10s %10s %10s %10s%n", "transfers/s", "transfers",
+        "rejected", "retries", "timeouts", "p50(us)", "p99(us)", "p999(us)", "max(us)"));
+    sb.append(String.format("%14.1f %12d %10d %10d %10d %10.1f %10.1f %10.1f %10.1f%n", r.transfersPerSecond(),
+        r.transfers(), r.rejected(), r.retries(), r.timeouts(), r.p50Nanos() / 1e3, r.p99Nanos() / 1e3,
+        r.p999Nanos() / 1e3, r.maxNanos() / 1e3));
+    sb.append(String.format("conservation: %s (expected %d, got %d)%n", r.conserved() ? "OK" : "VIOLATED",
+        r.expectedTotal(), r.finalTotal()));
+    if (r.stuckWorkers() > 0)
+      sb.append(String.format("stuck workers: %d (deadlock)%n", r.stuckWorkers()));
+    return sb.toString();
+  }
+
+  /*
+   * METODO PARA INICIAR LA CARGA DESDE MAIN (-Dmode=bank-load)
+   * - -Daccounts=N -Dinitial=saldo -Dworkers=W -Dthreads=virtual|platform -Dskew=s
+   * - -Damount=fixed|uniform|exponential -DmeanAmount=m -Dmillis=T
+   * - -Dstrategy=naive|ordered|trylock|waitdie|woundwait|striped -DmaxWaitMillis=ms (limite de TRY_LOCK)
+   */
+  public static void runFromSystemProperties() throws InterruptedException {
+    Config config = new Config(
+        Integer.parseInt(System.getProperty("accounts", "10000")),
+        Long.parseLong(System.getProperty("initial", "1000")),
+        Integer.parseInt(System.getProperty("workers", "64")),
+        ThreadModel.valueOf(System.getProperty("threads", "virtual").toUpperCase()),
+        Double.parseDouble(System.getProperty("skew", "0")),
+        AmountDistribution.valueOf(System.getProperty("amount", "uniform").toUpperCase()),
+        Long.parseLong(System.getProperty("meanAmount", "10")),
+        Duration.ofMillis(Long.parseLong(System.getProperty("millis", "5000"))),
+        parseStrategy(System.getProperty("strategy", "ordered")),
+        Duration.ofMillis(Long.parseLong(System.getProperty("maxWaitMillis", "100"))));
+    System.out.printf("Running bank load for %d ms%n", config.duration().toMillis());
+    Result result = new BankLoadGenerator(config).run();
+    System.out.print(summary(result));
+  }
+
+  private static Strategy parseStrategy(String strategy) {
+    return switch (strategy.toLowerCase()) {
+      case "naive" -> Strategy.NAIVE;
+      case "trylock" -> Strategy.TRY_LOCK;
+      case "waitdie" -> Strategy.WAIT_DIE;
+      case "woundwait" -> Strategy.WOUND_WAIT;
+      case "striped" -> Strategy.STRIPED;
+      default -> Strategy.ORDERED;
+    };
+  }
+}
@@ -0,0 +1,40 @@
+package edu.eci.arsw.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Mide cuanto tarda escribir y restaurar un checkpoint de una poblacion
+ * grande (por defecto 1M inmortales, -Dcount=N). La restauracion incluye
+ * mapear el archivo y reconstruir roster y poblacion.
+ */
+public final class CheckpointBenchmark {
+  private CheckpointBenchmark() {}
+
+  public static void run() throws Exception {
+    int count = Integer.parseInt(System.getProperty("count", "1000000"));
+    int rounds = Integer.parseInt(System.getProperty("rounds", "3"));
+    Path file = Files.createTempFile("immortals", ".ckpt");
+    try (var manager = new ImmortalManager(count, 100, 10, FightStrategy.ORDERED)) {
+      System.out.printf("Checkpoint benchmark: %d immortals, %d rounds%n", count, rounds);
+      System.out.printf("%6s %12s %12s %12s%n", "round", "write ms", "restore ms", "MB");
+      for (int r = 1; r <= rounds; r++) {
+        long begin = System.nanoTime();
+        manager.checkpoint(file);
+        long written = System.nanoTime();
+        try (var restored = ImmortalManager.restore(file)) {
+          long done = System.nanoTime();
+          if (restored.rosterSize() != count)
+            throw new IllegalStateException("Restored " + restored.rosterSize() + " of " + count);
+          System.out.printf("%6d %12.1f %12.1f %12.1f%n", r, (written - begin) / 1e6, (done - written) / 1e6,
+              Files.size(file) / 1e6);
+        }
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package edu.eci.arsw.bench;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+
+/**
+ * Benchmark de FLAT_COMBINING contra ORDERED a medida que la poblacion se
+ * reduce (10k -> 2): con pocos sobrevivientes todos los hilos compiten por
+ * los mismos locks y el combinador aplica muchas peleas por cada
+ * adquisicion del lock. La poblacion se mantiene constante en cada punto
+ * con keepPopulation para medir un nivel de contencion estable.
+ */
+public final class CombiningBenchmark {
+  private CombiningBenchmark() {}
+
+  private static final int[] POPULATIONS = { 10_000, 1_000, 100, 10, 2 };
+  private static final FightStrategy[] STRATEGIES = { FightStrategy.ORDERED, FightStrategy.FLAT_COMBINING };
+
+  public static void run() throws InterruptedException {
+    long millis = Long.parseLong(System.getProperty("millis", "2000"));
+    System.out.printf("Flat-combining benchmark: %d ms per run%n", millis);
+    System.out.printf("%8s %-15s %12s %12s %14s%n", "alive", "fight", "fights/s", "wait p99us", "fights/pass");
+    for (int population : POPULATIONS) {
+      for (FightStrategy strategy : STRATEGIES) {
+        try (var manager = new ImmortalManager(population, 1000, 10, strategy)) {
+          manager.setFightLogging(false);
+          manager.setRespawnPolicy(RespawnPolicy.keepPopulation(population));
+          manager.start();
+          long begin = System.nanoTime();
+          Thread.sleep(millis);
+          long fights = manager.scoreBoard().totalFights();
+          long elapsed = System.nanoTime() - begin;
+          long p99 = LatencyHistogram.percentile(manager.scoreBoard().lockWaitHistogram().snapshot(), 0.99);
+          long passes = manager.scoreBoard().combinerPasses();
+          manager.stop();
+          System.out.printf("%8d %-15s %12.1f %12.1f %14s%n", population, strategy, fights * 1e9 / elapsed,
+              p99 / 1000.0, passes == 0 ? "-" : String.format("%.2f", fights / (double) passes));
+        }
+      }
+    }
+  }
+}
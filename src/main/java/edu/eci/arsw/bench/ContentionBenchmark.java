@@ -0,0 +1,39 @@
+package edu.eci.arsw.bench;
+
+import java.time.Duration;
+
+import edu.eci.arsw.bench.BankLoadGenerator.AmountDistribution;
+import edu.eci.arsw.bench.BankLoadGenerator.Result;
+import edu.eci.arsw.bench.BankLoadGenerator.Strategy;
+import edu.eci.arsw.bench.BankLoadGenerator.ThreadModel;
+
+/**
+ * Compara la latencia de cola de transferTryLock (tryLock de 10 ms y
+ * esperas al azar de 1-5 ms) contra ContentionManager con WAIT_DIE y
+ * WOUND_WAIT, con pocas cuentas calientes y muchos hilos virtuales
+ * (la misma carga para las tres, via BankLoadGenerator).
+ *
+ * -Daccounts=N (por defecto 16), -Dworkers=W (por defecto 256), -Dmillis=ms.
+ */
+public final class ContentionBenchmark {
+  private ContentionBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    int accounts = Integer.parseInt(System.getProperty("accounts", "16"));
+    int workers = Integer.parseInt(System.getProperty("workers", "256"));
+    long millis = Long.parseLong(System.getProperty("millis", "3000"));
+    System.out.printf("Contention benchmark: %d accounts, %d virtual threads, %d ms per strategy%n", accounts, workers,
+        millis);
+    System.out.printf("%-12s %14s %10s %10s %10s %10s %10s%n", "strategy", "transfers/s", "retries", "timeouts",
+        "p50(us)", "p99(us)", "p999(us)");
+    for (Strategy strategy : new Strategy[] { Strategy.TRY_LOCK, Strategy.WAIT_DIE, Strategy.WOUND_WAIT }) {
+      var config = new BankLoadGenerator.Config(accounts, 1_000_000, workers, ThreadModel.VIRTUAL, 0,
+          AmountDistribution.FIXED, 1, Duration.ofMillis(millis), strategy, Duration.ofSeconds(1));
+      Result r = new BankLoadGenerator(config).run();
+      System.out.printf("%-12s %14.1f %10d %10d %10.1f %10.1f %10.1f%n", strategy, r.transfersPerSecond(), r.retries(),
+          r.timeouts(), r.p50Nanos() / 1e3, r.p99Nanos() / 1e3, r.p999Nanos() / 1e3);
+      if (!r.conserved())
+        throw new IllegalStateException("Money not conserved with " + strategy);
+    }
+  }
+}
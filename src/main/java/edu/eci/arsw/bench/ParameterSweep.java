@@ -0,0 +1,174 @@
+package edu.eci.arsw.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.eci.arsw.immortals.ExecutionBackend;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Orquestador de barridos de parametros: ejecuta muchas simulaciones en
+ * paralelo (cada una con su propio ImmortalManager y su propio pool de
+ * hilos de plataforma, con una parte fija de los nucleos), mide throughput y tiempo hasta el ultimo sobreviviente, y produce un
+ * resumen ordenado. Convierte el simulador en un arnes de carga para
+ * comparar estrategias de bloqueo.
+ */
+public final class ParameterSweep {
+
+  public record Config(int count, int health, int damage, FightStrategy strategy) {
+    @Override
+    public String toString() {
+      return String.format("count=%d health=%d damage=%d fight=%s", count, health, damage, strategy);
+    }
+  }
+
+  /*
+   * RESULTADO DE UNA CORRIDA
+   * - timeToLastSurvivorMillis: -1 si no se llego a un solo sobreviviente antes del limite
+   */
+  public record Result(Config config, long fights, long elapsedMillis, long timeToLastSurvivorMillis,
+      int survivors) {
+    public double fightsPerSecond() {
+      return elapsedMillis == 0 ? 0 : fights * 1000.0 / elapsedMillis;
+    }
+
+    public boolean finished() {
+      return timeToLastSurvivorMillis >= 0;
+    }
+  }
+
+  private static final Comparator<Result> RANKING = Comparator
+      .comparingDouble(Result::fightsPerSecond).reversed()
+      .thenComparing(r -> r.finished() ? r.timeToLastSurvivorMillis() : Long.MAX_VALUE);
+
+  private static final long POLL_MILLIS = 5;
+
+  private final int parallelism;
+  private final int threadsPerRun;
+  private final Duration maxRunTime;
+
+  /*
+   * - parallelism: numero maximo de simulaciones simultaneas (presupuesto de CPU)
+   * - maxRunTime: tiempo maximo por corrida; una corrida NAIVE bloqueada termina aqui
+   * - Cada corrida usa PLATFORM_POOL con nucleos / parallelism hilos (al menos uno): las corridas simultaneas
+   *   no compiten por el mismo planificador de hilos virtuales y la suma no excede el presupuesto
+   */
+  public ParameterSweep(int parallelism, Duration maxRunTime) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("parallelism must be >= 1");
+    this.parallelism = parallelism;
+    this.threadsPerRun = Math.max(1, Runtime.getRuntime().availableProcessors() / parallelism);
+    this.maxRunTime = maxRunTime;
+  }
+
+  public static List<Config> grid(List<Integer> counts, List<Integer> healths, List<Integer> damages,
+      List<FightStrategy> strategies) {
+    List<Config> configs = new ArrayList<>();
+    for (int count : counts)
+      for (int health : healths)
+        for (int damage : damages)
+          for (FightStrategy strategy : strategies)
+            configs.add(new Config(count, health, damage, strategy));
+    return configs;
+  }
+
+  /*
+   * METODO PARA EJECUTAR EL BARRIDO
+   * - Un pool fijo de 'parallelism' hilos de plataforma limita cuantas corridas hay a la vez
+   * - Retorna los resultados ordenados por throughput (desc) y luego por tiempo al ultimo sobreviviente
+   */
+  public List<Result> run(List<Config> configs) throws InterruptedException {
+    List<Future<Result>> pending = new ArrayList<>();
+    ExecutorService runners = Executors.newFixedThreadPool(parallelism);
+    try {
+      for (Config config : configs)
+        pending.add(runners.submit(() -> runOne(config)));
+
+      List<Result> results = new ArrayList<>();
+      for (Future<Result> f : pending) {
+        try {
+          results.add(f.get());
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Sweep run failed", e.getCause());
+        }
+      }
+      results.sort(RANKING);
+      return results;
+    } finally {
+      runners.shutdownNow();
+    }
+  }
+
+  Result runOne(Config config) throws InterruptedException {
+    try (var manager = new ImmortalManager(config.count(), config.health(), config.damage(), config.strategy())) {
+      manager.setFightLogging(false);
+      manager.setExecutionBackend(ExecutionBackend.PLATFORM_POOL, threadsPerRun);
+      long deadline = System.nanoTime() + maxRunTime.toNanos();
+      long begin = System.nanoTime();
+      manager.start();
+
+      long lastSurvivorAt = -1;
+      while (System.nanoTime() < deadline) {
+        if (manager.aliveCount() <= 1) {
+          lastSurvivorAt = System.nanoTime();
+          break;
+        }
+        Thread.sleep(POLL_MILLIS);
+      }
+      long end = System.nanoTime();
+      long fights = manager.scoreBoard().totalFights();
+      int survivors = manager.aliveCount();
+
+      long ttls = lastSurvivorAt < 0 ? -1 : (lastSurvivorAt - begin) / 1_000_000;
+      return new Result(config, fights, (end - begin) / 1_000_000, ttls, survivors);
+    }
+  }
+
+  public static String summary(List<Result> ranked) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%-4s %-48s %12s %10s %12s %9s%n",
+        "#", "config", "fights/s", "fights", "ttls(ms)", "alive"));
+    int rank = 1;
+    for (Result r : ranked) {
+      sb.append(String.format("%-4d %-48s %12.1f %10d %12s %9d%n",
+          rank++, r.config(), r.fightsPerSecond(), r.fights(),
+          r.finished() ? Long.toString(r.timeToLastSurvivorMillis()) : "timeout", r.survivors()));
+    }
+    return sb.toString();
+  }
+
+  /*
+   * METODO PARA INICIAR EL BARRIDO DESDE MAIN (-Dmode=sweep)
+   * - Listas separadas por coma: -Dcounts=8,64 -Dhealths=100 -Ddamages=10 -Dfights=ordered,naive
+   * - -Dparallel=N corridas simultaneas, -DmaxMillis=T limite por corrida
+   */
+  public static void runFromSystemProperties() throws InterruptedException {
+    List<Integer> counts = parseInts(System.getProperty("counts", "8,32,128"));
+    List<Integer> healths = parseInts(System.getProperty("healths", "100"));
+    List<Integer> damages = parseInts(System.getProperty("damages", "10"));
+    List<FightStrategy> strategies = Arrays.stream(System.getProperty("fights", "ordered").split(","))
+        .map(s -> FightStrategy.valueOf(s.trim().toUpperCase()))
+        .toList();
+    int parallel = Integer.parseInt(System.getProperty("parallel",
+        Integer.toString(Math.max(1, Runtime.getRuntime().availableProcessors() / 2))));
+    long maxMillis = Long.parseLong(System.getProperty("maxMillis", "10000"));
+
+    List<Config> configs = grid(counts, healths, damages, strategies);
+    System.out.printf("Running sweep: %d configurations, %d in parallel, %d ms max per run%n",
+        configs.size(), parallel, maxMillis);
+    List<Result> ranked = new ParameterSweep(parallel, Duration.ofMillis(maxMillis)).run(configs);
+    System.out.print(summary(ranked));
+  }
+
+  private static List<Integer> parseInts(String csv) {
+    return Arrays.stream(csv.split(",")).map(String::trim).map(Integer::valueOf).toList();
+  }
+}
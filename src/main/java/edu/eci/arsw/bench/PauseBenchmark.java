@@ -0,0 +1,59 @@
+package edu.eci.arsw.bench;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Tiempo hasta quedar quieta (time-to-quiesce) de una pausa, por
+ * estrategia: arranca la poblacion, pausa con plazo y reanuda varias
+ * veces, y reporta la mediana y el maximo de ImmortalManager.lastQuiesceNanos()
+ * y cuantas pausas vencieron el plazo. NAIVE incluido: sus interbloqueos
+ * ya no cuelgan la pausa.
+ *
+ * -Dcount=N inmortales (por defecto 100000), -Drounds=R pausas por
+ * estrategia (por defecto 5), -DwarmupMillis=ms entre pausas (por defecto
+ * 500), -DtimeoutMillis=plazo de cada pausa (por defecto 10000).
+ */
+public final class PauseBenchmark {
+  private PauseBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    int count = Integer.parseInt(System.getProperty("count", "100000"));
+    int rounds = Integer.parseInt(System.getProperty("rounds", "5"));
+    long warmup = Long.parseLong(System.getProperty("warmupMillis", "500"));
+    Duration timeout = Duration.ofMillis(Long.parseLong(System.getProperty("timeoutMillis", "10000")));
+    System.out.printf("Pause benchmark: %d immortals, %d pauses per strategy, %d ms timeout%n", count, rounds,
+        timeout.toMillis());
+    System.out.printf("%-16s %14s %14s %10s %14s%n", "strategy", "p50 (ms)", "max (ms)", "timeouts", "fights");
+
+    for (FightStrategy strategy : FightStrategy.values())
+      measure(strategy, count, rounds, warmup, timeout);
+  }
+
+  private static void measure(FightStrategy strategy, int count, int rounds, long warmup, Duration timeout)
+      throws InterruptedException {
+    try (var manager = new ImmortalManager(count, 1_000_000, 1, strategy)) {
+      manager.setFightLogging(false);
+      manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+      manager.start();
+      long[] quiesce = new long[rounds];
+      int timeouts = 0;
+      for (int r = 0; r < rounds; r++) {
+        Thread.sleep(warmup);
+        if (!manager.pause(timeout))
+          timeouts++;
+        quiesce[r] = manager.lastQuiesceNanos() < 0 ? timeout.toNanos() : manager.lastQuiesceNanos();
+        manager.resume();
+      }
+      long fights = manager.scoreBoard().totalFights();
+      manager.stop();
+      Arrays.sort(quiesce);
+      System.out.printf("%-16s %14.2f %14.2f %10d %14d%n", strategy, quiesce[rounds / 2] / 1e6,
+          quiesce[rounds - 1] / 1e6, timeouts, fights);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package edu.eci.arsw.bench;
+
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+
+/**
+ * Pruebas de capacidad con el gobernador de ritmo: para cada tasa objetivo
+ * (y sin limite) mide la tasa alcanzada y su error. La corrida sin limite
+ * da la tasa de saturacion de la estrategia; las tasas objetivo por encima
+ * de ella no se alcanzan.
+ */
+public final class RateBenchmark {
+  private RateBenchmark() {}
+
+  private static final double[] TARGETS = { 1_000, 10_000, 100_000, 1_000_000 };
+
+  public static void run() throws InterruptedException {
+    int count = Integer.parseInt(System.getProperty("count", "1000"));
+    long millis = Long.parseLong(System.getProperty("millis", "2000"));
+    FightStrategy strategy = FightStrategy.valueOf(System.getProperty("fight", "ordered").toUpperCase());
+
+    System.out.printf("Rate benchmark: %d immortals, %s, %d ms per run%n", count, strategy, millis);
+    System.out.printf("%-20s %14s %10s%n", "governor", "fights/s", "error %");
+    measure(FightRateGovernor.LEGACY, Double.NaN, count, millis, strategy);
+    for (double target : TARGETS)
+      measure(FightRateGovernor.tokenBucket(target), target, count, millis, strategy);
+    measure(FightRateGovernor.UNTHROTTLED, Double.NaN, count, millis, strategy);
+  }
+
+  private static void measure(FightRateGovernor governor, double target, int count, long millis,
+      FightStrategy strategy) throws InterruptedException {
+    try (var manager = new ImmortalManager(count, 1000, 10, strategy)) {
+      manager.setFightLogging(false);
+      manager.setFightRateGovernor(governor);
+      manager.setRespawnPolicy(RespawnPolicy.keepPopulation(count));
+      manager.start();
+      Thread.sleep(millis / 4);
+      long fights0 = manager.scoreBoard().totalFights();
+      long begin = System.nanoTime();
+      Thread.sleep(millis);
+      long fights = manager.scoreBoard().totalFights() - fights0;
+      double rate = fights * 1e9 / (System.nanoTime() - begin);
+      manager.stop();
+      System.out.printf("%-20s %14.1f %10s%n", governor, rate,
+          Double.isNaN(target) ? "-" : String.format("%.1f", (rate - target) * 100 / target));
+    }
+  }
+}
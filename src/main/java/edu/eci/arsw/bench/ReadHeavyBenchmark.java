@@ -0,0 +1,142 @@
+package edu.eci.arsw.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import edu.eci.arsw.core.BankAccount;
+import edu.eci.arsw.core.TransferService;
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Carga de mucha lectura: mide el throughput de los escritores
+ * (transferencias ordenadas entre BankAccount, peleas ORDERED sin limite
+ * de ritmo) sin lectores y con R lectores consultando sumas globales en
+ * bucle. Para las cuentas compara la lectura optimista
+ * (TransferService.totalBalance) con un lector que toma todos los locks.
+ *
+ * -Daccounts=N (por defecto 1000), -Dcount=N inmortales (por defecto 64),
+ * -Dreaders=R (por defecto 4), -DreadPauseMicros=us entre consultas
+ * (por defecto 100), -Dmillis=ms por corrida.
+ */
+public final class ReadHeavyBenchmark {
+  private ReadHeavyBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    int accounts = Integer.parseInt(System.getProperty("accounts", "1000"));
+    int count = Integer.parseInt(System.getProperty("count", "64"));
+    int readers = Integer.parseInt(System.getProperty("readers", "4"));
+    long pauseNanos = Long.parseLong(System.getProperty("readPauseMicros", "100")) * 1_000;
+    long millis = Long.parseLong(System.getProperty("millis", "2000"));
+    System.out.printf("Read-heavy benchmark: %d readers, %d us between reads, %d ms per run%n", readers,
+        pauseNanos / 1_000, millis);
+    System.out.printf("%-28s %16s %14s %12s%n", "run", "writes/s", "reads/s", "bad reads");
+
+    BankAccount[] bank = new BankAccount[accounts];
+    for (int i = 0; i < accounts; i++) bank[i] = new BankAccount(i, 1_000);
+    long expected = 1_000L * accounts;
+    Runnable transfer = () -> {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      TransferService.transferOrdered(bank[random.nextInt(accounts)], bank[random.nextInt(accounts)], 1);
+    };
+    measureAccounts("transfers, no readers", transfer, 0, pauseNanos, millis, null, expected);
+    measureAccounts("transfers, optimistic", transfer, readers, pauseNanos, millis,
+        () -> TransferService.totalBalance(bank), expected);
+    measureAccounts("transfers, locking", transfer, readers, pauseNanos, millis, () -> lockAll(bank), expected);
+
+    measureImmortals("fights, no readers", count, 0, pauseNanos, millis);
+    measureImmortals("fights, optimistic", count, readers, pauseNanos, millis);
+  }
+
+  /* Escritores: uno por procesador, transfiriendo hasta el limite */
+  private static void measureAccounts(String label, Runnable transfer, int readers, long pauseNanos, long millis,
+      LongSupplier read, long expected) throws InterruptedException {
+    int writers = Runtime.getRuntime().availableProcessors();
+    LongAdder writes = new LongAdder();
+    long deadline = System.nanoTime() + millis * 1_000_000;
+    Thread[] threads = new Thread[writers];
+    for (int t = 0; t < writers; t++) {
+      threads[t] = Thread.ofPlatform().start(() -> {
+        long local = 0;
+        while ((local & 255) != 0 || System.nanoTime() < deadline) {
+          try {
+            transfer.run();
+          } catch (IllegalArgumentException insufficientFunds) {
+            // se cuenta igual como escritura
+          }
+          local++;
+        }
+        writes.add(local);
+      });
+    }
+    ReaderStats stats = startReaders(readers, pauseNanos, read, expected);
+    for (Thread w : threads) w.join();
+    stats.stop();
+    print(label, writes.sum(), stats, millis);
+  }
+
+  private static void measureImmortals(String label, int count, int readers, long pauseNanos, long millis)
+      throws InterruptedException {
+    try (var manager = new ImmortalManager(count, 1_000_000_000 / Math.max(1, count), 2, FightStrategy.ORDERED)) {
+      manager.setFightLogging(false);
+      manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+      manager.start();
+      long fights0 = manager.scoreBoard().totalFights();
+      ReaderStats stats = startReaders(readers, pauseNanos, manager::totalHealth, -1);
+      Thread.sleep(millis);
+      long fights = manager.scoreBoard().totalFights() - fights0;
+      stats.stop();
+      manager.stop();
+      print(label, fights, stats, millis);
+    }
+  }
+
+  /* expected < 0: no se verifica el resultado de la lectura */
+  private static ReaderStats startReaders(int readers, long pauseNanos, LongSupplier read, long expected) {
+    ReaderStats stats = new ReaderStats(new Thread[readers]);
+    for (int r = 0; r < readers; r++) {
+      stats.threads[r] = Thread.ofPlatform().start(() -> {
+        while (!stats.done.get()) {
+          long total = read.getAsLong();
+          if (expected >= 0 && total != expected) stats.bad.increment();
+          stats.reads.increment();
+          if (pauseNanos > 0) LockSupport.parkNanos(pauseNanos);
+        }
+      });
+    }
+    return stats;
+  }
+
+  private record ReaderStats(Thread[] threads, AtomicBoolean done, LongAdder reads, LongAdder bad) {
+    ReaderStats(Thread[] threads) { this(threads, new AtomicBoolean(), new LongAdder(), new LongAdder()); }
+
+    void stop() throws InterruptedException {
+      done.set(true);
+      for (Thread t : threads) t.join();
+    }
+  }
+
+  private static void print(String label, long writes, ReaderStats stats, long millis) {
+    System.out.printf("%-28s %16.1f %14.1f %12d%n", label, writes * 1000.0 / millis, stats.reads().sum() * 1000.0 / millis,
+        stats.bad().sum());
+  }
+
+  /* Lector pesimista: todos los locks en orden de id, como transferOrdered */
+  private static long lockAll(BankAccount[] bank) {
+    BankAccount[] ordered = bank.clone();
+    Arrays.sort(ordered, (a, b) -> Long.compare(a.id(), b.id()));
+    for (BankAccount a : ordered) a.lock().lock();
+    try {
+      long sum = 0;
+      for (BankAccount a : ordered) sum += a.balance();
+      return sum;
+    } finally {
+      for (int i = ordered.length - 1; i >= 0; i--) ordered[i].lock().unlock();
+    }
+  }
+}
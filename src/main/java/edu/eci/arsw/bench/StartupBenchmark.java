@@ -0,0 +1,33 @@
+package edu.eci.arsw.bench;
+
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Tiempo de arranque de poblaciones grandes: construccion del manager,
+ * retorno de start() y tiempo hasta la primera pelea, para 10k, 100k y 1M
+ * inmortales (o los dados en -Dcounts=a,b,c).
+ */
+public final class StartupBenchmark {
+  private StartupBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    String[] counts = System.getProperty("counts", "10000,100000,1000000").split(",");
+    System.out.printf("%10s %12s %12s %16s%n", "immortals", "build ms", "start ms", "first fight ms");
+    for (String c : counts) {
+      int count = Integer.parseInt(c.trim());
+      long begin = System.nanoTime();
+      try (var manager = new ImmortalManager(count, 100, 10, FightStrategy.ORDERED)) {
+        manager.setFightLogging(false);
+        long built = System.nanoTime();
+        manager.start();
+        long started = System.nanoTime();
+        while (manager.scoreBoard().totalFights() == 0)
+          Thread.onSpinWait();
+        long firstFight = System.nanoTime();
+        System.out.printf("%10d %12.1f %12.1f %16.1f%n", count, (built - begin) / 1e6, (started - built) / 1e6,
+            (firstFight - begin) / 1e6);
+      }
+    }
+  }
+}
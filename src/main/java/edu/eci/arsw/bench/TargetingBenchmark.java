@@ -0,0 +1,62 @@
+package edu.eci.arsw.bench;
+
+import java.util.List;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+import edu.eci.arsw.immortals.TargetingPolicy;
+
+/**
+ * Benchmark de politicas de seleccion de oponente: para cada politica y
+ * estrategia de pelea corre una simulacion de poblacion constante
+ * (keepPopulation) y reporta throughput y percentiles de espera por locks,
+ * para ver como el sesgo de objetivos cambia la contencion.
+ *
+ * Nota: con NAIVE y objetivos muy sesgados el deadlock es casi seguro; la
+ * corrida reporta lo que alcanzo a pelear antes de bloquearse.
+ */
+public final class TargetingBenchmark {
+  private TargetingBenchmark() {}
+
+  public record Row(TargetingPolicy policy, FightStrategy strategy, double fightsPerSecond,
+      long p50Nanos, long p99Nanos, long p999Nanos) {}
+
+  public static Row measure(TargetingPolicy policy, FightStrategy strategy, int count, long millis)
+      throws InterruptedException {
+    try (var manager = new ImmortalManager(count, 1000, 10, strategy)) {
+      manager.setFightLogging(false);
+      manager.setTargetingPolicy(policy);
+      manager.setRespawnPolicy(RespawnPolicy.keepPopulation(count));
+      manager.start();
+      long begin = System.nanoTime();
+      Thread.sleep(millis);
+      long fights = manager.scoreBoard().totalFights();
+      long elapsed = System.nanoTime() - begin;
+      long[] wait = manager.scoreBoard().lockWaitHistogram().snapshot();
+      manager.stop();
+      return new Row(policy, strategy, fights * 1e9 / elapsed,
+          LatencyHistogram.percentile(wait, 0.50),
+          LatencyHistogram.percentile(wait, 0.99),
+          LatencyHistogram.percentile(wait, 0.999));
+    }
+  }
+
+  public static void run() throws InterruptedException {
+    int count = Integer.parseInt(System.getProperty("count", "1000"));
+    long millis = Long.parseLong(System.getProperty("millis", "3000"));
+    List<FightStrategy> strategies = List.of(FightStrategy.ORDERED, FightStrategy.NAIVE);
+
+    System.out.printf("Targeting benchmark: %d immortals, %d ms per run%n", count, millis);
+    System.out.printf("%-10s %-8s %12s %12s %12s %12s%n", "policy", "fight", "fights/s", "wait p50us",
+        "wait p99us", "wait p999us");
+    for (FightStrategy strategy : strategies) {
+      for (TargetingPolicy policy : TargetingPolicy.values()) {
+        Row r = measure(policy, strategy, count, millis);
+        System.out.printf("%-10s %-8s %12.1f %12.1f %12.1f %12.1f%n", r.policy(), r.strategy(),
+            r.fightsPerSecond(), r.p50Nanos() / 1000.0, r.p99Nanos() / 1000.0, r.p999Nanos() / 1000.0);
+      }
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package edu.eci.arsw.bench;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+import edu.eci.arsw.immortals.TeamLocking;
+
+/**
+ * Escalamiento de las batallas de equipo con k oponentes: para cada
+ * poblacion y cada k mide ataques/s (una batalla con k+1 locks), golpes/s,
+ * p99 de espera por locks y reintentos de TRY_ALL, comparando la
+ * adquisicion ordenada (SORTED) con la de todo o nada (TRY_ALL). k = 1 es
+ * la pelea en pareja ORDERED de siempre.
+ *
+ * -Dcounts=16,256,4096 -Dks=1,2,4,8 -Dmillis=ms por corrida.
+ */
+public final class TeamBattleBenchmark {
+  private TeamBattleBenchmark() {}
+
+  public static void run() throws InterruptedException {
+    List<Integer> counts = parseInts(System.getProperty("counts", "16,256,4096"));
+    List<Integer> ks = parseInts(System.getProperty("ks", "1,2,4,8"));
+    long millis = Long.parseLong(System.getProperty("millis", "1000"));
+    System.out.printf("Team battle benchmark: %d ms per run%n", millis);
+    System.out.printf("%8s %4s %-8s %14s %14s %14s %10s%n", "count", "k", "locking", "attacks/s", "hits/s",
+        "wait p99(us)", "retries");
+    for (int count : counts) {
+      for (int k : ks) {
+        if (k == 1) {
+          measure(count, 1, TeamLocking.SORTED, millis);
+        } else {
+          for (TeamLocking locking : TeamLocking.values())
+            measure(count, k, locking, millis);
+        }
+      }
+    }
+  }
+
+  private static void measure(int count, int k, TeamLocking locking, long millis) throws InterruptedException {
+    try (var manager = new ImmortalManager(count, 1_000_000, 10, FightStrategy.ORDERED)) {
+      manager.setFightLogging(false);
+      manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+      manager.setRespawnPolicy(RespawnPolicy.keepPopulation(count));
+      manager.setTeamBattle(k, locking);
+      manager.start();
+      Thread.sleep(millis / 4);
+      long fights0 = manager.scoreBoard().totalFights();
+      long battles0 = manager.scoreBoard().teamBattles();
+      long retries0 = manager.scoreBoard().teamRetries();
+      long[] wait0 = manager.scoreBoard().lockWaitHistogram().snapshot();
+      long begin = System.nanoTime();
+      Thread.sleep(millis);
+      double seconds = (System.nanoTime() - begin) / 1e9;
+      long hits = manager.scoreBoard().totalFights() - fights0;
+      long attacks = k == 1 ? hits : manager.scoreBoard().teamBattles() - battles0;
+      long retries = manager.scoreBoard().teamRetries() - retries0;
+      long[] wait = manager.scoreBoard().lockWaitHistogram().snapshot();
+      for (int i = 0; i < wait.length; i++)
+        wait[i] -= wait0[i];
+      manager.stop();
+      System.out.printf("%8d %4d %-8s %14.1f %14.1f %14.1f %10d%n", count, k, k == 1 ? "pair" : locking,
+          attacks / seconds, hits / seconds, LatencyHistogram.percentile(wait, 0.99) / 1e3,
+          retries);
+    }
+  }
+
+  private static List<Integer> parseInts(String csv) {
+    return Arrays.stream(csv.split(",")).map(String::trim).map(Integer::valueOf).toList();
+  }
+}
@@ -0,0 +1,61 @@
+package edu.eci.arsw.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.eci.arsw.core.DurableAccountStore;
+
+/**
+ * Costo de la durabilidad con group commit: para cada nivel de
+ * concurrencia (hilos virtuales haciendo transferencias durables) reporta
+ * transferencias/s, cuantos force() se hicieron, cuantas transferencias
+ * confirmo cada uno y la latencia media de confirmacion. Con 1 hilo hay un
+ * force por transferencia; con muchos, el force se amortiza.
+ */
+public final class WalBenchmark {
+  private WalBenchmark() {}
+
+  private static final int[] CONCURRENCY = { 1, 16, 256, 1024 };
+
+  public static void run() throws Exception {
+    int accounts = Integer.parseInt(System.getProperty("accounts", "100000"));
+    long millis = Long.parseLong(System.getProperty("millis", "2000"));
+    System.out.printf("WAL benchmark: %d accounts, %d ms per run%n", accounts, millis);
+    System.out.printf("%8s %14s %10s %14s %12s%n", "threads", "transfers/s", "syncs", "transfers/sync", "ack us");
+    for (int threads : CONCURRENCY) {
+      Path file = Files.createTempFile("transfers", ".wal");
+      try (var store = DurableAccountStore.create(file, accounts, 1_000)) {
+        LongAdder done = new LongAdder();
+        LongAdder ackNanos = new LongAdder();
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+          for (int t = 0; t < threads; t++) {
+            exec.submit(() -> {
+              ThreadLocalRandom random = ThreadLocalRandom.current();
+              while (System.nanoTime() < deadline) {
+                long begin = System.nanoTime();
+                try {
+                  store.transfer(random.nextInt(accounts), random.nextInt(accounts), 1);
+                } catch (IllegalArgumentException insufficientFunds) {
+                  continue;
+                }
+                ackNanos.add(System.nanoTime() - begin);
+                done.increment();
+              }
+              return null;
+            });
+          }
+        }
+        long n = done.sum();
+        long syncs = store.log().syncs();
+        System.out.printf("%8d %14.1f %10d %14.1f %12.1f%n", threads, n * 1000.0 / millis, syncs,
+            syncs == 0 ? 0.0 : n / (double) syncs, n == 0 ? 0.0 : ackNanos.sum() / 1000.0 / n);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+}
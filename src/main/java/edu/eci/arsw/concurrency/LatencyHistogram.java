@@ -0,0 +1,127 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias (en nanosegundos) con cubetas logaritmicas:
+ * cada potencia de dos se parte en SUB_BUCKETS cubetas lineales, lo que da
+ * un error relativo menor al 12.5% con un arreglo fijo de contadores.
+ *
+ * record() es lock-free (un incremento atomico) y apto para el camino
+ * caliente. Los contadores estan repartidos en franjas (al estilo de
+ * LongAdder): cada hilo incrementa la franja que le toca por su id, asi los
+ * hilos de pelea no compiten por las mismas lineas de cache. Las lecturas
+ * suman las franjas. Los percentiles se calculan sobre una copia de los
+ * contadores; restando dos copias se obtiene el histograma de un intervalo.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  public static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+  private static final int MAX_STRIPES = 32;
+
+  private final AtomicLongArray[] stripes;
+  private final int mask;
+
+  public LatencyHistogram() {
+    this(defaultStripes());
+  }
+
+  /* stripes se redondea a la siguiente potencia de dos */
+  LatencyHistogram(int stripes) {
+    if (stripes <= 0)
+      throw new IllegalArgumentException("stripes must be positive");
+    int n = 1;
+    while (n < stripes)
+      n <<= 1;
+    this.stripes = new AtomicLongArray[n];
+    for (int i = 0; i < n; i++)
+      this.stripes[i] = new AtomicLongArray(BUCKETS);
+    this.mask = n - 1;
+  }
+
+  static int defaultStripes() {
+    return Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors());
+  }
+
+  int stripes() {
+    return stripes.length;
+  }
+
+  public void record(long nanos) {
+    stripes[stripeOfCurrentThread()].getAndIncrement(bucketOf(Math.max(0, nanos)));
+  }
+
+  /* Mezcla el id del hilo (Fibonacci) para que ids consecutivos caigan en franjas distintas */
+  private int stripeOfCurrentThread() {
+    return (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  public long count() {
+    long total = 0;
+    for (AtomicLongArray stripe : stripes)
+      for (int i = 0; i < BUCKETS; i++)
+        total += stripe.get(i);
+    return total;
+  }
+
+  /* Copia los contadores (sumando las franjas) al arreglo dado (de largo BUCKETS) sin reservar memoria */
+  public void copyInto(long[] dst) {
+    for (int i = 0; i < BUCKETS; i++) {
+      long sum = 0;
+      for (AtomicLongArray stripe : stripes)
+        sum += stripe.get(i);
+      dst[i] = sum;
+    }
+  }
+
+  public long[] snapshot() {
+    long[] dst = new long[BUCKETS];
+    copyInto(dst);
+    return dst;
+  }
+
+  public long percentile(double q) {
+    return percentile(snapshot(), q);
+  }
+
+  /*
+   * METODO PARA CALCULAR UN PERCENTIL SOBRE UNOS CONTADORES
+   * - Retorna el limite superior de la cubeta que contiene el percentil q (0..1)
+   * - Retorna 0 si no hay muestras
+   */
+  public static long percentile(long[] bucketCounts, double q) {
+    long total = 0;
+    for (long c : bucketCounts)
+      total += c;
+    if (total == 0)
+      return 0;
+    long rank = (long) Math.ceil(q * total);
+    long seen = 0;
+    for (int i = 0; i < bucketCounts.length; i++) {
+      seen += bucketCounts[i];
+      if (seen >= rank)
+        return upperBound(i);
+    }
+    return upperBound(bucketCounts.length - 1);
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS)
+      return (int) value;
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS)
+      return bucket;
+    int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+    long sub = bucket % SUB_BUCKETS;
+    long base = 1L << exponent;
+    long width = 1L << (exponent - SUB_BITS);
+    long upper = base + (sub + 1) * width - 1;
+    return upper < 0 ? Long.MAX_VALUE : upper;
+  }
+}
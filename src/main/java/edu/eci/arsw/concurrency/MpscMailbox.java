@@ -0,0 +1,100 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Buzon acotado, lock-free, de muchos productores y un solo consumidor
+ * (anillo con numeros de secuencia por celda, al estilo de Vyukov).
+ *
+ * offer() puede llamarse desde cualquier hilo y nunca bloquea: si el buzon
+ * esta lleno retorna false y el productor decide (descartar, reintentar).
+ * drain()/poll() solo deben llamarse desde el hilo consumidor.
+ */
+public final class MpscMailbox<T> {
+  private final int mask;
+  private final AtomicReferenceArray<T> buffer;
+  private final AtomicLongArray sequence;
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head = 0;
+
+  public MpscMailbox(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1)
+      throw new IllegalArgumentException("capacity must be a power of two >= 2");
+    this.mask = capacity - 1;
+    this.buffer = new AtomicReferenceArray<>(capacity);
+    this.sequence = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++)
+      sequence.set(i, i);
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /*
+   * METODO PARA ENCOLAR (CUALQUIER HILO)
+   * - Reserva la celda con CAS sobre tail; la secuencia de la celda indica si esta libre
+   * - Publica el elemento y luego la secuencia (release), que es lo que ve el consumidor
+   */
+  public boolean offer(T item) {
+    long pos = tail.get();
+    int idx;
+    while (true) {
+      idx = (int) (pos & mask);
+      long diff = sequence.get(idx) - pos;
+      if (diff == 0) {
+        long witness = tail.compareAndExchange(pos, pos + 1);
+        if (witness == pos)
+          break;
+        pos = witness;
+      } else if (diff < 0) {
+        return false;
+      } else {
+        pos = tail.get();
+      }
+    }
+    buffer.setPlain(idx, item);
+    sequence.setRelease(idx, pos + 1);
+    return true;
+  }
+
+  /* Hilo consumidor: entrega hasta max elementos al sink y retorna cuantos entrego */
+  public int drain(Consumer<? super T> sink, int max) {
+    int drained = 0;
+    long h = head;
+    while (drained < max) {
+      int idx = (int) (h & mask);
+      if (sequence.getAcquire(idx) != h + 1)
+        break;
+      T item = buffer.getPlain(idx);
+      buffer.setPlain(idx, null);
+      sequence.setRelease(idx, h + mask + 1);
+      h++;
+      drained++;
+      sink.accept(item);
+    }
+    head = h;
+    return drained;
+  }
+
+  /* Hilo consumidor: retorna el siguiente elemento o null si esta vacio */
+  public T poll() {
+    long h = head;
+    int idx = (int) (h & mask);
+    if (sequence.getAcquire(idx) != h + 1)
+      return null;
+    T item = buffer.getPlain(idx);
+    buffer.setPlain(idx, null);
+    sequence.setRelease(idx, h + mask + 1);
+    head = h + 1;
+    return item;
+  }
+
+  /* Aproximado si hay productores activos */
+  public int size() {
+    return (int) Math.max(0, Math.min(mask + 1, tail.get() - head));
+  }
+}
@@ -1,28 +1,80 @@
 package edu.eci.arsw.concurrency;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Pausa cooperativa tipo safepoint: los hilos se cuentan como pausados al
+ * llegar a awaitIfPaused o parkIfPaused. Para que una pausa termine en un
+ * tiempo acotado, las esperas largas de los hilos (locks de pelea, ritmo
+ * entre peleas) pasan por lockUnlessPaused y sleepUnlessPaused, que se
+ * rinden cuando se pide la pausa. Cada pausa mide su tiempo hasta quedar
+ * quieta (lastQuiesceNanos).
+ */
 public final class PauseController {
+  /* Cada cuanto una espera por lock revisa si se pidio la pausa */
+  public static final long SAFEPOINT_NANOS = 1_000_000;
+  /*
+   * Dormidas mas largas esperan en una condicion que pause() despierta; es tambien el tramo maximo de las
+   * esperas de ritmo programadas en un timer, asi ninguna espera de ritmo demora la pausa mas que esto
+   */
+  public static final long MAX_PLAIN_SLEEP_NANOS = 10_000_000;
+
   private final ReentrantLock lock = new ReentrantLock();
   private final Condition unpaused = lock.newCondition();
   private volatile boolean paused = false;
   private int pausedThreads = 0;
   private int totalThreads = 0;
   private final Condition allPaused = lock.newCondition();
+  private final List<Runnable> parked = new ArrayList<>();
+  private final Condition pauseRequested = lock.newCondition();
+  private long pausedAtNanos;
+  private volatile long lastQuiesceNanos = -1;
 
-  public void pause() { lock.lock(); try { paused = true; } finally { lock.unlock(); } }
-  public void resume() { lock.lock(); try { paused = false; unpaused.signalAll(); } finally { lock.unlock(); } }
+  public void pause() {
+    lock.lock();
+    try {
+      if (paused)
+        return;
+      paused = true;
+      pausedAtNanos = System.nanoTime();
+      lastQuiesceNanos = -1;
+      pauseRequested.signalAll();
+      signalIfAllPaused();
+    } finally {
+      lock.unlock();
+    }
+  }
+  /* Despierta a los hilos en awaitIfPaused y relanza (fuera del lock) las continuaciones de parkIfPaused */
+  public void resume() {
+    List<Runnable> wake;
+    lock.lock();
+    try {
+      paused = false;
+      unpaused.signalAll();
+      pausedThreads -= parked.size();
+      wake = new ArrayList<>(parked);
+      parked.clear();
+    } finally {
+      lock.unlock();
+    }
+    for (Runnable r : wake)
+      r.run();
+  }
   public boolean paused() { return paused; }
+  public int pausedThreads() { lock.lock(); try { return pausedThreads; } finally { lock.unlock(); } }
 
   public void awaitIfPaused() throws InterruptedException {
     lock.lockInterruptibly();
     try { 
       while (paused) {
         pausedThreads++;
-        if (pausedThreads == totalThreads) {
-          allPaused.signalAll();
-        }
+        signalIfAllPaused();
         try {
           unpaused.await();
         } finally {
@@ -35,6 +87,25 @@ public final class PauseController {
     }
   }
 
+  /*
+   * PAUSA SIN BLOQUEAR EL HILO (TAREAS EN UN POOL)
+   * - Si esta pausado guarda la continuacion, cuenta a la tarea como pausada y retorna true
+   * - resume() ejecuta la continuacion; la tarea no debe seguir si recibio true
+   */
+  public boolean parkIfPaused(Runnable onResume) {
+    lock.lock();
+    try {
+      if (!paused)
+        return false;
+      parked.add(onResume);
+      pausedThreads++;
+      signalIfAllPaused();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public void waitUntilAllPaused() throws InterruptedException {
     lock.lockInterruptibly();
     try {
@@ -45,15 +116,81 @@ public final class PauseController {
       lock.unlock();
     }
   }
+
+  /* Como waitUntilAllPaused pero con limite: retorna false si al vencer el plazo aun hay hilos sin pausar */
+  public boolean waitUntilAllPaused(Duration timeout) throws InterruptedException {
+    long left = timeout.toNanos();
+    lock.lockInterruptibly();
+    try {
+      while (pausedThreads < totalThreads) {
+        if (left <= 0)
+          return false;
+        left = allPaused.awaitNanos(left);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public void setTotalThreads(int n) {
     lock.lock();
     try {
         totalThreads = n;
-        if (pausedThreads >= totalThreads) {
-          allPaused.signalAll();
-        }
+        signalIfAllPaused();
     } finally {
         lock.unlock();
     }
   }
+
+  /* Con el lock tomado: avisa a quien espera la pausa y registra el tiempo hasta quedar quieta */
+  private void signalIfAllPaused() {
+    if (pausedThreads < totalThreads)
+      return;
+    if (paused && lastQuiesceNanos < 0)
+      lastQuiesceNanos = System.nanoTime() - pausedAtNanos;
+    allPaused.signalAll();
+  }
+
+  /* Nanosegundos desde el ultimo pause() hasta que todos los hilos quedaron pausados; -1 si aun no */
+  public long lastQuiesceNanos() {
+    return lastQuiesceNanos;
+  }
+
+  /*
+   * ESPERA POR UN LOCK COMO PUNTO SEGURO
+   * - Intenta en tramos de SAFEPOINT_NANOS y retorna false (sin el lock) si se pidio la pausa
+   * - Quien recibe false debe soltar lo que tenga y volver al ciclo, donde awaitIfPaused lo cuenta
+   */
+  public boolean lockUnlessPaused(Lock target) throws InterruptedException {
+    if (target.tryLock())
+      return true;
+    while (!paused) {
+      if (target.tryLock(SAFEPOINT_NANOS, TimeUnit.NANOSECONDS))
+        return true;
+    }
+    return false;
+  }
+
+  /*
+   * DORMIDA QUE SE CORTA AL PEDIR LA PAUSA
+   * - Las cortas (el ritmo normal entre peleas) son un sleep comun: sin tocar el lock en el camino caliente
+   * - Las largas (cubeta de tokens con tasa baja) esperan en una condicion que pause() despierta
+   * - Retorna lo que faltaba dormir cuando la pausa la corto (0 si durmio todo): tras reanudar se espera el resto
+   */
+  public long sleepUnlessPaused(long nanos) throws InterruptedException {
+    if (nanos <= MAX_PLAIN_SLEEP_NANOS) {
+      Thread.sleep(Duration.ofNanos(nanos));
+      return 0;
+    }
+    lock.lockInterruptibly();
+    try {
+      long left = nanos;
+      while (!paused && left > 0)
+        left = pauseRequested.awaitNanos(left);
+      return Math.max(0, left);
+    } finally {
+      lock.unlock();
+    }
+  }
 }
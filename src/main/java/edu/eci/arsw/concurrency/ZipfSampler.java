@@ -0,0 +1,74 @@
+package edu.eci.arsw.concurrency;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Muestreador Zipf en O(1) por muestra (rejection-inversion, Hörmann y
+ * Derflinger), sin tablas: sirve para poblaciones de millones. Genera
+ * rangos 0..n-1 donde el rango k tiene probabilidad proporcional a
+ * 1/(k+1)^exponent. Es inmutable y seguro entre hilos; cada hilo pasa su
+ * propio generador (p. ej. ThreadLocalRandom.current()).
+ */
+public final class ZipfSampler {
+  private final int n;
+  private final double exponent;
+  private final double hIntegralX1;
+  private final double hIntegralN;
+  private final double s;
+
+  public ZipfSampler(int n, double exponent) {
+    if (n < 1)
+      throw new IllegalArgumentException("n must be >= 1");
+    if (exponent <= 0)
+      throw new IllegalArgumentException("exponent must be > 0");
+    this.n = n;
+    this.exponent = exponent;
+    this.hIntegralX1 = hIntegral(1.5) - 1.0;
+    this.hIntegralN = hIntegral(n + 0.5);
+    this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+  }
+
+  public int n() {
+    return n;
+  }
+
+  public int sample(RandomGenerator random) {
+    while (true) {
+      double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+      double x = hIntegralInverse(u);
+      int k = (int) (x + 0.5);
+      if (k < 1)
+        k = 1;
+      else if (k > n)
+        k = n;
+      if (k - x <= s || u >= hIntegral(k + 0.5) - h(k))
+        return k - 1;
+    }
+  }
+
+  private double hIntegral(double x) {
+    double logX = Math.log(x);
+    return helper2((1.0 - exponent) * logX) * logX;
+  }
+
+  private double h(double x) {
+    return Math.exp(-exponent * Math.log(x));
+  }
+
+  private double hIntegralInverse(double x) {
+    double t = x * (1.0 - exponent);
+    if (t < -1.0)
+      t = -1.0;
+    return Math.exp(helper1(t) * x);
+  }
+
+  /* log(1+x)/x con precision cerca de 0 */
+  private static double helper1(double x) {
+    return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+  }
+
+  /* (exp(x)-1)/x con precision cerca de 0 */
+  private static double helper2(double x) {
+    return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+  }
+}
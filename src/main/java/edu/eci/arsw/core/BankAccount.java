@@ -4,13 +4,28 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public final class BankAccount {
   private final long id;
-  private long balance;
+  private volatile long balance;
+  /* Seqlock: impar mientras una transferencia (con el lock de la cuenta) escribe el saldo */
+  private volatile int stamp;
   private final ReentrantLock lock = new ReentrantLock();
+  /* Transaccion de ContentionManager que tiene el lock (null si no es gestionada) */
+  volatile ContentionManager.Txn holder;
 
   public BankAccount(long id, long initial) { this.id = id; this.balance = initial; }
   public long id() { return id; }
+  /* Lectura sin lock: nunca frena a las transferencias (volatile, sin valores rotos) */
   public long balance() { return balance; }
+  int stamp() { return stamp; }
   public ReentrantLock lock() { return lock; }
   void depositInternal(long amount) { balance += amount; }
   void withdrawInternal(long amount) { balance -= amount; }
+
+  /* Con los locks de ambas cuentas tomados */
+  static void move(BankAccount from, BankAccount to, long amount) {
+    if (from.balance < amount) throw new IllegalArgumentException("Insufficient funds");
+    if (from == to) return;
+    from.stamp++; to.stamp++;
+    from.withdrawInternal(amount); to.depositInternal(amount);
+    from.stamp++; to.stamp++;
+  }
 }
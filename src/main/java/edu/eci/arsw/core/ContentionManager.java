@@ -0,0 +1,114 @@
+package edu.eci.arsw.core;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gestor de contencion por prioridad para transferencias entre BankAccount
+ * (alternativa a transferTryLock con esperas al azar). Cada transferencia
+ * recibe una marca de tiempo al empezar y la conserva en sus reintentos,
+ * asi que tarde o temprano es la mas antigua. Los conflictos se resuelven
+ * por edad:
+ *
+ * WAIT_DIE:   la mas antigua espera; la mas joven muere (suelta y reintenta).
+ * WOUND_WAIT: la mas antigua hiere a la joven (que aborta si esta esperando);
+ *             la mas joven espera.
+ *
+ * En ambos casos las esperas solo van en un sentido de edad (sin ciclos, sin
+ * deadlock aunque los locks se tomen en el orden from -> to) y la
+ * transferencia mas antigua nunca aborta: progreso garantizado, sin timeout.
+ * Solo coordina transferencias hechas a traves del mismo gestor.
+ */
+public final class ContentionManager {
+
+  public enum Policy { WAIT_DIE, WOUND_WAIT }
+
+  /* Transaccion en curso: marca de tiempo fija y bandera de herida */
+  static final class Txn {
+    final long timestamp;
+    volatile boolean wounded;
+    BankAccount blockedOn;
+    Txn blocker;
+
+    Txn(long timestamp) { this.timestamp = timestamp; }
+  }
+
+  private static final long RECHECK_NANOS = 50_000;
+
+  private final Policy policy;
+  private final AtomicLong clock = new AtomicLong();
+  private final LongAdder aborts = new LongAdder();
+
+  public ContentionManager(Policy policy) { this.policy = Objects.requireNonNull(policy); }
+
+  public Policy policy() { return policy; }
+  public long aborts() { return aborts.sum(); }
+
+  /*
+   * METODO PARA TRANSFERIR CON RESOLUCION DE CONFLICTOS POR EDAD
+   * - Un intento toma from y luego to; si aborta suelta lo que tenga
+   * - Antes de reintentar espera a que el bloqueador suelte la cuenta del conflicto (sin girar contra el)
+   * - Retorna cuantas veces se reinicio; IllegalArgumentException si no hay fondos
+   */
+  public int transfer(BankAccount from, BankAccount to, long amount) throws InterruptedException {
+    Objects.requireNonNull(from); Objects.requireNonNull(to);
+    Txn me = new Txn(clock.incrementAndGet());
+    int restarts = 0;
+    while (!attempt(me, from, to, amount)) {
+      restarts++;
+      aborts.increment();
+      BankAccount contended = me.blockedOn;
+      Txn blocker = me.blocker;
+      while (contended != null && blocker != null && contended.holder == blocker) {
+        if (Thread.interrupted()) throw new InterruptedException();
+        Thread.yield();
+      }
+      me.wounded = false;
+      me.blockedOn = null;
+      me.blocker = null;
+    }
+    return restarts;
+  }
+
+  private boolean attempt(Txn me, BankAccount from, BankAccount to, long amount) throws InterruptedException {
+    if (!acquire(me, from)) return false;
+    try {
+      if (from == to) { BankAccount.move(from, to, amount); return true; }
+      if (!acquire(me, to)) return false;
+      try { BankAccount.move(from, to, amount); return true; }
+      finally { release(to); }
+    } finally { release(from); }
+  }
+
+  /*
+   * METODO PARA TOMAR EL LOCK DE UNA CUENTA
+   * - Lock libre: lo toma y se anota como duena
+   * - Ocupado: WAIT_DIE muere si es mas joven que la duena; WOUND_WAIT hiere a la duena si es mas joven
+   * - Las esperas son tryLock cortos para re-evaluar la duena y la propia herida
+   */
+  private boolean acquire(Txn me, BankAccount account) throws InterruptedException {
+    ReentrantLock lock = account.lock();
+    while (true) {
+      if (me.wounded) return false;
+      if (lock.tryLock()) { account.holder = me; return true; }
+      Txn holder = account.holder;
+      if (holder != null && holder != me) {
+        boolean older = me.timestamp < holder.timestamp;
+        if (policy == Policy.WAIT_DIE && !older) {
+          me.blockedOn = account; me.blocker = holder;
+          return false;
+        }
+        if (policy == Policy.WOUND_WAIT && older) holder.wounded = true;
+      }
+      if (lock.tryLock(RECHECK_NANOS, TimeUnit.NANOSECONDS)) { account.holder = me; return true; }
+    }
+  }
+
+  private static void release(BankAccount account) {
+    account.holder = null;
+    account.lock().unlock();
+  }
+}
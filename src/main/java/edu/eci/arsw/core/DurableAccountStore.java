@@ -0,0 +1,61 @@
+package edu.eci.arsw.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * StripedAccountStore durable: cada transferencia se aplica en memoria, se
+ * registra en el TransferLog con los locks de las cuentas tomados (el
+ * orden del log coincide con el de aplicacion) y solo retorna cuando el
+ * registro esta en disco. Muchas transferencias concurrentes comparten un
+ * mismo force (group commit).
+ *
+ * Tras un crash, recover() reconstruye los saldos desde el log. Una
+ * transferencia que no alcanzo a ser durable nunca fue confirmada.
+ *
+ * Si el log falla (write o force) el store queda fallido: transfer lanza
+ * IOException sin aplicar nada, y los saldos en memoria pueden incluir
+ * transferencias ya aplicadas que nunca se confirmaron. El estado valido
+ * es el que reconstruya recover() desde el archivo.
+ */
+public final class DurableAccountStore implements AutoCloseable {
+  private final StripedAccountStore store;
+  private final TransferLog log;
+
+  private DurableAccountStore(StripedAccountStore store, TransferLog log) {
+    this.store = store;
+    this.log = log;
+  }
+
+  public static DurableAccountStore create(Path file, int accounts, long initial) throws IOException {
+    var store = new StripedAccountStore(accounts, initial);
+    return new DurableAccountStore(store, TransferLog.create(file, accounts, initial));
+  }
+
+  public static DurableAccountStore recover(Path file) throws IOException {
+    TransferLog.Recovery recovery = TransferLog.recover(file);
+    var store = new StripedAccountStore(recovery.balances(), StripedAccountStore.defaultStripes());
+    return new DurableAccountStore(store, TransferLog.reopen(file, recovery));
+  }
+
+  /*
+   * Retorna cuando la transferencia es durable; IllegalArgumentException si no hay fondos (no se registra)
+   * - IOException si el log fallo (antes o mientras se esperaba el force): el store no debe seguir usandose
+   */
+  public void transfer(int from, int to, long amount) throws IOException, InterruptedException {
+    log.check();
+    long seq = store.transfer(from, to, amount, log);
+    log.awaitDurable(seq);
+  }
+
+  public long balance(int id) { return store.balance(id); }
+  public long totalBalance() { return store.totalBalance(); }
+  public long auditTotal() { return store.auditTotal(); }
+  public int size() { return store.size(); }
+  public TransferLog log() { return log; }
+
+  @Override
+  public void close() throws IOException {
+    log.close();
+  }
+}
@@ -0,0 +1,187 @@
+package edu.eci.arsw.core;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cuentas en arreglos primitivos con una tabla fija de locks por franja
+ * (striping): el saldo de la cuenta i vive en balances[i] y lo protege
+ * stripes[stripeOf(i)]. La memoria es 8 bytes por cuenta mas una tabla de
+ * locks de tamaño fijo, en vez de un objeto y un ReentrantLock por cuenta.
+ *
+ * Cada franja cubre bloques de 8 cuentas consecutivas (64 bytes de
+ * saldos), asi cuentas vecinas comparten lock y casi todas las escrituras
+ * de franjas distintas caen en lineas distintas. Java no alinea el arreglo
+ * a 64 bytes (el encabezado lo corre), por lo que dos bloques contiguos
+ * pueden compartir la linea de su borde.
+ *
+ * Los contadores por franja (total, epoca capturada, pre-imagen) si van
+ * relleno: cada franja ocupa 16 longs en un solo arreglo y usa los 3
+ * primeros, de modo que los contadores de dos franjas siempre quedan a
+ * mas de una linea de distancia (sin false sharing entre franjas).
+ *
+ * Las transferencias toman los locks en orden de franja (como
+ * TransferService.transferOrdered con los ids); si ambas cuentas caen en
+ * la misma franja se toma un solo lock.
+ *
+ * auditTotal() da una suma consistente sin detener las transferencias
+ * (snapshot versionado por franja): cada auditoria abre una epoca nueva y
+ * la primera transferencia de esa epoca que toca una franja guarda antes
+ * el total previo de la franja (copy-on-write). La auditoria suma esas
+ * pre-imagenes o, si la franja no se ha tocado, su total vivo. El costo
+ * extra por transferencia es O(1): una lectura volatile y dos longs por
+ * franja tocada.
+ */
+public final class StripedAccountStore {
+  private static final int LINE_SHIFT = 3;
+  /* 16 longs (128 bytes) por franja: 3 usados + relleno de mas de una linea hasta la siguiente */
+  private static final int COUNTER_SHIFT = 4;
+  private static final int TOTAL = 0, CAPTURED_EPOCH = 1, CAPTURED_TOTAL = 2;
+
+  private final long[] balances;
+  private final ReentrantLock[] stripes;
+  private final int mask;
+
+  /* Por franja (en counters[(s << COUNTER_SHIFT) + campo]), protegidos por su lock: total vivo, epoca capturada y pre-imagen */
+  private final long[] counters;
+  private volatile long epoch;
+  private final ReentrantLock auditLock = new ReentrantLock();
+
+  public StripedAccountStore(int accounts, long initial) {
+    this(accounts, initial, defaultStripes());
+  }
+
+  /* stripes se redondea a la siguiente potencia de dos */
+  public StripedAccountStore(int accounts, long initial, int stripes) {
+    this(filled(accounts, initial), stripes);
+  }
+
+  /* Adopta el arreglo de saldos (p. ej. reconstruido desde un TransferLog) */
+  StripedAccountStore(long[] balances, int stripes) {
+    if (balances.length == 0 || stripes <= 0) throw new IllegalArgumentException("accounts and stripes must be positive");
+    int n = 1;
+    while (n < stripes) n <<= 1;
+    this.balances = balances;
+    this.stripes = new ReentrantLock[n];
+    for (int i = 0; i < n; i++) this.stripes[i] = new ReentrantLock();
+    this.mask = n - 1;
+    this.counters = new long[n << COUNTER_SHIFT];
+    for (int i = 0; i < balances.length; i++) counters[slot(stripeOf(i), TOTAL)] += balances[i];
+  }
+
+  private static int slot(int stripe, int field) { return (stripe << COUNTER_SHIFT) + field; }
+
+  private static long[] filled(int accounts, long initial) {
+    if (accounts <= 0) throw new IllegalArgumentException("accounts and stripes must be positive");
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, initial);
+    return balances;
+  }
+
+  static int defaultStripes() {
+    return Runtime.getRuntime().availableProcessors() * 64;
+  }
+
+  public int size() { return balances.length; }
+  public int stripes() { return stripes.length; }
+  public int stripeOf(int id) { return (id >>> LINE_SHIFT) & mask; }
+
+  public long balance(int id) {
+    ReentrantLock lock = stripes[stripeOf(id)];
+    lock.lock();
+    try { return balances[id]; }
+    finally { lock.unlock(); }
+  }
+
+  /*
+   * METODO PARA TRANSFERIR ENTRE DOS CUENTAS
+   * - Orden global por numero de franja: sin deadlocks
+   * - Misma franja (o misma cuenta): un solo lock
+   */
+  public void transfer(int from, int to, long amount) {
+    transfer(from, to, amount, null);
+  }
+
+  /* Con log: el registro se encola con los locks tomados y retorna su secuencia (0 sin log) */
+  long transfer(int from, int to, long amount, TransferLog log) {
+    checkIndex(from); checkIndex(to);
+    int sa = stripeOf(from), sb = stripeOf(to);
+    ReentrantLock first = stripes[Math.min(sa, sb)];
+    ReentrantLock second = stripes[Math.max(sa, sb)];
+    first.lock();
+    try {
+      if (sa == sb) return apply(from, to, sa, sb, amount, log);
+      second.lock();
+      try { return apply(from, to, sa, sb, amount, log); }
+      finally { second.unlock(); }
+    } finally { first.unlock(); }
+  }
+
+  private long apply(int from, int to, int sa, int sb, long amount, TransferLog log) {
+    withdrawDeposit(from, to, amount);
+    if (sa != sb) {
+      long e = epoch;
+      capture(sa, e); capture(sb, e);
+      counters[slot(sa, TOTAL)] -= amount; counters[slot(sb, TOTAL)] += amount;
+    }
+    return log == null ? 0 : log.buffer(from, to, amount);
+  }
+
+  /* Con el lock de la franja: primera escritura de la epoca e guarda la pre-imagen */
+  private void capture(int stripe, long e) {
+    int base = stripe << COUNTER_SHIFT;
+    if (counters[base + CAPTURED_EPOCH] < e) {
+      counters[base + CAPTURED_TOTAL] = counters[base + TOTAL];
+      counters[base + CAPTURED_EPOCH] = e;
+    }
+  }
+
+  /*
+   * METODO PARA AUDITAR LA SUMA GLOBAL SIN DETENER LAS TRANSFERENCIAS
+   * - Abre la epoca e: las transferencias que la leen (con sus locks) quedan despues del corte
+   * - Recorre las franjas tomando un solo lock a la vez: pre-imagen si ya se escribio en e, total vivo si no
+   * - Una transferencia entre dos franjas lee la epoca una vez con ambos locks: queda entera a un lado del corte
+   * - Las auditorias se serializan entre si
+   */
+  public long auditTotal() {
+    auditLock.lock();
+    try {
+      long e = epoch + 1;
+      epoch = e;
+      long sum = 0;
+      for (int s = 0; s < stripes.length; s++) {
+        ReentrantLock lock = stripes[s];
+        lock.lock();
+        try {
+          capture(s, e);
+          sum += counters[slot(s, CAPTURED_TOTAL)];
+        } finally { lock.unlock(); }
+      }
+      return sum;
+    } finally { auditLock.unlock(); }
+  }
+
+  /* Numero de auditorias realizadas (epoca actual) */
+  public long audits() { return epoch; }
+
+  /* Suma consistente: toma todas las franjas en orden (detiene las transferencias mientras suma) */
+  public long totalBalance() {
+    for (ReentrantLock lock : stripes) lock.lock();
+    try {
+      long sum = 0;
+      for (long b : balances) sum += b;
+      return sum;
+    } finally {
+      for (int i = stripes.length - 1; i >= 0; i--) stripes[i].unlock();
+    }
+  }
+
+  private void withdrawDeposit(int from, int to, long amount) {
+    if (balances[from] < amount) throw new IllegalArgumentException("Insufficient funds");
+    balances[from] -= amount; balances[to] += amount;
+  }
+
+  private void checkIndex(int id) {
+    if (id < 0 || id >= balances.length) throw new IndexOutOfBoundsException("No account " + id);
+  }
+}
@@ -0,0 +1,238 @@
+package edu.eci.arsw.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de escritura anticipada (WAL) de transferencias con group commit.
+ *
+ * Formato: cabecera "genesis" (cantidad de cuentas y saldo inicial) y
+ * luego registros de RECORD_BYTES (secuencia, origen, destino, monto y
+ * CRC32C). Una transferencia se confirma solo cuando su registro esta en
+ * disco (FileChannel.force).
+ *
+ * Group commit: los registros se acumulan en un buffer en memoria; el
+ * primer hilo que espera y no encuentra un flush en curso se vuelve lider,
+ * escribe todo lo acumulado y hace un solo force para todos. Mientras
+ * tanto los demas siguen acumulando para el siguiente lider.
+ *
+ * Un fallo de write o force es definitivo: ninguna secuencia posterior se
+ * confirma y check() lo reporta. La recuperacion lee el archivo por
+ * ventanas de tamaño fijo, asi que no tiene limite de 2 GB.
+ */
+public final class TransferLog implements AutoCloseable {
+  static final int MAGIC = 0x544C4F47; // "TLOG"
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 32;
+  static final int RECORD_BYTES = 32;
+  private static final int INITIAL_BUFFER = 64 * RECORD_BYTES;
+  /* Ventana de lectura de recover() (multiplo de RECORD_BYTES) */
+  static final int WINDOW_BYTES = 1 << 20;
+
+  /* Estado reconstruido por recover() */
+  public record Recovery(int accounts, long initial, long[] balances, long records, long validBytes, long discardedBytes) {}
+
+  private final FileChannel channel;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition flushed = lock.newCondition();
+  private final CRC32C crc = new CRC32C();
+  private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER);
+  private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER);
+  private long lastSeq;
+  private long durableSeq;
+  private boolean flushing;
+  private IOException failure;
+  private long syncs;
+
+  private TransferLog(FileChannel channel, long lastSeq) {
+    this.channel = channel;
+    this.lastSeq = lastSeq;
+    this.durableSeq = lastSeq;
+  }
+
+  /* Crea (o reemplaza) un log con su cabecera genesis ya en disco */
+  public static TransferLog create(Path file, int accounts, long initial) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION).putInt(accounts).putInt(0).putLong(initial).putLong(0).flip();
+    while (header.hasRemaining()) channel.write(header);
+    channel.force(true);
+    return new TransferLog(channel, 0);
+  }
+
+  /*
+   * METODO PARA RECUPERAR EL ESTADO DESDE EL LOG
+   * - Parte de los saldos iniciales de la cabecera y reaplica cada registro en orden de secuencia
+   * - Se detiene en el primer registro incompleto, con CRC invalido o fuera de secuencia (cola rota por un crash)
+   * - Lee por ventanas de WINDOW_BYTES con un solo buffer directo; las posiciones en el archivo son long
+   */
+  public static Recovery recover(Path file) throws IOException {
+    return recover(file, WINDOW_BYTES);
+  }
+
+  static Recovery recover(Path file, int windowBytes) throws IOException {
+    if (windowBytes < RECORD_BYTES || windowBytes % RECORD_BYTES != 0)
+      throw new IllegalArgumentException("Window must be a positive multiple of " + RECORD_BYTES);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES) throw new IOException("Not a transfer log: " + file);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      if (readFully(channel, header, 0) < HEADER_BYTES || header.getInt(0) != MAGIC)
+        throw new IOException("Not a transfer log: " + file);
+      if (header.getInt(4) != VERSION) throw new IOException("Unsupported transfer log version " + header.getInt(4));
+      int accounts = header.getInt(8);
+      long initial = header.getLong(16);
+      long[] balances = new long[accounts];
+      Arrays.fill(balances, initial);
+
+      CRC32C check = new CRC32C();
+      ByteBuffer window = ByteBuffer.allocateDirect(windowBytes);
+      long records = 0;
+      long pos = HEADER_BYTES;
+      scan:
+      while (pos + RECORD_BYTES <= size) {
+        window.clear();
+        window.limit((int) Math.min(windowBytes, (size - pos) / RECORD_BYTES * RECORD_BYTES));
+        int read = readFully(channel, window, pos);
+        if (read < RECORD_BYTES) break;
+        for (int p = 0; p + RECORD_BYTES <= read; p += RECORD_BYTES) {
+          long seq = window.getLong(p);
+          int from = window.getInt(p + 8), to = window.getInt(p + 12);
+          long amount = window.getLong(p + 16);
+          check.reset();
+          check.update(window.slice(p, 24));
+          if (seq != records + 1 || (int) check.getValue() != window.getInt(p + 24)
+              || from < 0 || from >= accounts || to < 0 || to >= accounts) break scan;
+          balances[from] -= amount; balances[to] += amount;
+          records++;
+          pos += RECORD_BYTES;
+        }
+      }
+      return new Recovery(accounts, initial, balances, records, pos, size - pos);
+    }
+  }
+
+  /* Lee desde position hasta llenar el buffer o llegar al final; retorna los bytes leidos */
+  private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    int total = 0;
+    while (buffer.hasRemaining()) {
+      int n = channel.read(buffer, position + total);
+      if (n < 0) break;
+      total += n;
+    }
+    return total;
+  }
+
+  /* Reabre un log recuperado para seguir agregando; descarta la cola rota que reporto recover() */
+  public static TransferLog reopen(Path file, Recovery recovery) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+    channel.truncate(recovery.validBytes());
+    channel.position(recovery.validBytes());
+    channel.force(true);
+    return new TransferLog(channel, recovery.records());
+  }
+
+  /* Agrega el registro y espera a que sea durable; retorna su secuencia */
+  public long append(int from, int to, long amount) throws IOException, InterruptedException {
+    long seq = buffer(from, to, amount);
+    awaitDurable(seq);
+    return seq;
+  }
+
+  /* Solo encola en memoria (se llama con los locks de las cuentas tomados, asi el orden del log es el de aplicacion) */
+  long buffer(int from, int to, long amount) {
+    lock.lock();
+    try {
+      if (pending.remaining() < RECORD_BYTES) {
+        ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+      }
+      long seq = ++lastSeq;
+      int start = pending.position();
+      pending.putLong(seq).putInt(from).putInt(to).putLong(amount);
+      crc.reset();
+      crc.update(pending.slice(start, 24));
+      pending.putInt((int) crc.getValue()).putInt(0);
+      return seq;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /*
+   * METODO PARA ESPERAR A QUE UNA SECUENCIA SEA DURABLE (GROUP COMMIT)
+   * - Si no hay flush en curso, este hilo es el lider: escribe lo acumulado y hace un force fuera del lock
+   * - Si lo hay, espera la señal del lider y vuelve a mirar
+   */
+  void awaitDurable(long seq) throws IOException, InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (durableSeq < seq) {
+        if (failure != null) throw new IOException("Transfer log failed", failure);
+        if (flushing) {
+          flushed.await();
+          continue;
+        }
+        flushing = true;
+        ByteBuffer batch = pending;
+        pending = spare;
+        long upTo = lastSeq;
+        IOException error = null;
+        lock.unlock();
+        try {
+          batch.flip();
+          while (batch.hasRemaining()) channel.write(batch);
+          channel.force(false);
+        } catch (IOException e) {
+          error = e;
+        } finally {
+          lock.lock();
+          batch.clear();
+          spare = batch;
+          flushing = false;
+          if (error != null) failure = error;
+          else { durableSeq = upTo; syncs++; }
+          flushed.signalAll();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* IOException si un write o force ya fallo: desde ahi el log no confirma nada mas */
+  void check() throws IOException {
+    lock.lock();
+    try {
+      if (failure != null) throw new IOException("Transfer log failed", failure);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Cantidad de force() hechos; registros / syncs = transferencias confirmadas por flush */
+  public long syncs() {
+    lock.lock();
+    try { return syncs; } finally { lock.unlock(); }
+  }
+
+  public long records() {
+    lock.lock();
+    try { return lastSeq; } finally { lock.unlock(); }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
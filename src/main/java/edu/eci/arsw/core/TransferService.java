@@ -1,12 +1,16 @@
 package edu.eci.arsw.core;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 public final class TransferService {
+  private static final int OPTIMISTIC_READS = 8;
+
   public static void transferNaive(BankAccount from, BankAccount to, long amount) {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
     var a = from.lock(); var b = to.lock();
@@ -29,26 +33,64 @@ public final class TransferService {
       finally { second.lock().unlock(); }
     } finally { first.lock().unlock(); }
   }
-  public static void transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
+  /* Retorna cuantos intentos fallaron antes de transferir */
+  public static int transferTryLock(BankAccount from, BankAccount to, long amount, Duration maxWait) throws InterruptedException {
     Objects.requireNonNull(from); Objects.requireNonNull(to);
     ReentrantLock a = from.lock(); ReentrantLock b = to.lock();
     long deadline = System.nanoTime() + maxWait.toNanos();
+    int retries = 0;
     while (System.nanoTime() < deadline) {
       if (a.tryLock(10, TimeUnit.MILLISECONDS)) {
         try {
           if (b.tryLock(10, TimeUnit.MILLISECONDS)) {
-            try { withdrawDeposit(from, to, amount); return; }
+            try { withdrawDeposit(from, to, amount); return retries; }
             finally { b.unlock(); }
           }
         } finally { a.unlock(); }
       }
+      retries++;
       Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
     }
     throw new InterruptedException("transferTryLock timed out");
   }
+  /*
+   * METODO PARA SUMAR SALDOS SIN DETENER LAS TRANSFERENCIAS
+   * - Doble recoleccion optimista: sellos pares e iguales en dos pasadas => suma de un instante sin transferencias a medias
+   * - Tras OPTIMISTIC_READS intentos fallidos toma los locks en orden de id (solo con escrituras continuas)
+   */
+  public static long totalBalance(BankAccount... accounts) {
+    int[] stamps = new int[accounts.length];
+    for (int attempt = 0; attempt < OPTIMISTIC_READS; attempt++) {
+      long sum = 0;
+      boolean stable = true;
+      for (int i = 0; i < accounts.length && stable; i++) {
+        stamps[i] = accounts[i].stamp();
+        stable = (stamps[i] & 1) == 0;
+        sum += accounts[i].balance();
+      }
+      for (int i = 0; i < accounts.length && stable; i++) stable = accounts[i].stamp() == stamps[i];
+      if (stable) return sum;
+      Thread.onSpinWait();
+    }
+    return lockedTotal(accounts);
+  }
+  private static long lockedTotal(BankAccount[] accounts) {
+    BankAccount[] ordered = accounts.clone();
+    Arrays.sort(ordered, Comparator.comparingLong(BankAccount::id));
+    int locked = 0;
+    try {
+      long sum = 0;
+      for (BankAccount a : ordered) {
+        a.lock().lock(); locked++;
+        sum += a.balance();
+      }
+      return sum;
+    } finally {
+      for (int i = locked - 1; i >= 0; i--) ordered[i].lock().unlock();
+    }
+  }
   private static void withdrawDeposit(BankAccount from, BankAccount to, long amount) {
-    if (from.balance() < amount) throw new IllegalArgumentException("Insufficient funds");
-    from.withdrawInternal(amount); to.depositInternal(amount);
+    BankAccount.move(from, to, amount);
   }
   private static void sleepALittle() { try { Thread.sleep(5); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); } }
 }
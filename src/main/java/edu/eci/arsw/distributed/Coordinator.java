@@ -0,0 +1,208 @@
+package edu.eci.arsw.distributed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Coordinador de una simulacion repartida en varios PartitionNode (uno por
+ * proceso, en localhost). Asigna las particiones y los enlaces entre nodos
+ * (TOPOLOGY), arranca a todos a la vez y ofrece pausa, reanudacion y
+ * parada globales, y los totales del ScoreBoard sumados entre nodos.
+ *
+ * Cada orden se envia a todos los nodos y luego se espera una respuesta de
+ * cada uno, sobre SocketChannels bloqueantes. Una pausa global queda
+ * completa cuando todos los nodos respondieron PAUSED; desde ahi ningun
+ * nodo cambia hasta RESUME (los lotes en vuelo se guardan en el destino).
+ *
+ * Cada respuesta tiene un plazo (replyTimeout): un nodo caido o colgado
+ * hace fallar la orden con IOException en vez de bloquear al coordinador.
+ * Tras un fallo el coordinador debe cerrarse (una respuesta tardia
+ * desordenaria las siguientes).
+ */
+public final class Coordinator implements AutoCloseable {
+
+  public record NodeStats(int partition, long fights, int alive, int roster, long totalHealth, long attacksSent,
+      long remoteHits) {}
+
+  /* Suma de los NodeStats de todos los nodos */
+  public record Totals(List<NodeStats> nodes) {
+    public long fights() { return nodes.stream().mapToLong(NodeStats::fights).sum(); }
+    public long alive() { return nodes.stream().mapToLong(NodeStats::alive).sum(); }
+    public long roster() { return nodes.stream().mapToLong(NodeStats::roster).sum(); }
+    public long totalHealth() { return nodes.stream().mapToLong(NodeStats::totalHealth).sum(); }
+    public long attacksSent() { return nodes.stream().mapToLong(NodeStats::attacksSent).sum(); }
+    public long remoteHits() { return nodes.stream().mapToLong(NodeStats::remoteHits).sum(); }
+
+    @Override
+    public String toString() {
+      return String.format("nodes=%d fights=%d alive=%d/%d totalHealth=%d crossAttacks=%d crossHits=%d", nodes.size(),
+          fights(), alive(), roster(), totalHealth(), attacksSent(), remoteHits());
+    }
+  }
+
+  /* quiesced: todos los nodos se pausaron dentro del plazo; maxQuiesceNanos: el nodo mas lento */
+  public record GlobalPause(boolean quiesced, long maxQuiesceNanos) {}
+
+  /* Mas que PartitionNode.PAUSE_TIMEOUT: la respuesta a PAUSE puede tardar todo ese plazo */
+  static final Duration REPLY_TIMEOUT = Duration.ofSeconds(15);
+
+  private final int[] ports;
+  private final FrameChannel[] nodes;
+  private final Duration replyTimeout;
+
+  public Coordinator(List<Integer> ports) throws IOException {
+    this(ports, REPLY_TIMEOUT);
+  }
+
+  public Coordinator(List<Integer> ports, Duration replyTimeout) throws IOException {
+    this.replyTimeout = replyTimeout;
+    this.ports = ports.stream().mapToInt(Integer::intValue).toArray();
+    this.nodes = new FrameChannel[this.ports.length];
+    try {
+      for (int i = 0; i < nodes.length; i++) {
+        SocketChannel socket = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.ports[i]));
+        socket.socket().setTcpNoDelay(true);
+        nodes[i] = new FrameChannel(socket);
+      }
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /*
+   * METODO PARA ARRANCAR LA SIMULACION REPARTIDA
+   * - TOPOLOGY a todos; cada nodo responde READY cuando tiene los enlaces con los demas
+   * - Luego START a todos: las particiones arrancan casi a la vez
+   */
+  public synchronized void start() throws IOException {
+    for (int i = 0; i < nodes.length; i++)
+      nodes[i].send(Protocol.topology(i, ports));
+    for (int i = 0; i < nodes.length; i++)
+      expect(i, Protocol.READY);
+    broadcast(Protocol.START, Protocol.STARTED);
+  }
+
+  public synchronized GlobalPause pause() throws IOException {
+    long max = 0;
+    boolean quiesced = true;
+    for (ByteBuffer reply : broadcast(Protocol.PAUSE, Protocol.PAUSED)) {
+      quiesced &= reply.get() == 1;
+      max = Math.max(max, reply.getLong());
+    }
+    return new GlobalPause(quiesced, max);
+  }
+
+  public synchronized void resume() throws IOException {
+    broadcast(Protocol.RESUME, Protocol.RESUMED);
+  }
+
+  public synchronized Totals stats() throws IOException {
+    return totals(broadcast(Protocol.STATS_REQUEST, Protocol.STATS));
+  }
+
+  /* Detiene todos los nodos y retorna sus totales finales */
+  public synchronized Totals stop() throws IOException {
+    return totals(broadcast(Protocol.STOP, Protocol.STATS));
+  }
+
+  private static Totals totals(List<ByteBuffer> replies) {
+    List<NodeStats> stats = new ArrayList<>();
+    for (ByteBuffer reply : replies)
+      stats.add(Protocol.readStats(reply));
+    return new Totals(List.copyOf(stats));
+  }
+
+  /* Envia la orden a todos y luego junta una respuesta de cada uno (carga sin el byte de tipo) */
+  private List<ByteBuffer> broadcast(byte command, byte reply) throws IOException {
+    for (FrameChannel node : nodes)
+      node.send(Protocol.empty(command));
+    List<ByteBuffer> replies = new ArrayList<>();
+    for (int i = 0; i < nodes.length; i++)
+      replies.add(expect(i, reply));
+    return replies;
+  }
+
+  private ByteBuffer expect(int node, byte type) throws IOException {
+    ByteBuffer frame;
+    try {
+      frame = nodes[node].readFrame(replyTimeout);
+    } catch (SocketTimeoutException e) {
+      throw new IOException("Node " + node + " (port " + ports[node] + ") did not reply within " + replyTimeout, e);
+    }
+    byte actual = frame.get();
+    if (actual != type)
+      throw new IOException("Expected frame type " + type + " but got " + actual);
+    return frame;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (FrameChannel node : nodes)
+      if (node != null)
+        node.close();
+  }
+
+  /*
+   * NODOS LOCALES EN PROCESOS APARTE
+   * - Lanza n JVM con la misma java y classpath (-Dmode=node -Dport=0 y las propiedades dadas)
+   * - Lee de la salida de cada uno la linea con su puerto; close() destruye los procesos
+   */
+  public record LocalNodes(List<Process> processes, List<Integer> ports) implements AutoCloseable {
+    private static final Pattern PORT_LINE = Pattern.compile("listening on port (\\d+)");
+
+    public static LocalNodes launch(int n, List<String> properties) throws IOException {
+      String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+      List<Process> processes = new ArrayList<>();
+      List<Integer> ports = new ArrayList<>();
+      LocalNodes launched = new LocalNodes(processes, ports);
+      try {
+        for (int i = 0; i < n; i++) {
+          List<String> command = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+              "-Dmode=node", "-Dport=0"));
+          command.addAll(properties);
+          command.add("edu.eci.arsw.app.Main");
+          Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+          processes.add(process);
+          ports.add(readPort(process));
+        }
+      } catch (IOException e) {
+        launched.close();
+        throw e;
+      }
+      return launched;
+    }
+
+    /* Lee hasta la linea del puerto; el resto de la salida del nodo sigue en un hilo daemon */
+    private static int readPort(Process process) throws IOException {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        Matcher m = PORT_LINE.matcher(line);
+        if (m.find()) {
+          Thread.ofPlatform().daemon(true).start(() -> reader.lines().forEach(l -> System.out.println("[node] " + l)));
+          return Integer.parseInt(m.group(1));
+        }
+      }
+      throw new IOException("Node exited before reporting its port");
+    }
+
+    @Override
+    public void close() {
+      for (Process process : processes)
+        process.destroy();
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package edu.eci.arsw.distributed;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Un SocketChannel que habla en frames de Protocol. Sirve en modo no
+ * bloqueante (nodos: un solo hilo de red con Selector usa read() y flush())
+ * y en modo bloqueante (coordinador: readFrame(plazo) y send()).
+ *
+ * No es thread-safe: cada canal lo usa un solo hilo.
+ */
+final class FrameChannel implements Closeable {
+  private static final int INITIAL_BUFFER = 64 * 1024;
+
+  private final SocketChannel channel;
+  private ByteBuffer in = ByteBuffer.allocate(INITIAL_BUFFER);
+  private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+  /* Particion del otro extremo (-1 mientras no se sepa o si es el coordinador) */
+  int peer = -1;
+
+  FrameChannel(SocketChannel channel) {
+    this.channel = channel;
+  }
+
+  SocketChannel channel() {
+    return channel;
+  }
+
+  /*
+   * METODO DE LECTURA NO BLOQUEANTE
+   * - Lee lo disponible y entrega cada frame completo (tipo + carga) en orden
+   * - Retorna false si el otro extremo cerro la conexion
+   */
+  boolean read(Consumer<ByteBuffer> onFrame) throws IOException {
+    int n = channel.read(in);
+    ByteBuffer frame;
+    while ((frame = nextFrame()) != null)
+      onFrame.accept(frame);
+    return n >= 0;
+  }
+
+  /*
+   * METODO DE LECTURA BLOQUEANTE CON PLAZO (CANAL EN MODO BLOQUEANTE)
+   * - Lee por el stream del socket, que respeta SO_TIMEOUT (la lectura del canal no lo hace)
+   * - SocketTimeoutException si el frame no se completa dentro del plazo total
+   */
+  ByteBuffer readFrame(Duration timeout) throws IOException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    InputStream stream = channel.socket().getInputStream();
+    while (true) {
+      ByteBuffer frame = nextFrame();
+      if (frame != null)
+        return frame;
+      long left = deadline - System.nanoTime();
+      if (left <= 0)
+        throw new SocketTimeoutException("No frame within " + timeout.toMillis() + " ms");
+      channel.socket().setSoTimeout((int) Math.max(1, Math.min(Integer.MAX_VALUE, left / 1_000_000)));
+      int n = stream.read(in.array(), in.arrayOffset() + in.position(), in.remaining());
+      if (n < 0)
+        throw new EOFException("Connection closed by peer");
+      in.position(in.position() + n);
+    }
+  }
+
+  /* Con el buffer de entrada en modo escritura: extrae un frame completo o retorna null */
+  private ByteBuffer nextFrame() throws IOException {
+    in.flip();
+    try {
+      if (in.remaining() < Integer.BYTES)
+        return null;
+      int length = in.getInt(in.position());
+      if (length < 1 || length > Protocol.MAX_FRAME_BYTES)
+        throw new IOException("Bad frame length " + length);
+      if (in.remaining() < Integer.BYTES + length) {
+        if (Integer.BYTES + length > in.capacity())
+          in = ByteBuffer.allocate(Integer.BYTES + length).put(in).flip();
+        return null;
+      }
+      in.position(in.position() + Integer.BYTES);
+      ByteBuffer frame = ByteBuffer.allocate(length);
+      frame.put(in.slice(in.position(), length)).flip();
+      in.position(in.position() + length);
+      return frame;
+    } finally {
+      in.compact();
+    }
+  }
+
+  /* Encola un frame y escribe lo que se pueda (en modo bloqueante, todo); true si no quedo nada pendiente */
+  boolean send(ByteBuffer frame) throws IOException {
+    out.add(frame);
+    return flush();
+  }
+
+  /* Escribe lo que el socket acepte; retorna true si no quedo nada pendiente */
+  boolean flush() throws IOException {
+    ByteBuffer head;
+    while ((head = out.peek()) != null) {
+      channel.write(head);
+      if (head.hasRemaining())
+        return false;
+      out.poll();
+    }
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
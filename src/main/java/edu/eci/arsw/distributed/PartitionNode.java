@@ -0,0 +1,457 @@
+package edu.eci.arsw.distributed;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.Immortal;
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Un proceso (o JVM) que hospeda una particion de inmortales con su propio
+ * ImmortalManager. Las peleas locales siguen igual; ademas un hilo
+ * "atacante" elige atacantes locales al azar a una tasa fija y los manda
+ * contra otra particion. La victima la elige la particion destino, que
+ * responde con la ganancia del atacante (como HIT en el modo ACTOR).
+ *
+ * Toda la red corre en un hilo con Selector sobre SocketChannels no
+ * bloqueantes: enlaces con cada otra particion y uno con el coordinador.
+ * Los ataques y respuestas se acumulan por destino y salen en lotes cada
+ * FLUSH_MILLIS (Protocol.PairBatch). Si falla un enlace con otra particion
+ * se cierra y se olvida (sus lotes se descartan) y el nodo sigue atendiendo
+ * al coordinador; solo la caida del enlace con el coordinador lo detiene.
+ *
+ * Desde que llega PAUSE hasta RESUME los lotes que llegan se guardan y
+ * se aplican al reanudar: una particion pausada no cambia, aunque haya
+ * mensajes en vuelo. La espera de la pausa corre fuera del hilo de red
+ * (que sigue leyendo y vaciando lotes) y devuelve la respuesta PAUSED al
+ * hilo de red por una cola.
+ */
+public final class PartitionNode implements AutoCloseable {
+
+  /* crossAttacksPerSecond: ataques hacia otras particiones que genera esta particion */
+  public record Config(int count, int health, int damage, FightStrategy strategy, FightRateGovernor rate,
+      double crossAttacksPerSecond) {}
+
+  static final long FLUSH_MILLIS = 2;
+  static final Duration PAUSE_TIMEOUT = Duration.ofSeconds(5);
+
+  /* Un lote recibido durante la pausa */
+  private record Deferred(int from, byte type, ByteBuffer payload) {}
+
+  private final Config config;
+  private final ImmortalManager manager;
+  private final ServerSocketChannel server;
+  private final Selector selector;
+  private final Thread io;
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  private final LongAdder attacksSent = new LongAdder();
+  private final LongAdder remoteHits = new LongAdder();
+  private volatile boolean running = true;
+  private volatile Thread attacker;
+  private volatile Thread pauser;
+  /* Trabajo que otros hilos dejan para el hilo de red (solo el hilo de red escribe en los canales) */
+  private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  /* Estado del hilo de red */
+  private FrameChannel control;
+  private int partition = -1;
+  private int partitions;
+  private final Map<Integer, FrameChannel> links = new HashMap<>();
+  private FrameChannel[] peers;
+  private volatile Protocol.PairBatch[] attacks;
+  private Protocol.PairBatch[] hits;
+  private final List<Deferred> deferred = new ArrayList<>();
+  /* Entre PAUSE y RESUME (la pausa del manager puede estar aun en curso) */
+  private boolean pausing;
+
+  /* port = 0: puerto libre elegido por el sistema (ver port()) */
+  public PartitionNode(Config config, int port) throws IOException {
+    if (config.strategy() == FightStrategy.ACTOR)
+      throw new IllegalArgumentException("ACTOR is not supported in distributed mode");
+    this.config = config;
+    this.manager = new ImmortalManager(config.count(), config.health(), config.damage(), config.strategy());
+    manager.setFightLogging(false);
+    manager.setFightRateGovernor(config.rate());
+    this.selector = Selector.open();
+    this.server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    server.configureBlocking(false);
+    server.register(selector, SelectionKey.OP_ACCEPT);
+    this.io = Thread.ofPlatform().name("partition-node-io").start(this::loop);
+  }
+
+  public int port() {
+    try {
+      return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public ImmortalManager manager() {
+    return manager;
+  }
+
+  /* Bloquea hasta que el coordinador ordene STOP (o se cierre el nodo) */
+  public void awaitStop() throws InterruptedException {
+    stopped.await();
+  }
+
+  /*
+   * CICLO DEL HILO DE RED
+   * - Acepta enlaces, lee frames, corre las tareas de otros hilos y cada FLUSH_MILLIS vacia los lotes pendientes
+   * - Si el coordinador se desconecta, el nodo se detiene
+   */
+  private void loop() {
+    try {
+      while (running) {
+        selector.select(FLUSH_MILLIS);
+        for (SelectionKey key : selector.selectedKeys()) {
+          if (!key.isValid())
+            continue;
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+          FrameChannel channel = (FrameChannel) key.attachment();
+          try {
+            if (key.isWritable() && channel.flush())
+              key.interestOps(SelectionKey.OP_READ);
+            if (key.isReadable() && !channel.read(frame -> onFrame(channel, frame)))
+              drop(channel, null);
+          } catch (IOException e) {
+            drop(channel, e);
+          }
+        }
+        selector.selectedKeys().clear();
+        for (Runnable task; (task = tasks.poll()) != null;)
+          task.run();
+        flushBatches();
+      }
+    } catch (IOException e) {
+      System.err.println("Partition " + partition + " network failure: " + e);
+    } finally {
+      shutdown();
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel socket = server.accept();
+    if (socket == null)
+      return;
+    register(socket);
+  }
+
+  private FrameChannel register(SocketChannel socket) throws IOException {
+    socket.configureBlocking(false);
+    socket.socket().setTcpNoDelay(true);
+    FrameChannel channel = new FrameChannel(socket);
+    socket.register(selector, SelectionKey.OP_READ, channel);
+    return channel;
+  }
+
+  /* Encola y escribe; si el socket no acepta todo, espera OP_WRITE. Si falla, el enlace se descarta */
+  private void send(FrameChannel channel, ByteBuffer frame) {
+    if (!channel.channel().isOpen())
+      return;
+    try {
+      if (!channel.send(frame))
+        channel.channel().keyFor(selector).interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    } catch (IOException e) {
+      drop(channel, e);
+    }
+  }
+
+  /*
+   * METODO PARA DESCARTAR UN ENLACE CERRADO O FALLIDO
+   * - Coordinador: el nodo termina (nadie mas puede pausarlo ni detenerlo)
+   * - Otra particion: se cierra y se olvida; los lotes hacia ella se descartan en flushBatches
+   */
+  private void drop(FrameChannel channel, IOException cause) {
+    SelectionKey key = channel.channel().keyFor(selector);
+    if (key != null)
+      key.cancel();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      System.err.println("Partition " + partition + " close failure: " + e);
+    }
+    if (channel == control) {
+      running = false;
+      return;
+    }
+    if (channel.peer >= 0 && links.get(channel.peer) == channel) {
+      links.remove(channel.peer);
+      if (peers != null)
+        peers[channel.peer] = null;
+    }
+    if (cause != null)
+      System.err.println("Partition " + partition + " dropped link to partition " + channel.peer + ": " + cause);
+  }
+
+  /* Antes de cerrar: espera (acotado) a que salga lo pendiente hacia el coordinador */
+  private void drain(FrameChannel channel) {
+    try {
+      for (int i = 0; i < 1_000 && !channel.flush(); i++)
+        LockSupport.parkNanos(1_000_000);
+    } catch (IOException e) {
+      System.err.println("Partition " + partition + " could not flush: " + e);
+    }
+  }
+
+  private void onFrame(FrameChannel from, ByteBuffer frame) {
+    byte type = frame.get();
+    switch (type) {
+      case Protocol.PEER -> {
+        from.peer = frame.getInt();
+        links.put(from.peer, from);
+        maybeReady();
+      }
+      case Protocol.ATTACKS, Protocol.HITS -> {
+        if (pausing || manager.controller().paused())
+          deferred.add(new Deferred(from.peer, type, frame));
+        else
+          apply(from.peer, type, frame);
+      }
+      case Protocol.TOPOLOGY -> onTopology(from, frame);
+      case Protocol.START -> {
+        manager.start();
+        attacker = Thread.ofVirtual().name("partition-attacker").start(this::attackRemote);
+        send(from, Protocol.empty(Protocol.STARTED));
+      }
+      case Protocol.PAUSE -> {
+        pausing = true;
+        pauser = Thread.ofVirtual().name("partition-pause").start(() -> pauseOffLoop(from));
+      }
+      case Protocol.RESUME -> {
+        awaitPauser();
+        pausing = false;
+        manager.resume();
+        for (Deferred d : deferred)
+          apply(d.from(), d.type(), d.payload());
+        deferred.clear();
+        send(from, Protocol.empty(Protocol.RESUMED));
+      }
+      case Protocol.STATS_REQUEST -> send(from, Protocol.stats(stats()));
+      case Protocol.STOP -> {
+        stopAttacker();
+        Coordinator.NodeStats last = stats();
+        manager.stop();
+        send(from, Protocol.stats(last));
+        drain(from);
+        running = false;
+      }
+      default -> throw new IllegalStateException("Unexpected frame type " + type);
+    }
+  }
+
+  /*
+   * PAUSA FUERA DEL HILO DE RED
+   * - Espera (acotado) a que el manager quede quieto sin frenar el Selector de los demas enlaces
+   * - La respuesta PAUSED la envia el hilo de red: se encola y se despierta al Selector
+   */
+  private void pauseOffLoop(FrameChannel from) {
+    boolean quiesced;
+    try {
+      quiesced = manager.pause(PAUSE_TIMEOUT);
+    } catch (InterruptedException e) {
+      return;
+    }
+    ByteBuffer reply = Protocol.paused(quiesced, manager.lastQuiesceNanos());
+    tasks.add(() -> send(from, reply));
+    selector.wakeup();
+  }
+
+  /* El coordinador solo manda RESUME despues de PAUSED; si no, se espera a que la pausa termine antes de reanudar */
+  private void awaitPauser() {
+    Thread current = pauser;
+    if (current == null)
+      return;
+    try {
+      current.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /*
+   * TOPOLOGIA DEL COORDINADOR
+   * - Esta particion abre los enlaces hacia las de indice menor; las de indice mayor se conectan a ella
+   * - Cuando tiene todos los enlaces responde READY
+   */
+  private void onTopology(FrameChannel from, ByteBuffer frame) {
+    control = from;
+    partition = frame.getInt();
+    partitions = frame.getInt();
+    int[] ports = new int[partitions];
+    for (int i = 0; i < partitions; i++)
+      ports[i] = frame.getInt();
+    try {
+      for (int p = 0; p < partition; p++) {
+        SocketChannel socket = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), ports[p]));
+        FrameChannel link = register(socket);
+        link.peer = p;
+        links.put(p, link);
+        send(link, Protocol.peer(partition));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot connect to peer partitions", e);
+    }
+    maybeReady();
+  }
+
+  private void maybeReady() {
+    if (control == null || links.size() < partitions - 1 || peers != null)
+      return;
+    peers = new FrameChannel[partitions];
+    hits = new Protocol.PairBatch[partitions];
+    Protocol.PairBatch[] outgoing = new Protocol.PairBatch[partitions];
+    for (var link : links.entrySet()) {
+      peers[link.getKey()] = link.getValue();
+      hits[link.getKey()] = new Protocol.PairBatch();
+      outgoing[link.getKey()] = new Protocol.PairBatch();
+    }
+    attacks = outgoing;
+    send(control, Protocol.empty(Protocol.READY));
+  }
+
+  /*
+   * APLICA UN LOTE DE OTRA PARTICION
+   * - ATTACKS: cada (atacante, daño) golpea a una victima local al azar; si la golpeo responde (atacante, daño/2)
+   * - HITS: cada (atacante, ganancia) es un golpe propio que la otra particion aplico
+   */
+  private void apply(int from, byte type, ByteBuffer payload) {
+    int n = payload.getInt();
+    for (int i = 0; i < n; i++) {
+      int id = payload.getInt();
+      int value = payload.getInt();
+      if (type == Protocol.ATTACKS) {
+        Immortal victim = manager.randomAlive();
+        if (victim != null && manager.applyExternalHit(victim.id(), value)) {
+          remoteHits.increment();
+          hits[from].add(id, value / 2);
+        }
+      } else {
+        manager.applyExternalGain(id, value);
+      }
+    }
+  }
+
+  private void flushBatches() {
+    Protocol.PairBatch[] outgoing = attacks;
+    if (outgoing == null)
+      return;
+    for (int p = 0; p < partitions; p++) {
+      if (p == partition)
+        continue;
+      if (peers[p] == null || !peers[p].channel().isOpen()) {
+        outgoing[p].clear();
+        hits[p].clear();
+        continue;
+      }
+      ByteBuffer frame;
+      while ((frame = outgoing[p].drain(Protocol.ATTACKS)) != null)
+        send(peers[p], frame);
+      while ((frame = hits[p].drain(Protocol.HITS)) != null)
+        send(peers[p], frame);
+    }
+  }
+
+  /*
+   * HILO QUE GENERA LOS ATAQUES ENTRE PARTICIONES
+   * - A crossAttacksPerSecond: un atacante local vivo al azar contra otra particion al azar
+   * - Cada vuelta genera los ataques que se deben segun el tiempo transcurrido (la tasa no depende de
+   *   la precision del park); no genera durante la pausa ni acumula deuda por ella
+   */
+  private void attackRemote() {
+    double perNano = config.crossAttacksPerSecond() / 1e9;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long last = System.nanoTime();
+    double due = 0;
+    while (running && !Thread.currentThread().isInterrupted()) {
+      long now = System.nanoTime();
+      due += (now - last) * perNano;
+      last = now;
+      if (partitions < 2 || manager.controller().paused()) {
+        due = 0;
+      } else {
+        Protocol.PairBatch[] outgoing = attacks;
+        for (; due >= 1; due--) {
+          Immortal immortal = manager.randomAlive();
+          if (immortal == null)
+            break;
+          int target = random.nextInt(partitions - 1);
+          if (target >= partition)
+            target++;
+          outgoing[target].add(immortal.id(), config.damage());
+          attacksSent.increment();
+        }
+      }
+      LockSupport.parkNanos(FLUSH_MILLIS * 1_000_000);
+    }
+  }
+
+  private void stopAttacker() {
+    Thread current = attacker;
+    if (current == null)
+      return;
+    current.interrupt();
+    try {
+      current.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  Coordinator.NodeStats stats() {
+    return new Coordinator.NodeStats(partition, manager.scoreBoard().totalFights(), manager.aliveCount(),
+        manager.rosterSize(), manager.totalHealth(), attacksSent.sum(), remoteHits.sum());
+  }
+
+  private void shutdown() {
+    running = false;
+    stopAttacker();
+    Thread current = pauser;
+    if (current != null)
+      current.interrupt();
+    manager.close();
+    try {
+      for (SelectionKey key : selector.keys())
+        key.channel().close();
+      selector.close();
+    } catch (IOException e) {
+      System.err.println("Partition " + partition + " close failure: " + e);
+    }
+    stopped.countDown();
+  }
+
+  /* Si se interrumpe mientras espera al hilo de red, no lo espera mas y deja la marca de interrupcion */
+  @Override
+  public void close() {
+    running = false;
+    selector.wakeup();
+    try {
+      io.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package edu.eci.arsw.distributed;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Formato binario de los mensajes entre particiones y con el coordinador.
+ *
+ * Cada frame es [int largo][byte tipo][carga], con largo = 1 + bytes de la
+ * carga, en orden big-endian. Las peleas entre particiones viajan en lotes:
+ * un frame ATTACKS o HITS lleva [int n] y n pares de enteros, asi que
+ * cientos de golpes cuestan una sola escritura en el socket.
+ *
+ * Entre nodos:  PEER(particion) al abrir el enlace, ATTACKS(atacante, daño)*,
+ *               HITS(atacante, ganancia)*.
+ * Coordinador -> nodo: TOPOLOGY(particion, n, puertos[n]), START, PAUSE,
+ *               RESUME, STATS_REQUEST, STOP. Cada orden tiene una sola respuesta:
+ *               READY, STARTED, PAUSED(ok, nanos), RESUMED, STATS(...), STATS(...).
+ */
+final class Protocol {
+  private Protocol() {}
+
+  static final byte PEER = 1;
+  static final byte ATTACKS = 2;
+  static final byte HITS = 3;
+  static final byte TOPOLOGY = 10;
+  static final byte READY = 11;
+  static final byte START = 12;
+  static final byte STARTED = 13;
+  static final byte PAUSE = 14;
+  static final byte PAUSED = 15;
+  static final byte RESUME = 16;
+  static final byte RESUMED = 17;
+  static final byte STATS_REQUEST = 18;
+  static final byte STATS = 19;
+  static final byte STOP = 20;
+
+  /* Limite de pares por frame de ATTACKS/HITS */
+  static final int MAX_BATCH = 4096;
+  /* Limite defensivo del largo de un frame */
+  static final int MAX_FRAME_BYTES = 1 << 20;
+
+  /* Reserva un frame con encabezado escrito; el llamador pone la carga y hace flip() */
+  static ByteBuffer frame(byte type, int payloadBytes) {
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + 1 + payloadBytes);
+    buffer.putInt(1 + payloadBytes).put(type);
+    return buffer;
+  }
+
+  static ByteBuffer empty(byte type) {
+    return frame(type, 0).flip();
+  }
+
+  static ByteBuffer peer(int partition) {
+    return frame(PEER, Integer.BYTES).putInt(partition).flip();
+  }
+
+  static ByteBuffer topology(int partition, int[] ports) {
+    ByteBuffer buffer = frame(TOPOLOGY, Integer.BYTES * (2 + ports.length)).putInt(partition).putInt(ports.length);
+    for (int port : ports)
+      buffer.putInt(port);
+    return buffer.flip();
+  }
+
+  static ByteBuffer paused(boolean quiesced, long quiesceNanos) {
+    return frame(PAUSED, 1 + Long.BYTES).put((byte) (quiesced ? 1 : 0)).putLong(quiesceNanos).flip();
+  }
+
+  static ByteBuffer stats(Coordinator.NodeStats s) {
+    return frame(STATS, 3 * Integer.BYTES + 4 * Long.BYTES).putInt(s.partition()).putLong(s.fights())
+        .putInt(s.alive()).putInt(s.roster()).putLong(s.totalHealth()).putLong(s.attacksSent())
+        .putLong(s.remoteHits()).flip();
+  }
+
+  static Coordinator.NodeStats readStats(ByteBuffer payload) {
+    return new Coordinator.NodeStats(payload.getInt(), payload.getLong(), payload.getInt(), payload.getInt(),
+        payload.getLong(), payload.getLong(), payload.getLong());
+  }
+
+  /*
+   * LOTE DE PARES (ATACANTE, VALOR) HACIA UN DESTINO
+   * - Varios productores agregan (synchronized, O(1) amortizado); el hilo de red lo vacia en frames
+   */
+  static final class PairBatch {
+    private int[] pairs = new int[256];
+    private int size;
+
+    synchronized void add(int id, int value) {
+      if (size + 2 > pairs.length)
+        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+      pairs[size++] = id;
+      pairs[size++] = value;
+    }
+
+    /* Descarta lo acumulado (enlace caido) */
+    synchronized void clear() {
+      size = 0;
+    }
+
+    /* Un frame con hasta MAX_BATCH pares (los primeros en llegar), o null si esta vacio */
+    synchronized ByteBuffer drain(byte type) {
+      if (size == 0)
+        return null;
+      int n = Math.min(size / 2, MAX_BATCH);
+      ByteBuffer buffer = frame(type, Integer.BYTES * (1 + 2 * n)).putInt(n);
+      for (int i = 0; i < 2 * n; i++)
+        buffer.putInt(pairs[i]);
+      size -= 2 * n;
+      System.arraycopy(pairs, 2 * n, pairs, 0, size);
+      return buffer.flip();
+    }
+  }
+}
@@ -4,39 +4,73 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
+import javax.swing.JTabbedPane;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
 
 import edu.eci.arsw.immortals.FightStrategy;
-import edu.eci.arsw.immortals.Immortal;
 import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.Leaderboard;
+import edu.eci.arsw.immortals.MetricsSampler;
 
 /**
  * GUI para controlar la simulacion de inmortales.
  * Permite iniciar, pausar, reanudar y detener la simulación,
  * así como configurar parámetros como el numero de inmortales,
  * salud inicial, daño y estrategia de combate.
- * 
+ *
  * Actualizado para mostrar el estado actual y la estrategia de combate.
  * También se ha mejorado la integración con ImmortalManager.
- * 
+ *
+ * La vista se refresca periodicamente desde un unico planificador: la foto
+ * de la poblacion se arma fuera del EDT y se muestra en un JTable virtual
+ * (solo se formatean las filas visibles), asi el trabajo en el EDT queda
+ * acotado sin importar el tamaño de la poblacion.
+ *
  * @author hcadavid
  */
 public final class ControlFrame extends JFrame {
 
-  private ImmortalManager manager;
-  private final JTextArea output = new JTextArea(14, 40);
+  private static final long REFRESH_PERIOD_MILLIS = 250;
+  private static final int HEATMAP_FPS = 20;
+  private static final int METRICS_CAPACITY = 1200;
+  private static final Duration PAUSE_TIMEOUT = Duration.ofSeconds(5);
+
+  private volatile ImmortalManager manager;
+  /* Manager recibido en el constructor: su configuracion se aplica a cada Start (null si no hubo) */
+  private final ImmortalManager settings;
+  private volatile MetricsSampler sampler;
+  private final ImmortalTableModel tableModel = new ImmortalTableModel();
+  private final JTable table = new JTable(tableModel);
+  private final HealthHeatmapPanel heatmap = new HealthHeatmapPanel(() -> manager, HEATMAP_FPS);
+  private final MetricsChartPanel charts = new MetricsChartPanel();
+  private final JTextArea leaders = new JTextArea(2 * Leaderboard.DEFAULT_K + 4, 40);
+  private final JButton exportCsvBtn = new JButton("Export CSV");
   private final JLabel statusLabel = new JLabel("Status: Stopped");
+  private final JLabel summaryLabel = new JLabel(" ");
+  private final JCheckBox sortByHealth = new JCheckBox("Sort by health");
   private final JButton startBtn = new JButton("Start");
   private final JButton pauseAndCheckBtn = new JButton("Pause & Check");
   private final JButton resumeBtn = new JButton("Resume");
@@ -45,48 +79,26 @@ public final class ControlFrame extends JFrame {
   private final JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(8, 2, 100000, 1));
   private final JSpinner healthSpinner = new JSpinner(new SpinnerNumberModel(100, 10, 10000, 10));
   private final JSpinner damageSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1000, 1));
-  private final JComboBox<String> fightMode = new JComboBox<>(new String[] { "ordered", "naive" });
+  private final JComboBox<String> fightMode = new JComboBox<>(new String[] { "ordered", "naive", "adaptive", "combining", "actor" });
 
-  public ControlFrame(int count, String fight) {
-    setTitle("Highlander Simulator — ARSW");
-    setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-    setLayout(new BorderLayout(8, 8));
+  private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "control-frame-refresher");
+    t.setDaemon(true);
+    return t;
+  });
+  private final AtomicBoolean refreshQueued = new AtomicBoolean();
+  private final AtomicReference<View> pendingView = new AtomicReference<>();
+  private volatile boolean sortRowsByHealth = false;
 
-    JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
-    top.add(new JLabel("Count:"));
+  /* Lo que el EDT necesita para pintar un refresco */
+  private record View(String status, ImmortalTableModel.Snapshot snapshot, long battles,
+      MetricsSampler.Series series, String leaders) {}
+
+  public ControlFrame(int count, String fight) {
     countSpinner.setValue(count);
-    top.add(countSpinner);
-    top.add(new JLabel("Health:"));
-    top.add(healthSpinner);
-    top.add(new JLabel("Damage:"));
-    top.add(damageSpinner);
-    top.add(new JLabel("Fight:"));
     fightMode.setSelectedItem(fight);
-    top.add(fightMode);
-    add(top, BorderLayout.NORTH);
-
-    output.setEditable(false);
-    output.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-
-    JPanel centerPanel = new JPanel(new BorderLayout());
-    centerPanel.add(statusLabel, BorderLayout.NORTH);
-    centerPanel.add(new JScrollPane(output), BorderLayout.CENTER);
-    add(centerPanel, BorderLayout.CENTER);
-
-    JPanel bottom = new JPanel(new FlowLayout(FlowLayout.CENTER));
-    bottom.add(startBtn);
-    bottom.add(pauseAndCheckBtn);
-    bottom.add(resumeBtn);
-    bottom.add(stopBtn);
-    add(bottom, BorderLayout.SOUTH);
-
-    startBtn.addActionListener(this::onStart);
-    pauseAndCheckBtn.addActionListener(this::onPauseAndCheck);
-    resumeBtn.addActionListener(this::onResume);
-    stopBtn.addActionListener(this::onStop);
-
-    pack();
-    setLocationByPlatform(true);
+    this.settings = null;
+    buildLayout();
   }
 
   /*
@@ -97,31 +109,52 @@ public final class ControlFrame extends JFrame {
    */
   public ControlFrame(ImmortalManager manager) {
     this.manager = manager;
+    this.settings = manager;
+    this.sampler = new MetricsSampler(manager, METRICS_CAPACITY).start();
+    countSpinner.setValue(manager.populationSnapshot().size());
+    healthSpinner.setValue(manager.getInitialHealth());
+    damageSpinner.setValue(manager.getDamage());
+    fightMode.setSelectedItem(fightModeName(manager.getFightStrategy()));
+    buildLayout();
+  }
+
+  private void buildLayout() {
     setTitle("Highlander Simulator — ARSW");
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     setLayout(new BorderLayout(8, 8));
 
     JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
     top.add(new JLabel("Count:"));
-    countSpinner.setValue(manager.populationSnapshot().size());
     top.add(countSpinner);
     top.add(new JLabel("Health:"));
-    healthSpinner.setValue(manager.getInitialHealth());
     top.add(healthSpinner);
     top.add(new JLabel("Damage:"));
-    damageSpinner.setValue(manager.getDamage());
     top.add(damageSpinner);
     top.add(new JLabel("Fight:"));
-    fightMode.setSelectedItem(manager.getFightStrategy() == FightStrategy.NAIVE ? "naive" : "ordered");
     top.add(fightMode);
+    top.add(sortByHealth);
     add(top, BorderLayout.NORTH);
 
-    output.setEditable(false);
-    output.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    table.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    table.setFillsViewportHeight(true);
+    table.getTableHeader().setReorderingAllowed(false);
 
     JPanel centerPanel = new JPanel(new BorderLayout());
     centerPanel.add(statusLabel, BorderLayout.NORTH);
-    centerPanel.add(new JScrollPane(output), BorderLayout.CENTER);
+    JTabbedPane views = new JTabbedPane();
+    views.addTab("Table", new JScrollPane(table));
+    views.addTab("Heatmap", heatmap);
+    JPanel chartsTab = new JPanel(new BorderLayout());
+    chartsTab.add(charts, BorderLayout.CENTER);
+    JPanel chartsActions = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+    chartsActions.add(exportCsvBtn);
+    chartsTab.add(chartsActions, BorderLayout.SOUTH);
+    views.addTab("Charts", chartsTab);
+    leaders.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    leaders.setEditable(false);
+    views.addTab("Leaders", new JScrollPane(leaders));
+    centerPanel.add(views, BorderLayout.CENTER);
+    centerPanel.add(summaryLabel, BorderLayout.SOUTH);
     add(centerPanel, BorderLayout.CENTER);
 
     JPanel bottom = new JPanel(new FlowLayout(FlowLayout.CENTER));
@@ -135,53 +168,109 @@ public final class ControlFrame extends JFrame {
     pauseAndCheckBtn.addActionListener(this::onPauseAndCheck);
     resumeBtn.addActionListener(this::onResume);
     stopBtn.addActionListener(this::onStop);
+    exportCsvBtn.addActionListener(this::onExportCsv);
+    sortByHealth.addActionListener(e -> {
+      sortRowsByHealth = sortByHealth.isSelected();
+      updateDisplay();
+    });
+
+    addWindowListener(new WindowAdapter() {
+      @Override
+      public void windowClosed(WindowEvent e) {
+        refresher.shutdownNow();
+        heatmap.shutdown();
+        MetricsSampler current = sampler;
+        if (current != null)
+          current.close();
+      }
+    });
+    refresher.scheduleWithFixedDelay(this::refresh, REFRESH_PERIOD_MILLIS, REFRESH_PERIOD_MILLIS,
+        TimeUnit.MILLISECONDS);
 
     pack();
     setLocationByPlatform(true);
-
   }
 
   /*
-   * NUEVO METODO PARA ACTUALIZAR DISPLAY
-   * - Muestra el estado actual (Running/Stopped)
-   * - Muestra la estrategia de combate actual
-   * - Muestra el total de batallas
-   * - Muestra la salud y estado de cada inmortal
-   * - Muestra la salud total y conteo de vivos
+   * METODO PARA SOLICITAR UN REFRESCO INMEDIATO
+   * - Las solicitudes se fusionan: si ya hay uno en cola no se encola otro
    */
   private void updateDisplay() {
-    if (manager == null)
+    if (refreshQueued.compareAndSet(false, true)) {
+      refresher.execute(this::refresh);
+    }
+  }
+
+  /*
+   * METODO DE REFRESCO (HILO DEL PLANIFICADOR)
+   * - Arma la foto de la poblacion y el texto de estado fuera del EDT
+   * - Solo publica un invokeLater si el anterior ya fue consumido
+   */
+  private void refresh() {
+    refreshQueued.set(false);
+    ImmortalManager current = manager;
+    if (current == null)
       return;
+    publish(buildView(current, current.isRunning() ? "Running" : "Stopped"));
+  }
 
-    new Thread(() -> {
-      StringBuilder status = new StringBuilder();
-      status.append("Status: ").append(manager.isRunning() ? "Running" : "Stopped");
-      status.append(" | Strategy: ").append(manager.getFightStrategy());
-      status.append(" | Battles: ").append(manager.scoreBoard().totalFights());
-
-      List<Immortal> pop = manager.populationSnapshot();
-      StringBuilder sb = new StringBuilder();
-      long sum = 0;
-      for (Immortal im : pop) {
-        int h = im.getHealth();
-        sum += h;
-        sb.append(String.format("%-14s : %5d%n", im.name(), h));
-      }
-      sb.append("--------------------------------\n");
-      sb.append("Total Health: ").append(sum).append('\n');
-      sb.append("Alive Count: ").append(manager.aliveCount()).append('\n');
-
-      SwingUtilities.invokeLater(() -> {
-        statusLabel.setText(status.toString());
-        output.setText(sb.toString());
-      });
-    }).start();
+  private View buildView(ImmortalManager current, String state) {
+    var snapshot = ImmortalTableModel.Snapshot.of(current.populationSnapshot(), sortRowsByHealth);
+    long battles = current.scoreBoard().totalFights();
+    String strategy = current.getFightStrategy().toString();
+    if (current.adaptiveController() != null) {
+      strategy += " (" + current.adaptiveController().mode() + ", switches: "
+          + current.scoreBoard().adaptiveSwitches() + ")";
+    }
+    String status = "Status: " + state + " | Strategy: " + strategy + " | Battles: " + battles;
+    long quiesce = current.lastQuiesceNanos();
+    if (current.controller().paused())
+      status += quiesce < 0 ? " | Pausing..." : String.format(" | Quiesced in %.1f ms", quiesce / 1e6);
+    MetricsSampler currentSampler = sampler;
+    return new View(status, snapshot, battles, currentSampler == null ? null : currentSampler.snapshot(),
+        leadersText(current));
+  }
+
+  /* Top-K de muertes y de daño: O(K) por refresco, sin importar el tamaño de la poblacion */
+  private static String leadersText(ImmortalManager current) {
+    StringBuilder sb = new StringBuilder();
+    appendLeaders(sb, "Kills", current.scoreBoard().killLeaders().top());
+    sb.append('\n');
+    appendLeaders(sb, "Damage dealt", current.scoreBoard().damageLeaders().top());
+    return sb.toString();
+  }
+
+  private static void appendLeaders(StringBuilder sb, String title, List<Leaderboard.Entry> top) {
+    sb.append(title).append('\n');
+    for (int i = 0; i < top.size(); i++) {
+      Leaderboard.Entry e = top.get(i);
+      sb.append(String.format("%3d. %-20s %12d%n", i + 1, e.name(), e.score()));
+    }
+  }
+
+  private void publish(View view) {
+    if (pendingView.getAndSet(view) == null) {
+      SwingUtilities.invokeLater(this::applyPendingView);
+    }
+  }
+
+  private void applyPendingView() {
+    View view = pendingView.getAndSet(null);
+    if (view == null)
+      return;
+    statusLabel.setText(view.status());
+    tableModel.apply(view.snapshot());
+    if (view.series() != null)
+      charts.setSeries(view.series());
+    leaders.setText(view.leaders());
+    summaryLabel.setText(String.format("Alive: %d | Total Health: %d | Battles: %d | Rows: %d",
+        view.snapshot().alive(), view.snapshot().totalHealth(), view.battles(), view.snapshot().rows().length));
   }
 
   /*
    * NUEVO METODO PARA INICIAR SIMULACION
    * - Detiene cualquier simulacion en curso
-   * - Lee parametros desde los spinners y combo
+   * - Lee parametros desde los spinners y combo; el resto de la configuracion viene de newManager
    */
   private void onStart(ActionEvent e) {
     safeStop();
@@ -195,32 +284,55 @@ public final class ControlFrame extends JFrame {
     System.out.println("Starting simulation with: count=" + n + ", health=" + health +
         ", damage=" + damage + ", strategy=" + strategy);
 
-    manager = new ImmortalManager(n, health, damage, strategy);
+    ImmortalManager next = newManager(settings, n, health, damage, strategy);
+    manager = next;
+    sampler = new MetricsSampler(next, METRICS_CAPACITY).start();
 
     new Thread(() -> {
-      manager.start();
-      SwingUtilities.invokeLater(this::updateDisplay);
+      next.start();
+      updateDisplay();
     }).start();
 
-    output.setText(String.format("Simulation started with %d immortals (health=%d, damage=%d, fight=%s)%n",
+    statusLabel.setText(String.format("Simulation started with %d immortals (health=%d, damage=%d, fight=%s)",
         n, health, damage, strategy));
   }
 
+  /*
+   * METODO PARA CREAR EL MANAGER DE UN START
+   * - Poblacion y estrategia vienen del formulario; lo demas (arena, targeting, backend, ritmo, equipos,
+   *   reaparicion) se copia del manager con que se abrio la ventana, si lo hay
+   */
+  static ImmortalManager newManager(ImmortalManager settings, int n, int health, int damage, FightStrategy strategy) {
+    ImmortalManager next = new ImmortalManager(n, health, damage, strategy);
+    if (settings != null)
+      next.copySettingsFrom(settings);
+    return next;
+  }
+
   private static FightStrategy parseFightStrategy(String strategy) {
     return switch (strategy.toLowerCase()) {
       case "naive" -> FightStrategy.NAIVE;
       case "ordered" -> FightStrategy.ORDERED;
+      case "adaptive" -> FightStrategy.ADAPTIVE;
+      case "combining" -> FightStrategy.FLAT_COMBINING;
+      case "actor" -> FightStrategy.ACTOR;
       default -> FightStrategy.ORDERED;
     };
   }
 
+  private static String fightModeName(FightStrategy strategy) {
+    return strategy == FightStrategy.FLAT_COMBINING ? "combining" : strategy.name().toLowerCase();
+  }
+
   private void onPauseAndCheck(ActionEvent e) {
-    if (manager == null)
+    ImmortalManager current = manager;
+    if (current == null)
       return;
     new Thread(() -> {
       try {
-        manager.pause();
-        SwingUtilities.invokeLater(this::updateDisplay);
+        if (!current.pause(PAUSE_TIMEOUT))
+          System.err.println("Not every immortal paused within " + PAUSE_TIMEOUT.toMillis() + " ms");
+        updateDisplay();
       } catch (InterruptedException ex) {
         ex.printStackTrace();
       }
@@ -228,51 +340,76 @@ public final class ControlFrame extends JFrame {
   }
 
   private void onResume(ActionEvent e) {
-    if (manager == null)
+    ImmortalManager current = manager;
+    if (current == null)
       return;
-    manager.resume();
+    current.resume();
     updateDisplay();
   }
 
+  /*
+   * METODO PARA DETENER
+   * - Pausa (con plazo: si vence, la foto final puede no ser exacta), toma la foto final y detiene el manager
+   */
   private void onStop(ActionEvent e) {
-    if (manager == null)
+    ImmortalManager current = manager;
+    if (current == null)
       return;
 
     new Thread(() -> {
       try {
-        manager.pause();
+        current.pause(PAUSE_TIMEOUT);
       } catch (InterruptedException ex) {
         Thread.currentThread().interrupt();
       }
 
-      List<Immortal> pop = manager.populationSnapshot();
-      StringBuilder sb = new StringBuilder("=== FINAL STATE ===\n");
-      long sum = 0;
-      for (Immortal im : pop) {
-        int h = im.getHealth();
-        sum += h;
-        sb.append(String.format("%-14s : %5d%n", im.name(), h));
-      }
-      sb.append("--------------------------------\n");
-      sb.append("Total Health: ").append(sum).append('\n');
-      sb.append("Alive Count: ").append(manager.aliveCount()).append('\n');
-      sb.append("Battles: ").append(manager.scoreBoard().totalFights()).append('\n');
-
-      manager.stop();
-
-      SwingUtilities.invokeLater(() -> {
-        output.setText(sb.toString());
-        statusLabel.setText("Status: Stopped — Please start a new game");
+      View finalView = buildView(current, "Stopped — Please start a new game");
+      if (manager == current)
         manager = null;
-      });
+      current.close();
+      MetricsSampler currentSampler = sampler;
+      if (currentSampler != null)
+        currentSampler.close();
+      // Por el mismo planificador: ningun refresco en vuelo puede pisar la foto final
+      refresher.execute(() -> publish(finalView));
+    }).start();
+  }
+
+  /*
+   * METODO PARA EXPORTAR LAS SERIES A CSV
+   * - Exporta lo muestreado por la ultima simulacion (aunque ya este detenida)
+   * - Junto al archivo elegido escribe <nombre>-leaders.csv con el top-K de muertes y de daño
+   */
+  private void onExportCsv(ActionEvent e) {
+    MetricsSampler current = sampler;
+    if (current == null)
+      return;
+    JFileChooser chooser = new JFileChooser();
+    if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+      return;
+    var target = chooser.getSelectedFile().toPath();
+    new Thread(() -> {
+      try {
+        current.exportCsv(target);
+        String name = target.getFileName().toString().replaceFirst("\\.csv$", "");
+        var leadersTarget = target.resolveSibling(name + "-leaders.csv");
+        current.exportLeadersCsv(leadersTarget);
+        System.out.println("Metrics exported to " + target + " and " + leadersTarget);
+      } catch (IOException ex) {
+        ex.printStackTrace();
+      }
     }).start();
   }
 
   private void safeStop() {
-    if (manager != null) {
+    ImmortalManager current = manager;
+    if (current != null) {
       System.out.println("Stopping previous simulation...");
-      manager.stop();
+      current.close();
       manager = null;
+      MetricsSampler currentSampler = sampler;
+      if (currentSampler != null)
+        currentSampler.close();
       try {
         Thread.sleep(100);
       } catch (InterruptedException e) {
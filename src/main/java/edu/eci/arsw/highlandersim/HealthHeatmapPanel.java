@@ -0,0 +1,151 @@
+package edu.eci.arsw.highlandersim;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import javax.swing.JPanel;
+
+import edu.eci.arsw.immortals.ImmortalManager;
+
+/**
+ * Mapa de calor de la salud de todos los inmortales: un pixel por inmortal
+ * (posicion = id), negro si esta muerto y de rojo a verde segun su salud.
+ *
+ * Un hilo de render lee la salud a un int[] primitivo y pinta directamente
+ * sobre el arreglo de pixeles de un BufferedImage, a tasa fija. Se usan tres
+ * buffers (render, listo, mostrado) intercambiados con referencias atomicas:
+ * si el EDT va atrasado se descartan cuadros en vez de bloquear. El int[] y
+ * las imagenes se dimensionan por una capacidad que crece duplicando (y se
+ * encoge solo al caer a la cuarta parte), con el largo logico aparte: el
+ * camino de render no reserva memoria mientras el roster crece de a poco.
+ */
+final class HealthHeatmapPanel extends JPanel {
+
+  private static final int PALETTE_SIZE = 256;
+  private static final int DEAD_RGB = 0x000000;
+  private static final int MIN_CAPACITY = 64;
+
+  private final Supplier<ImmortalManager> managerSource;
+  private final int[] palette = buildPalette();
+  private final ScheduledExecutorService renderer;
+
+  /* Estado del hilo de render */
+  private int[] health = new int[0];
+  private BufferedImage back;
+
+  /* Intercambio entre el hilo de render y el EDT */
+  private final AtomicReference<BufferedImage> ready = new AtomicReference<>();
+  private final AtomicReference<BufferedImage> free = new AtomicReference<>();
+
+  /* Estado del EDT */
+  private BufferedImage displayed;
+
+  HealthHeatmapPanel(Supplier<ImmortalManager> managerSource, int framesPerSecond) {
+    this.managerSource = managerSource;
+    setBackground(Color.DARK_GRAY);
+    setPreferredSize(new Dimension(320, 320));
+    renderer = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "heatmap-renderer");
+      t.setDaemon(true);
+      return t;
+    });
+    long period = Math.max(1, 1000L / framesPerSecond);
+    renderer.scheduleAtFixedRate(this::renderFrame, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  void shutdown() {
+    renderer.shutdownNow();
+  }
+
+  /*
+   * METODO DE RENDER (HILO PROPIO, NUNCA EL EDT)
+   * - Copia la salud al int[] y la traduce a pixeles con la paleta precalculada
+   * - Si no hay buffer libre (el EDT no ha consumido el anterior) se salta el cuadro
+   */
+  private void renderFrame() {
+    ImmortalManager manager = managerSource.get();
+    if (manager == null || !isShowing())
+      return;
+
+    int n = manager.rosterSize();
+    if (n == 0)
+      return;
+    int capacity = capacityFor(n, health.length);
+    if (health.length != capacity) {
+      health = new int[capacity];
+      back = null;
+      free.set(null);
+    }
+    int side = (int) Math.ceil(Math.sqrt(capacity));
+    if (back == null || back.getWidth() != side) {
+      BufferedImage recycled = free.getAndSet(null);
+      back = recycled != null && recycled.getWidth() == side ? recycled
+          : new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+    }
+
+    int filled = manager.healthSnapshot(health);
+    int max = 1;
+    for (int i = 0; i < filled; i++)
+      if (health[i] > max)
+        max = health[i];
+
+    int[] pixels = ((DataBufferInt) back.getRaster().getDataBuffer()).getData();
+    for (int i = 0; i < filled; i++) {
+      int h = health[i];
+      pixels[i] = h <= 0 ? DEAD_RGB : palette[(int) ((long) h * (PALETTE_SIZE - 1) / max)];
+    }
+    for (int i = filled; i < pixels.length; i++)
+      pixels[i] = DEAD_RGB;
+
+    BufferedImage stale = ready.getAndSet(back);
+    back = stale != null ? stale : free.getAndSet(null);
+    repaint();
+  }
+
+  /*
+   * CAPACIDAD DE LOS BUFFERS PARA n INMORTALES
+   * - Se conserva la actual mientras n quepa y no haya caido a la cuarta parte
+   * - Si no, la siguiente potencia de dos >= n (al menos MIN_CAPACITY)
+   */
+  static int capacityFor(int n, int current) {
+    if (n <= current && (current <= MIN_CAPACITY || n > current / 4))
+      return current;
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, n - 1)) << 1);
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    BufferedImage next = ready.getAndSet(null);
+    if (next != null) {
+      if (displayed != null)
+        free.set(displayed);
+      displayed = next;
+    }
+    if (displayed == null)
+      return;
+    Graphics2D g2 = (Graphics2D) g;
+    g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    int size = Math.min(getWidth(), getHeight());
+    g2.drawImage(displayed, (getWidth() - size) / 2, (getHeight() - size) / 2, size, size, null);
+  }
+
+  private static int[] buildPalette() {
+    int[] p = new int[PALETTE_SIZE];
+    for (int i = 0; i < PALETTE_SIZE; i++) {
+      float t = i / (float) (PALETTE_SIZE - 1);
+      p[i] = Color.HSBtoRGB(t / 3f, 0.9f, 0.35f + 0.65f * t) & 0xFFFFFF;
+    }
+    return p;
+  }
+}
@@ -0,0 +1,100 @@
+package edu.eci.arsw.highlandersim;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import edu.eci.arsw.immortals.Immortal;
+
+/**
+ * Modelo de tabla respaldado por una foto (snapshot) de la poblacion.
+ * La foto se arma fuera del EDT; el JTable solo pide (y formatea) las
+ * filas visibles, de modo que el costo en el EDT no depende del tamaño
+ * de la poblacion.
+ */
+final class ImmortalTableModel extends AbstractTableModel {
+
+  private static final String[] COLUMNS = { "Immortal", "Health" };
+
+  /*
+   * FOTO INMUTABLE DE LA POBLACION
+   * - rows y health van alineados por posicion (ya ordenados si se pidio)
+   */
+  record Snapshot(Immortal[] rows, int[] health, long totalHealth, int alive) {
+    static final Snapshot EMPTY = new Snapshot(new Immortal[0], new int[0], 0, 0);
+
+    /*
+     * METODO PARA CONSTRUIR LA FOTO (FUERA DEL EDT)
+     * - Lee cada salud una sola vez
+     * - Si sortByHealth, ordena por salud descendente empaquetando (salud, indice) en un long[]
+     */
+    static Snapshot of(List<Immortal> population, boolean sortByHealth) {
+      int n = population.size();
+      Immortal[] rows = population.toArray(new Immortal[n]);
+      int[] health = new int[n];
+      long total = 0;
+      int alive = 0;
+      for (int i = 0; i < n; i++) {
+        int h = rows[i].getHealth();
+        health[i] = h;
+        total += h;
+        if (h > 0)
+          alive++;
+      }
+      if (sortByHealth && n > 1) {
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+          keys[i] = ((long) (Integer.MAX_VALUE - health[i]) << 32) | i;
+        Arrays.sort(keys);
+        Immortal[] sortedRows = new Immortal[n];
+        int[] sortedHealth = new int[n];
+        for (int i = 0; i < n; i++) {
+          int idx = (int) keys[i];
+          sortedRows[i] = rows[idx];
+          sortedHealth[i] = health[idx];
+        }
+        rows = sortedRows;
+        health = sortedHealth;
+      }
+      return new Snapshot(rows, health, total, alive);
+    }
+  }
+
+  private Snapshot snapshot = Snapshot.EMPTY;
+
+  /* Debe invocarse en el EDT */
+  void apply(Snapshot next) {
+    this.snapshot = next;
+    fireTableDataChanged();
+  }
+
+  Snapshot snapshot() {
+    return snapshot;
+  }
+
+  @Override
+  public int getRowCount() {
+    return snapshot.rows().length;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return COLUMNS.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return COLUMNS[column];
+  }
+
+  @Override
+  public Class<?> getColumnClass(int column) {
+    return column == 0 ? String.class : Integer.class;
+  }
+
+  @Override
+  public Object getValueAt(int row, int column) {
+    return column == 0 ? snapshot.rows()[row].name() : snapshot.health()[row];
+  }
+}
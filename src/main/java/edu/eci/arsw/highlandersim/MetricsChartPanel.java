@@ -0,0 +1,90 @@
+package edu.eci.arsw.highlandersim;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.JPanel;
+
+import edu.eci.arsw.immortals.MetricsSampler;
+
+/**
+ * Graficas de series de tiempo (peleas/s, vivos, p99 de espera por locks,
+ * hilos pausados), una franja por serie, con escala automatica.
+ * Solo pinta la ultima foto recibida; no hace calculo pesado en el EDT.
+ */
+final class MetricsChartPanel extends JPanel {
+
+  private static final String[] TITLES = { "fights/s", "alive", "lock-wait p99 (us)", "paused threads" };
+  private static final Color[] COLORS = { new Color(0x2E7D32), new Color(0x1565C0), new Color(0xC62828),
+      new Color(0x6A1B9A) };
+
+  private MetricsSampler.Series series;
+
+  MetricsChartPanel() {
+    setBackground(Color.WHITE);
+    setPreferredSize(new Dimension(480, 320));
+  }
+
+  /* Debe invocarse en el EDT */
+  void setSeries(MetricsSampler.Series series) {
+    this.series = series;
+    repaint();
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    MetricsSampler.Series s = series;
+    if (s == null || s.size() == 0)
+      return;
+
+    Graphics2D g2 = (Graphics2D) g;
+    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    g2.setFont(getFont().deriveFont(Font.PLAIN, 11f));
+    int strip = getHeight() / TITLES.length;
+    for (int k = 0; k < TITLES.length; k++) {
+      drawStrip(g2, k, k * strip, strip, s);
+    }
+  }
+
+  private void drawStrip(Graphics2D g2, int k, int top, int height, MetricsSampler.Series s) {
+    int n = s.size();
+    double max = 1;
+    for (int i = 0; i < n; i++)
+      max = Math.max(max, value(s, k, i));
+
+    int left = 4;
+    int width = getWidth() - 2 * left;
+    int plotTop = top + 14;
+    int plotHeight = height - 18;
+
+    g2.setColor(Color.LIGHT_GRAY);
+    g2.drawRect(left, plotTop, width, plotHeight);
+    g2.setColor(COLORS[k]);
+    g2.drawString(String.format("%s  last=%.1f  max=%.1f", TITLES[k], value(s, k, n - 1), max), left, top + 11);
+
+    int prevX = -1;
+    int prevY = -1;
+    for (int i = 0; i < n; i++) {
+      int x = left + (n == 1 ? width : (int) ((long) i * width / (n - 1)));
+      int y = plotTop + plotHeight - (int) (value(s, k, i) / max * plotHeight);
+      if (prevX >= 0)
+        g2.drawLine(prevX, prevY, x, y);
+      prevX = x;
+      prevY = y;
+    }
+  }
+
+  private static double value(MetricsSampler.Series s, int k, int i) {
+    return switch (k) {
+      case 0 -> s.fightsPerSecond()[i];
+      case 1 -> s.alive()[i];
+      case 2 -> s.lockWaitP99Micros()[i];
+      default -> s.pausedThreads()[i];
+    };
+  }
+}
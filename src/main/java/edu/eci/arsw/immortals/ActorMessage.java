@@ -0,0 +1,15 @@
+package edu.eci.arsw.immortals;
+
+/*
+ * MENSAJES DEL MODO ACTOR
+ *    - ATTACK: el emisor ataca al dueño del buzon con 'amount' de daño
+ *    - HIT: la victima confirma el golpe; el atacante suma 'amount' a su salud
+ *    - KILLED: la victima murio por el golpe del destinatario
+ */
+record ActorMessage(Kind kind, Immortal sender, int amount) {
+  enum Kind {
+    ATTACK,
+    HIT,
+    KILLED
+  }
+}
@@ -0,0 +1,128 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controlador de la estrategia ADAPTIVE. Observa en linea cuantas peleas
+ * fueron "disputadas" (espera larga por el lock, tryLock fallido o CAS
+ * reintentado) y cambia el modo de bloqueo global:
+ *
+ * BLOCKING (lock ordenado) -> TRY_LOCK (tryLock + backoff) -> LOCK_FREE (CAS)
+ *
+ * Escala cuando la proporcion de peleas disputadas en la ventana supera
+ * escalateRatio y retrocede cuando baja de relaxRatio. Un tiempo minimo de
+ * permanencia por modo evita oscilaciones. Cada cambio queda registrado
+ * (ScoreBoard.adaptiveSwitches() y switchLog()).
+ */
+public final class AdaptiveController {
+
+  public enum Mode {
+    BLOCKING,
+    TRY_LOCK,
+    LOCK_FREE
+  }
+
+  public record SwitchEvent(long atMillis, Mode from, Mode to, double contendedRatio, long fights) {}
+
+  static final long CONTENDED_WAIT_NANOS = 10_000;
+  private static final long WINDOW_NANOS = 50_000_000;
+  private static final long MIN_DWELL_NANOS = 200_000_000;
+  private static final long MIN_SAMPLES = 64;
+  private static final int MAX_LOG = 256;
+
+  private final ScoreBoard scoreBoard;
+  private final double escalateRatio;
+  private final double relaxRatio;
+  private final long windowNanos;
+  private final long minDwellNanos;
+
+  private volatile Mode mode = Mode.BLOCKING;
+  private volatile boolean pinned;
+  private final LongAdder fights = new LongAdder();
+  private final LongAdder contended = new LongAdder();
+  private volatile long lastEvaluation = System.nanoTime();
+  private long lastSwitch = System.nanoTime();
+  private final ReentrantLock evaluation = new ReentrantLock();
+  private final List<SwitchEvent> log = new ArrayList<>();
+  private final long startNanos = System.nanoTime();
+
+  AdaptiveController(ScoreBoard scoreBoard) {
+    this(scoreBoard, 0.30, 0.05, WINDOW_NANOS, MIN_DWELL_NANOS);
+  }
+
+  AdaptiveController(ScoreBoard scoreBoard, double escalateRatio, double relaxRatio, long windowNanos,
+      long minDwellNanos) {
+    this.scoreBoard = scoreBoard;
+    this.escalateRatio = escalateRatio;
+    this.relaxRatio = relaxRatio;
+    this.windowNanos = windowNanos;
+    this.minDwellNanos = minDwellNanos;
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  /* Fija un modo y deja de evaluar (pruebas de un modo concreto, p. ej. LOCK_FREE con WEAKEST) */
+  void pin(Mode mode) {
+    this.pinned = true;
+    this.mode = mode;
+  }
+
+  /*
+   * METODO INVOCADO POR CADA PELEA (CAMINO CALIENTE)
+   * - Contadores LongAdder: sin un contador compartido que se vuelva el cuello de botella
+   * - Al cerrar una ventana, un solo hilo (tryLock) evalua el cambio de modo
+   */
+  void recordFight(boolean wasContended) {
+    fights.increment();
+    if (wasContended)
+      contended.increment();
+    long now = System.nanoTime();
+    if (!pinned && now - lastEvaluation >= windowNanos && evaluation.tryLock()) {
+      try {
+        evaluate(now);
+      } finally {
+        evaluation.unlock();
+      }
+    }
+  }
+
+  private void evaluate(long now) {
+    if (now - lastEvaluation < windowNanos)
+      return;
+    lastEvaluation = now;
+    long f = fights.sumThenReset();
+    long c = contended.sumThenReset();
+    if (f < MIN_SAMPLES || now - lastSwitch < minDwellNanos)
+      return;
+
+    double ratio = c / (double) f;
+    Mode current = mode;
+    Mode next = current;
+    if (ratio > escalateRatio && current != Mode.LOCK_FREE)
+      next = Mode.values()[current.ordinal() + 1];
+    else if (ratio < relaxRatio && current != Mode.BLOCKING)
+      next = Mode.values()[current.ordinal() - 1];
+    if (next == current)
+      return;
+
+    mode = next;
+    lastSwitch = now;
+    scoreBoard.recordAdaptiveSwitch();
+    synchronized (log) {
+      if (log.size() == MAX_LOG)
+        log.remove(0);
+      log.add(new SwitchEvent((now - startNanos) / 1_000_000, current, next, ratio, f));
+    }
+  }
+
+  public List<SwitchEvent> switchLog() {
+    synchronized (log) {
+      return List.copyOf(log);
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package edu.eci.arsw.immortals;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Arena 2D (politica ARENA): una grilla uniforme de side x side celdas con
+ * bordes envolventes. Cada inmortal vivo ocupa una celda, se mueve a una
+ * celda vecina de vez en cuando y solo elige oponentes de su celda o de las
+ * 8 vecinas.
+ *
+ * Las celdas son tambien el dominio de locks: una pelea toma los locks de
+ * las celdas de ambos inmortales (en orden de indice) en vez de los locks
+ * por inmortal, asi las peleas en celdas lejanas nunca compiten. Moverse
+ * exige los locks de la celda de origen y de destino, de modo que con la
+ * celda tomada nadie entra ni sale de ella.
+ *
+ * La lista de miembros de cada celda es copy-on-write: pick() la lee sin
+ * locks.
+ */
+final class Arena implements Targeter {
+
+  private static final Immortal[] EMPTY = new Immortal[0];
+  private static final int MOVE_ONE_IN = 4;
+  /* Vecindario 3x3: el desplazamiento 0 es la celda misma */
+  private static final int[] DX = { 0, -1, 0, 1, -1, 1, -1, 0, 1 };
+  private static final int[] DY = { 0, -1, -1, -1, 0, 0, 1, 1, 1 };
+
+  private static final class Cell {
+    final ReentrantLock lock = new ReentrantLock();
+    volatile Immortal[] members = EMPTY;
+  }
+
+  private final int side;
+  private final Cell[] cells;
+  private final Uniform fallback;
+
+  Arena(int side, Uniform fallback) {
+    if (side <= 0)
+      throw new IllegalArgumentException("side must be positive");
+    this.side = side;
+    this.cells = new Cell[side * side];
+    for (int i = 0; i < cells.length; i++)
+      cells[i] = new Cell();
+    this.fallback = fallback;
+  }
+
+  /* Unas 4 inmortales por celda */
+  static int defaultSide(int population) {
+    return Math.max(1, (int) Math.sqrt(population / 4.0));
+  }
+
+  int side() {
+    return side;
+  }
+
+  @Override
+  public void register(Immortal immortal) {
+    if (immortal.getHealth() <= 0)
+      return;
+    int c = ThreadLocalRandom.current().nextInt(cells.length);
+    Cell cell = cells[c];
+    cell.lock.lock();
+    try {
+      add(cell, immortal);
+      immortal.setCell(c);
+    } finally {
+      cell.lock.unlock();
+    }
+  }
+
+  @Override
+  public void healthChanged(Immortal immortal, int before, int after) {
+    if (after <= 0)
+      leave(immortal);
+  }
+
+  private void leave(Immortal immortal) {
+    int c = immortal.cell();
+    if (c < 0)
+      return;
+    Cell cell = cells[c];
+    cell.lock.lock();
+    try {
+      if (immortal.cell() == c) {
+        remove(cell, immortal);
+        immortal.setCell(-1);
+      }
+    } finally {
+      cell.lock.unlock();
+    }
+  }
+
+  /*
+   * METODO PARA ELEGIR UN VECINO
+   * - Unos sorteos sobre la celda propia y las 8 vecinas; si fallan, recorre las 9 celdas
+   * - null si no hay nadie cerca (el inmortal se movera para buscar)
+   */
+  @Override
+  public Immortal pick(Immortal self) {
+    int c = self.cell();
+    if (c < 0)
+      return fallback.pick(self);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < PROBES; i++) {
+      Immortal[] members = cells[neighbor(c, random.nextInt(9))].members;
+      if (members.length == 0)
+        continue;
+      Immortal candidate = members[random.nextInt(members.length)];
+      if (candidate != self && candidate.isImmortalAlive())
+        return candidate;
+    }
+    int start = random.nextInt(9);
+    for (int i = 0; i < 9; i++) {
+      for (Immortal candidate : cells[neighbor(c, (start + i) % 9)].members)
+        if (candidate != self && candidate.isImmortalAlive())
+          return candidate;
+    }
+    return null;
+  }
+
+  /*
+   * METODO PARA MOVER UN INMORTAL (SOLO DESDE SU PROPIO HILO)
+   * - Siempre si no encontro vecinos (busca pelea); si no, una vez de cada MOVE_ONE_IN
+   * - Retorna true si se movio
+   */
+  boolean maybeMove(Immortal immortal, boolean seeking) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int from = immortal.cell();
+    if (from < 0 || (!seeking && random.nextInt(MOVE_ONE_IN) != 0))
+      return false;
+    int to = neighbor(from, 1 + random.nextInt(8));
+    if (to == from)
+      return false;
+    Cell first = cells[Math.min(from, to)];
+    Cell second = cells[Math.max(from, to)];
+    first.lock.lock();
+    try {
+      second.lock.lock();
+      try {
+        if (immortal.cell() != from)
+          return false;
+        remove(cells[from], immortal);
+        add(cells[to], immortal);
+        immortal.setCell(to);
+        return true;
+      } finally {
+        second.lock.unlock();
+      }
+    } finally {
+      first.lock.unlock();
+    }
+  }
+
+  /*
+   * METODO PARA TOMAR LAS CELDAS DE UNA PELEA
+   * - ca y cb son las celdas leidas por el atacante; locks en orden de indice (uno solo si coinciden)
+   * - Tras tomarlos valida que ninguno se haya movido o muerto; si no, suelta y retorna false
+   * - Con las celdas tomadas nadie entra ni sale de ellas; unlockCells recibe las mismas ca y cb
+   * - Las esperas son puntos seguros: si se pide la pausa suelta lo tomado y retorna false
+   */
+  boolean lockCells(Immortal a, int ca, Immortal b, int cb, PauseController pause) throws InterruptedException {
+    if (ca < 0 || cb < 0)
+      return false;
+    ReentrantLock first = cells[Math.min(ca, cb)].lock;
+    if (!pause.lockUnlessPaused(first))
+      return false;
+    if (ca != cb) {
+      boolean locked = false;
+      try {
+        locked = pause.lockUnlessPaused(cells[Math.max(ca, cb)].lock);
+      } finally {
+        if (!locked)
+          first.unlock();
+      }
+      if (!locked)
+        return false;
+    }
+    if (a.cell() == ca && b.cell() == cb)
+      return true;
+    unlockCells(ca, cb);
+    return false;
+  }
+
+  /*
+   * METODO PARA TOMAR LA CELDA DE UN SOLO INMORTAL (GOLPES DE OTRA PARTICION)
+   * - Revalida tras tomar el lock por si se movio; -1 si no esta en la arena (muerto: no hay pelea que excluir)
+   * - Se toma antes que el fightLock del inmortal, igual que en una pelea de arena
+   */
+  int lockCellOf(Immortal immortal) {
+    while (true) {
+      int c = immortal.cell();
+      if (c < 0)
+        return -1;
+      ReentrantLock lock = cells[c].lock;
+      lock.lock();
+      if (immortal.cell() == c)
+        return c;
+      lock.unlock();
+    }
+  }
+
+  void unlockCell(int c) {
+    cells[c].lock.unlock();
+  }
+
+  void unlockCells(int ca, int cb) {
+    if (ca != cb)
+      cells[Math.max(ca, cb)].lock.unlock();
+    cells[Math.min(ca, cb)].lock.unlock();
+  }
+
+  /* Celda k-esima del vecindario 3x3 de c (k = 0 es c misma), con bordes envolventes */
+  private int neighbor(int c, int k) {
+    int nx = Math.floorMod(c % side + DX[k], side);
+    int ny = Math.floorMod(c / side + DY[k], side);
+    return ny * side + nx;
+  }
+
+  private static void add(Cell cell, Immortal immortal) {
+    Immortal[] old = cell.members;
+    Immortal[] next = Arrays.copyOf(old, old.length + 1);
+    next[old.length] = immortal;
+    cell.members = next;
+  }
+
+  private static void remove(Cell cell, Immortal immortal) {
+    Immortal[] old = cell.members;
+    for (int i = 0; i < old.length; i++) {
+      if (old[i] == immortal) {
+        Immortal[] next = new Immortal[old.length - 1];
+        System.arraycopy(old, 0, next, 0, i);
+        System.arraycopy(old, i + 1, next, i, old.length - i - 1);
+        cell.members = next;
+        return;
+      }
+    }
+  }
+}
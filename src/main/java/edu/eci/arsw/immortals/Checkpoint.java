@@ -0,0 +1,126 @@
+package edu.eci.arsw.immortals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formato binario de los checkpoints de ImmortalManager.
+ *
+ * Cabecera de HEADER_BYTES (magic, version, estrategia, politica de
+ * seleccion, salud inicial, daño, cantidad y contadores del ScoreBoard)
+ * seguida de dos columnas de int (salud y daño) y dos de long (muertes y
+ * daño hecho) por inmortal. El id es la posicion en las columnas (igual
+ * que en el Roster); los muertos quedan con salud 0. Los top-K del
+ * ScoreBoard no se guardan: se reconstruyen al leer desde las columnas de
+ * muertes y daño hecho.
+ *
+ * No hay semillas que guardar: los oponentes se sortean con
+ * ThreadLocalRandom, que no es reproducible. Los mensajes pendientes en
+ * los buzones del modo ACTOR tampoco se guardan.
+ */
+final class Checkpoint {
+  private Checkpoint() {}
+
+  static final int MAGIC = 0x494D4D43; // "IMMC"
+  static final int VERSION = 2;
+  static final int HEADER_BYTES = 64;
+  /* Bytes por inmortal: salud y daño (int), muertes y daño hecho (long) */
+  static final int ROW_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+  /*
+   * METODO PARA ESCRIBIR (CON LA SIMULACION PAUSADA O DETENIDA)
+   * - Una sola escritura con gather de cabecera + columnas
+   * - Se escribe a un temporal y se renombra: un checkpoint a medias nunca reemplaza al anterior
+   */
+  static void write(ImmortalManager manager, Roster roster, Path target) throws IOException {
+    int n = roster.size();
+    ScoreBoard board = manager.scoreBoard();
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION)
+        .putInt(manager.getFightStrategy().ordinal())
+        .putInt(manager.getTargetingPolicy().ordinal())
+        .putInt(manager.getInitialHealth())
+        .putInt(manager.getDamage())
+        .putInt(n)
+        .putLong(board.totalFights())
+        .putLong(board.adaptiveSwitches())
+        .putLong(board.combinerPasses())
+        .putLong(board.droppedMessages());
+    header.clear();
+
+    ByteBuffer health = ByteBuffer.allocate(n * Integer.BYTES);
+    ByteBuffer damage = ByteBuffer.allocate(n * Integer.BYTES);
+    IntBuffer healthColumn = health.asIntBuffer();
+    IntBuffer damageColumn = damage.asIntBuffer();
+    ByteBuffer kills = ByteBuffer.allocate(n * Long.BYTES);
+    ByteBuffer dealt = ByteBuffer.allocate(n * Long.BYTES);
+    LongBuffer killsColumn = kills.asLongBuffer();
+    LongBuffer dealtColumn = dealt.asLongBuffer();
+    for (int i = 0; i < n; i++) {
+      Immortal im = roster.get(i);
+      healthColumn.put(Math.max(0, im.getHealth()));
+      damageColumn.put(im.damage());
+      killsColumn.put(im.kills());
+      dealtColumn.put(im.damageDealt());
+    }
+
+    ByteBuffer[] parts = { header, health, damage, kills, dealt };
+    Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      long remaining = HEADER_BYTES + (long) n * ROW_BYTES;
+      while (remaining > 0)
+        remaining -= channel.write(parts);
+      channel.force(false);
+    }
+    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /*
+   * METODO PARA LEER
+   * - El archivo se mapea en memoria; las columnas se leen con get absoluto (seguro desde varios hilos)
+   * - Valida magic, version y tamaño antes de construir nada
+   */
+  static ImmortalManager read(Path source) throws IOException {
+    try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES)
+        throw new IOException("Not an immortals checkpoint: " + source);
+      MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (map.getInt(0) != MAGIC)
+        throw new IOException("Not an immortals checkpoint: " + source);
+      if (map.getInt(4) != VERSION)
+        throw new IOException("Unsupported checkpoint version " + map.getInt(4));
+
+      FightStrategy strategy = FightStrategy.values()[map.getInt(8)];
+      TargetingPolicy policy = TargetingPolicy.values()[map.getInt(12)];
+      int initialHealth = map.getInt(16);
+      int damage = map.getInt(20);
+      int n = map.getInt(24);
+      if (n < 0 || size != HEADER_BYTES + (long) n * ROW_BYTES)
+        throw new IOException("Truncated or corrupt checkpoint: " + source);
+
+      IntBuffer health = map.slice(HEADER_BYTES, n * Integer.BYTES).asIntBuffer();
+      IntBuffer damages = map.slice(HEADER_BYTES + n * Integer.BYTES, n * Integer.BYTES).asIntBuffer();
+      int longs = HEADER_BYTES + 2 * n * Integer.BYTES;
+      LongBuffer kills = map.slice(longs, n * Long.BYTES).asLongBuffer();
+      LongBuffer dealt = map.slice(longs + n * Long.BYTES, n * Long.BYTES).asLongBuffer();
+
+      var manager = new ImmortalManager(0, initialHealth, damage, strategy);
+      if (policy != TargetingPolicy.UNIFORM)
+        manager.setTargetingPolicy(policy);
+      manager.scoreBoard().restore(map.getLong(28), map.getLong(36), map.getLong(44), map.getLong(52));
+      manager.restorePopulation(n, health, damages, kills, dealt);
+      return manager;
+    }
+  }
+}
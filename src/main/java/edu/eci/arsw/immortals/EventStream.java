@@ -0,0 +1,344 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.eci.arsw.concurrency.MpscMailbox;
+
+/**
+ * Flow.Publisher de los eventos de una simulacion (peleas, muertes y
+ * pausas), pensado para que un suscriptor lento nunca frene las peleas:
+ *
+ * - Los hilos de pelea solo hacen offer() en un buzon MPSC acotado; sin
+ *   suscriptores ni siquiera crean el evento. Si el buzon esta lleno el
+ *   evento se descarta y se cuenta.
+ * - Un hilo despachador vacia el buzon por lotes y reparte los eventos en
+ *   el buffer acotado de cada suscripcion, aplicando su OverflowPolicy. Con
+ *   el buzon vacio se estaciona hasta que un productor lo despierte.
+ * - Cada suscripcion tiene su propio hilo virtual de entrega que respeta
+ *   request(n); un onNext lento solo llena (y descarta) su propio buffer.
+ */
+public final class EventStream implements Flow.Publisher<SimulationEvent>, AutoCloseable {
+
+  /* Que hacer cuando el buffer de un suscriptor esta lleno */
+  public enum OverflowPolicy {
+    /* Descarta el evento que llega */
+    DROP_NEWEST,
+    /* Descarta el evento mas antiguo del buffer */
+    DROP_OLDEST,
+    /* Agrupa las peleas pendientes por victima (queda la salud mas reciente); si aun asi no cabe, descarta el mas antiguo */
+    COALESCE
+  }
+
+  public static final int DEFAULT_BUFFER = 1024;
+  private static final int INGRESS_CAPACITY = 8192;
+  private static final int DISPATCH_BATCH = 256;
+
+  private final MpscMailbox<SimulationEvent> ingress = new MpscMailbox<>(INGRESS_CAPACITY);
+  private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final LongAdder dropped = new LongAdder();
+  private volatile boolean active;
+  private volatile boolean closed;
+  private volatile boolean idle;
+  private volatile Thread dispatcher;
+
+  /* Camino caliente: lectura de un volatile cuando nadie escucha */
+  boolean hasSubscribers() {
+    return active;
+  }
+
+  void publishFight(Immortal attacker, Immortal victim, int attackerHealth, int victimHealth) {
+    if (active)
+      offer(new SimulationEvent.Fight(System.nanoTime(), attacker.id(), victim.id(), attackerHealth, victimHealth, 1));
+  }
+
+  void publishDeath(Immortal victim, Immortal killer) {
+    if (active)
+      offer(new SimulationEvent.Death(System.nanoTime(), victim.id(), killer.id()));
+  }
+
+  void publishPause(boolean paused) {
+    if (active)
+      offer(new SimulationEvent.PauseChanged(System.nanoTime(), paused));
+  }
+
+  /* Solo se despierta al despachador si se estaciono (una lectura de volatile en el caso comun) */
+  private void offer(SimulationEvent event) {
+    if (!ingress.offer(event)) {
+      dropped.increment();
+    } else if (idle) {
+      idle = false;
+      LockSupport.unpark(dispatcher);
+    }
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super SimulationEvent> subscriber) {
+    subscribe(subscriber, DEFAULT_BUFFER, OverflowPolicy.DROP_OLDEST);
+  }
+
+  public synchronized void subscribe(Flow.Subscriber<? super SimulationEvent> subscriber, int bufferSize,
+      OverflowPolicy policy) {
+    if (subscriber == null || policy == null)
+      throw new NullPointerException();
+    if (bufferSize <= 0)
+      throw new IllegalArgumentException("bufferSize must be positive");
+    var subscription = new Subscription(subscriber, bufferSize, policy);
+    subscriber.onSubscribe(subscription);
+    if (subscription.isCancelled())
+      return;
+    if (closed) {
+      subscriber.onComplete();
+      return;
+    }
+    subscriptions.add(subscription);
+    Thread.ofVirtual().name("event-delivery").start(subscription::deliver);
+    if (dispatcher == null)
+      dispatcher = Thread.ofVirtual().name("event-dispatcher").start(this::dispatch);
+    active = true;
+  }
+
+  /* Eventos descartados (buzon de entrada lleno o buffers de suscriptores llenos) */
+  public long droppedEvents() {
+    return dropped.sum();
+  }
+
+  public int subscriberCount() {
+    return subscriptions.size();
+  }
+
+  /*
+   * HILO DESPACHADOR
+   * - Drena el buzon por lotes; si esta vacio marca idle, vuelve a mirar el buzon y se estaciona sin plazo
+   * - idle se publica antes de releer el buzon y el productor lo lee despues de encolar: alguno de los dos ve al otro
+   * - Al cerrar, entrega lo que quede y completa a todos los suscriptores
+   */
+  private void dispatch() {
+    SimulationEvent[] batch = new SimulationEvent[DISPATCH_BATCH];
+    int[] n = new int[1];
+    while (true) {
+      n[0] = 0;
+      ingress.drain(e -> batch[n[0]++] = e, DISPATCH_BATCH);
+      if (n[0] > 0) {
+        for (Subscription s : subscriptions)
+          s.enqueue(batch, n[0]);
+        Arrays.fill(batch, 0, n[0], null);
+      } else if (closed) {
+        break;
+      } else {
+        idle = true;
+        if (ingress.size() == 0 && !closed)
+          LockSupport.park(this);
+        idle = false;
+      }
+    }
+    for (Subscription s : subscriptions)
+      s.complete();
+  }
+
+  private synchronized void removed(Subscription subscription) {
+    subscriptions.remove(subscription);
+    if (subscriptions.isEmpty())
+      active = false;
+  }
+
+  /* Completa a los suscriptores despues de entregar los eventos ya encolados */
+  @Override
+  public synchronized void close() {
+    if (closed)
+      return;
+    closed = true;
+    active = false;
+    if (dispatcher == null)
+      return;
+    LockSupport.unpark(dispatcher);
+  }
+
+  /*
+   * SUSCRIPCION
+   * - El despachador encola bajo el lock (seccion corta); el hilo de entrega saca eventos segun la demanda
+   * - onNext se invoca sin el lock tomado
+   */
+  private final class Subscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super SimulationEvent> subscriber;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final ArrayDeque<SimulationEvent> queue = new ArrayDeque<>();
+    private final LinkedHashMap<Object, SimulationEvent> coalesced = new LinkedHashMap<>();
+    private long demand;
+    private boolean cancelled;
+    private boolean completed;
+    private Throwable error;
+
+    Subscription(Flow.Subscriber<? super SimulationEvent> subscriber, int capacity, OverflowPolicy policy) {
+      this.subscriber = subscriber;
+      this.capacity = capacity;
+      this.policy = policy;
+    }
+
+    void enqueue(SimulationEvent[] batch, int n) {
+      lock.lock();
+      try {
+        if (cancelled)
+          return;
+        for (int i = 0; i < n; i++) {
+          if (policy == OverflowPolicy.COALESCE)
+            coalesce(batch[i]);
+          else
+            append(batch[i]);
+        }
+        ready.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void append(SimulationEvent event) {
+      if (queue.size() == capacity) {
+        dropped.increment();
+        if (policy == OverflowPolicy.DROP_NEWEST)
+          return;
+        queue.pollFirst();
+      }
+      queue.addLast(event);
+    }
+
+    /* Las peleas se agrupan por victima; muertes y pausas nunca se agrupan */
+    private void coalesce(SimulationEvent event) {
+      if (event instanceof SimulationEvent.Fight f) {
+        SimulationEvent previous = coalesced.get(f.victimId());
+        if (previous instanceof SimulationEvent.Fight p) {
+          coalesced.put(f.victimId(), new SimulationEvent.Fight(f.atNanos(), f.attackerId(), f.victimId(),
+              f.attackerHealth(), f.victimHealth(), p.hits() + f.hits()));
+          return;
+        }
+        putCoalesced(f.victimId(), f);
+      } else {
+        putCoalesced(new Object(), event);
+      }
+    }
+
+    private void putCoalesced(Object key, SimulationEvent event) {
+      if (coalesced.size() == capacity) {
+        dropped.increment();
+        Iterator<Object> oldest = coalesced.keySet().iterator();
+        oldest.next();
+        oldest.remove();
+      }
+      coalesced.put(key, event);
+    }
+
+    private SimulationEvent takeLocked() {
+      if (policy != OverflowPolicy.COALESCE)
+        return queue.pollFirst();
+      Iterator<SimulationEvent> it = coalesced.values().iterator();
+      if (!it.hasNext())
+        return null;
+      SimulationEvent event = it.next();
+      it.remove();
+      return event;
+    }
+
+    private boolean emptyLocked() {
+      return policy == OverflowPolicy.COALESCE ? coalesced.isEmpty() : queue.isEmpty();
+    }
+
+    /* Hilo de entrega de esta suscripcion */
+    void deliver() {
+      while (true) {
+        SimulationEvent event;
+        lock.lock();
+        try {
+          while (!cancelled && error == null && (demand == 0 || emptyLocked()) && !(completed && emptyLocked()))
+            ready.awaitUninterruptibly();
+          if (cancelled)
+            return;
+          if (error != null) {
+            cancelled = true;
+            event = null;
+          } else if (emptyLocked()) {
+            cancelled = true;
+            event = null;
+          } else {
+            event = takeLocked();
+            demand--;
+          }
+        } finally {
+          lock.unlock();
+        }
+        if (event == null) {
+          removed(this);
+          if (error != null)
+            subscriber.onError(error);
+          else
+            subscriber.onComplete();
+          return;
+        }
+        try {
+          subscriber.onNext(event);
+        } catch (Throwable t) {
+          cancel();
+          subscriber.onError(t);
+          return;
+        }
+      }
+    }
+
+    boolean isCancelled() {
+      lock.lock();
+      try {
+        return cancelled;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void complete() {
+      lock.lock();
+      try {
+        completed = true;
+        ready.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      lock.lock();
+      try {
+        if (n <= 0)
+          error = new IllegalArgumentException("non-positive subscription request: " + n);
+        else
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        ready.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      lock.lock();
+      try {
+        cancelled = true;
+        queue.clear();
+        coalesced.clear();
+        ready.signal();
+      } finally {
+        lock.unlock();
+      }
+      removed(this);
+    }
+  }
+}
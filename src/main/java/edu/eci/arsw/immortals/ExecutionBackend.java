@@ -0,0 +1,42 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * DONDE CORREN LOS INMORTALES
+ *    - VIRTUAL: Un hilo virtual por inmortal, que duerme y espera la pausa bloqueando (por defecto)
+ *    - PLATFORM_POOL: Pool fijo de hilos de plataforma; cada inmortal corre por vueltas (una pelea por tarea)
+ *    - FORK_JOIN: ForkJoinPool con robo de trabajo; cada vuelta cede el worker y se vuelve a encolar
+ * En los backends de pool ni la pausa ni el ritmo entre peleas retienen un hilo del pool.
+ */
+public enum ExecutionBackend {
+  VIRTUAL,
+  PLATFORM_POOL,
+  FORK_JOIN;
+
+  /* true si los inmortales corren por vueltas en vez de tener un hilo propio */
+  boolean sliced() {
+    return this != VIRTUAL;
+  }
+
+  ExecutorService newExecutor(int parallelism) {
+    return switch (this) {
+      case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+      case PLATFORM_POOL -> Executors.newFixedThreadPool(parallelism, daemonThreads("immortal-pool-"));
+      case FORK_JOIN -> new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    };
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return r -> {
+      Thread t = new Thread(r, prefix + counter.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+}
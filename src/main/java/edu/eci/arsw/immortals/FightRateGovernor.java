@@ -0,0 +1,138 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * GOBERNADOR DEL RITMO DE PELEAS
+ *    - Decide cuanto espera un inmortal antes de su siguiente pelea
+ *    - LEGACY: pausa fija de 2 ms por inmortal; la tasa total crece con la poblacion (comportamiento original)
+ *    - fixedPause(ms): igual, con otra pausa
+ *    - tokenBucket(f): tasa global de f peleas/s, sin locks, repartida entre todos los inmortales
+ *    - UNTHROTTLED: sin espera, para medir la tasa de saturacion
+ */
+public abstract class FightRateGovernor {
+
+  public static final FightRateGovernor LEGACY = fixedPause(2);
+
+  public static final FightRateGovernor UNTHROTTLED = new FightRateGovernor() {
+    @Override
+    long delayNanos(Permits permits) {
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return "unthrottled";
+    }
+  };
+
+  FightRateGovernor() {}
+
+  public static FightRateGovernor fixedPause(long millis) {
+    if (millis < 0)
+      throw new IllegalArgumentException("pause must be >= 0");
+    long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    return new FightRateGovernor() {
+      @Override
+      long delayNanos(Permits permits) {
+        return nanos;
+      }
+
+      @Override
+      public String toString() {
+        return millis + " ms per immortal";
+      }
+    };
+  }
+
+  public static FightRateGovernor tokenBucket(double fightsPerSecond) {
+    if (!(fightsPerSecond > 0))
+      throw new IllegalArgumentException("fightsPerSecond must be > 0");
+    return new TokenBucket(fightsPerSecond);
+  }
+
+  /* Nanosegundos que el inmortal dueño de permits debe esperar antes de pelear otra vez (0 = ya) */
+  abstract long delayNanos(Permits permits);
+
+  /* Devuelve los turnos reservados y no usados (el inmortal murio, se detuvo o fue reemplazado); idempotente */
+  void release(Permits permits) {
+    permits.left = 0;
+  }
+
+  /* Permisos reservados por un inmortal; solo los usa el hilo que corre a ese inmortal */
+  static final class Permits {
+    long batchStart;
+    int used;
+    int left;
+  }
+
+  /*
+   * CUBETA DE TOKENS GLOBAL (GCRA)
+   * - Un solo AtomicLong con el tiempo teorico de llegada (TAT); reservar es un CAS que lo adelanta
+   * - Cada inmortal reserva BATCH turnos consecutivos de una vez: un CAS cada BATCH peleas
+   * - Dentro del lote cada pelea tiene su propio instante, asi la tasa global se mantiene pareja
+   * - No acumula credito: tras un periodo ocioso la cuenta arranca desde ahora (sin rafagas)
+   * - Quien sale con turnos sin usar los devuelve (release): el TAT retrocede esos turnos, nunca antes de ahora;
+   *   asi con reaparicion los lotes de los muertos no se pierden y la tasa lograda no se queda corta
+   */
+  static final class TokenBucket extends FightRateGovernor {
+    static final int BATCH = 8;
+
+    private final double fightsPerSecond;
+    private final long batchNanos;
+    private final AtomicLong tat = new AtomicLong(System.nanoTime());
+
+    TokenBucket(double fightsPerSecond) {
+      this.fightsPerSecond = fightsPerSecond;
+      this.batchNanos = Math.max(1, Math.round(BATCH * 1e9 / fightsPerSecond));
+    }
+
+    @Override
+    long delayNanos(Permits permits) {
+      long now = System.nanoTime();
+      if (permits.left == 0) {
+        long start;
+        while (true) {
+          long current = tat.get();
+          start = Math.max(current, now);
+          if (tat.compareAndSet(current, start + batchNanos))
+            break;
+        }
+        permits.batchStart = start;
+        permits.used = 0;
+        permits.left = BATCH;
+      }
+      long due = permits.batchStart + permits.used * batchNanos / BATCH;
+      permits.used++;
+      permits.left--;
+      return Math.max(0, due - now);
+    }
+
+    @Override
+    void release(Permits permits) {
+      int unused = permits.left;
+      permits.left = 0;
+      if (unused == 0)
+        return;
+      long refund = unused * batchNanos / BATCH;
+      long now = System.nanoTime();
+      while (true) {
+        long current = tat.get();
+        long next = Math.max(now, current - refund);
+        if (next >= current || tat.compareAndSet(current, next))
+          return;
+      }
+    }
+
+    /* Para los tests: el tiempo teorico de llegada */
+    long tat() {
+      return tat.get();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%.0f fights/s", fightsPerSecond);
+    }
+  }
+}
@@ -4,8 +4,14 @@ package edu.eci.arsw.immortals;
  * ENUM PARA ESTRATEGIAS DE PELEA ENTRE INMORTALES
  *    - NAIVE: Sin orden, puede causar deadlocks
  *    - ORDERED: Orden alfabético por nombre, evita deadlocks
+ *    - ADAPTIVE: Cambia entre lock ordenado, tryLock con backoff y CAS segun la contencion observada
+ *    - FLAT_COMBINING: Quien tiene el lock de la victima aplica todas las peleas pendientes contra ella
+ *    - ACTOR: Sin locks; cada inmortal es dueño de su salud y los ataques son mensajes a su buzon
  */
 public enum FightStrategy {
     NAIVE,    
-    ORDERED   
+    ORDERED,
+    ADAPTIVE,
+    FLAT_COMBINING,
+    ACTOR
 }
@@ -1,27 +1,96 @@
 package edu.eci.arsw.immortals;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+import edu.eci.arsw.concurrency.MpscMailbox;
 import edu.eci.arsw.concurrency.PauseController;
 
-public class Immortal extends Thread {
-  private final String name;
+public class Immortal implements Runnable {
+  private static final VarHandle HEALTH;
+  private static final VarHandle STAMP;
+  private static final VarHandle KILLS;
+  private static final VarHandle DAMAGE_DEALT;
+  private static final VarHandle INDEXING;
+  static {
+    try {
+      HEALTH = MethodHandles.lookup().findVarHandle(Immortal.class, "health", int.class);
+      STAMP = MethodHandles.lookup().findVarHandle(Immortal.class, "stamp", int.class);
+      KILLS = MethodHandles.lookup().findVarHandle(Immortal.class, "kills", long.class);
+      DAMAGE_DEALT = MethodHandles.lookup().findVarHandle(Immortal.class, "damageDealt", long.class);
+      INDEXING = MethodHandles.lookup().findVarHandle(Immortal.class, "indexing", boolean.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+  private static final int TRY_LOCK_ATTEMPTS = 8;
+  private static final int COMBINE_SPINS = 64;
+  private static final int MAX_COMBINE_PASSES = 4;
+  private static final long COMBINE_PARK_NANOS = 50_000;
+  private static final int MAILBOX_BATCH = 64;
+  private static final Comparator<Immortal> BY_ID = Comparator.comparingInt(Immortal::id);
+
+  private final int id;
+  private String name;
   private volatile int health;
+  /*
+   * Sello de lectura optimista de la salud: impar mientras una pelea escribe ambas saludes (con locks, o el del
+   * atacante entre las dos CAS de doFightAtomic), +2 tras cada escritura suelta (CAS de la victima, actor).
+   * Los lectores nunca toman locks (ver ImmortalManager.totalHealth)
+   */
+  private volatile int stamp;
+  /* Celda de la Arena (-1 fuera de la arena); solo cambia con el lock de la celda */
+  private volatile int cell = -1;
+  /* Muertes y daño causados; con ACTOR los acredita el hilo de la victima, por eso son atomicos */
+  private volatile long kills;
+  private volatile long damageDealt;
+  /* Clave vigente en el indice de salud del Targeter (-1 fuera) y bandera de quien la mueve; ver HealthIndexed */
+  private volatile long indexedKey = -1;
+  private volatile boolean indexing;
   private final int damage;
   private final Collection<Immortal> population;
   private final ScoreBoard scoreBoard;
   private final PauseController pauseController;
   private volatile boolean shouldStop = false;
   private final FightStrategy fightStrategy;
+  private volatile boolean fightLogging = true;
+  private volatile Consumer<Immortal> deathListener = dead -> {};
+  private volatile Targeter targeter;
+  private volatile Roster roster;
+  /* Lugar en el indice de vivos del Roster (-1 fuera); solo lo escribe el Roster con su lock */
+  int livePos = -1;
+  private volatile Immortal lastAttacker;
+  private final ReentrantLock fightLock = new ReentrantLock();
+  private volatile AdaptiveController adaptive;
+  private int lastCasRetries;
+  private final AtomicReference<FightRequest> publications = new AtomicReference<>();
+  private final FightRequest request = new FightRequest(this);
+  private MpscMailbox<ActorMessage> mailbox;
+  private volatile EventStream events;
+  private volatile FightRateGovernor governor = FightRateGovernor.LEGACY;
+  private final FightRateGovernor.Permits permits = new FightRateGovernor.Permits();
+  private int teamSize = 1;
+  private TeamLocking teamLocking = TeamLocking.SORTED;
+  private Immortal[] team;
+  private Immortal[] teamKilled;
 
   /*
    * Constructor actualizado para incluir la estrategia de pelea.
-   * - fightStrategy: Estrategia de pelea (NAIVE o ORDERED)
+   * - id: posicion estable del inmortal dentro del manager (no cambia al morir)
+   * - fightStrategy: Estrategia de pelea (NAIVE, ORDERED, ADAPTIVE, FLAT_COMBINING o ACTOR)
    */
-  public Immortal(String name, int health, int damage, Collection<Immortal> population,
+  public Immortal(int id, String name, int health, int damage, Collection<Immortal> population,
       ScoreBoard scoreBoard, PauseController pauseController,
       FightStrategy fightStrategy) {
+    this.id = id;
     this.name = name;
     this.health = health;
     this.damage = damage;
@@ -31,14 +100,91 @@ public class Immortal extends Thread {
     this.fightStrategy = fightStrategy;
   }
 
+  /* Sin nombre explicito: se deriva del id ("Immortal_<id>") la primera vez que se pide */
+  public Immortal(int id, int health, int damage, Collection<Immortal> population,
+      ScoreBoard scoreBoard, PauseController pauseController,
+      FightStrategy fightStrategy) {
+    this(id, null, health, damage, population, scoreBoard, pauseController, fightStrategy);
+  }
+
+  public int id() {
+    return id;
+  }
+
+  /* Carrera benigna: cualquier hilo que lo derive obtiene el mismo String inmutable */
   public String name() {
-    return name;
+    String n = name;
+    if (n == null) {
+      n = "Immortal_" + id;
+      name = n;
+    }
+    return n;
   }
 
-  public synchronized int getHealth() {
+  int damage() {
+    return damage;
+  }
+
+  public int getHealth() {
     return health;
   }
 
+  int stamp() {
+    return stamp;
+  }
+
+  int cell() {
+    return cell;
+  }
+
+  void setCell(int cell) {
+    this.cell = cell;
+  }
+
+  long indexedKey() {
+    return indexedKey;
+  }
+
+  void setIndexedKey(long key) {
+    this.indexedKey = key;
+  }
+
+  /* Un solo hilo a la vez mueve la clave de este inmortal en el indice de salud */
+  boolean tryBeginIndexing() {
+    return INDEXING.compareAndSet(this, false, true);
+  }
+
+  void endIndexing() {
+    indexing = false;
+  }
+
+  public long kills() {
+    return kills;
+  }
+
+  public long damageDealt() {
+    return damageDealt;
+  }
+
+  /* Suma al atacante el daño (y la muerte) de un golpe y le avisa al top-K del ScoreBoard */
+  void credit(int dealt, boolean killed) {
+    long k = killed ? (long) KILLS.getAndAdd(this, 1L) + 1 : kills;
+    long d = (long) DAMAGE_DEALT.getAndAdd(this, (long) dealt) + dealt;
+    scoreBoard.recordCredit(this, killed ? k : 0, d);
+  }
+
+  /* Solo al restaurar un checkpoint, antes de arrancar */
+  void restoreCredit(long kills, long damageDealt) {
+    this.kills = kills;
+    this.damageDealt = damageDealt;
+    if (kills > 0 || damageDealt > 0)
+      scoreBoard.recordCredit(this, kills, damageDealt);
+  }
+
+  private void bumpStamp() {
+    STAMP.getAndAdd(this, 2);
+  }
+
   public boolean isImmortalAlive() {
     return getHealth() > 0 && !shouldStop;
   }
@@ -47,28 +193,394 @@ public class Immortal extends Thread {
     shouldStop = true;
   }
 
+  void setFightLogging(boolean fightLogging) {
+    this.fightLogging = fightLogging;
+  }
+
+  /* Se invoca (fuera de los locks de la pelea) cuando este inmortal mata a otro */
+  void setDeathListener(Consumer<Immortal> deathListener) {
+    this.deathListener = deathListener;
+  }
+
+  void setTargeter(Targeter targeter) {
+    this.targeter = targeter;
+  }
+
+  /* Roster del manager: quien saca a un inmortal de la poblacion tambien lo quita de su indice de vivos */
+  void setRoster(Roster roster) {
+    this.roster = roster;
+  }
+
+  void setAdaptiveController(AdaptiveController adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  void setFightRateGovernor(FightRateGovernor governor) {
+    this.governor = governor;
+  }
+
+  void setEventStream(EventStream events) {
+    this.events = events;
+  }
+
+  /* Solo antes de arrancar: los buffers de equipo son del hilo de este inmortal */
+  void setTeamBattle(int teamSize, TeamLocking locking) {
+    this.teamSize = teamSize;
+    this.teamLocking = locking;
+    this.team = teamSize > 1 ? new Immortal[teamSize + 1] : null;
+    this.teamKilled = teamSize > 1 ? new Immortal[teamSize] : null;
+  }
+
+  /* Solo en modo ACTOR, antes de arrancar */
+  void enableMailbox(int capacity) {
+    this.mailbox = new MpscMailbox<>(capacity);
+  }
+
+  void setLastAttacker(Immortal attacker) {
+    this.lastAttacker = attacker;
+  }
+
+  Immortal lastAttacker() {
+    return lastAttacker;
+  }
+
+  /* Ciclo con un hilo dedicado (backend VIRTUAL): bloquea en la pausa y en el ritmo entre peleas */
   @Override
   public void run() {
     try {
       while (!shouldStop) {
         pauseController.awaitIfPaused();
         if (shouldStop) break;
-        var opponent = pickOpponent();
-        if (opponent == null)
+        if (!step())
           continue;
-        fight(opponent);
-        Thread.sleep(2);
+        long delay = governor.delayNanos(permits);
+        if (delay == 0)
+          Thread.yield();
+        // si la pausa corta la espera, tras reanudar se espera lo que faltaba (sin rafaga al reanudar)
+        while (delay > 0 && !shouldStop) {
+          delay = pauseController.sleepUnlessPaused(delay);
+          pauseController.awaitIfPaused();
+        }
         pauseController.awaitIfPaused();
       }
     } catch (InterruptedException ie) {
       Thread.currentThread().interrupt();
     } finally {
-      population.remove(this);
+      exit();
+    }
+  }
+
+  /*
+   * UNA VUELTA DEL CICLO PARA LOS BACKENDS DE POOL (PLATFORM_POOL, FORK_JOIN)
+   * - Nunca retiene el hilo del pool en la pausa: deja su continuacion en el PauseController
+   * - Tampoco duerme el ritmo entre peleas: el worker reprograma la siguiente vuelta
+   * - Retorna en cuantos nanosegundos programar la siguiente vuelta, o -1 si no hay que programarla
+   */
+  long runSlice(Runnable resumeSlice) {
+    try {
+      if (!shouldStop && pauseController.parkIfPaused(resumeSlice))
+        return -1;
+      if (!shouldStop && step() && !shouldStop)
+        return governor.delayNanos(permits);
+      if (!shouldStop)
+        return 0;
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+    exit();
+    return -1;
+  }
+
+  void releasePermits() {
+    governor.release(permits);
+  }
+
+  /* Para la espera de ritmo de los backends de pool: true si quedo estacionado en la pausa */
+  boolean parkIfPaused(Runnable onResume) {
+    return !shouldStop && pauseController.parkIfPaused(onResume);
+  }
+
+  /* Solo desde el hilo que corre a este inmortal, o con su tarea ya terminada */
+  void exit() {
+    releasePermits();
+    if (!leavePopulation(this))
       pauseController.setTotalThreads(population.size());
+  }
+
+  /* Saca a un inmortal de la poblacion y del indice de vivos; retorna false si ya no estaba */
+  private boolean leavePopulation(Immortal leaving) {
+    if (!population.remove(leaving))
+      return false;
+    Roster current = roster;
+    if (current != null)
+      current.removeLive(leaving);
+    pauseController.setTotalThreads(population.size());
+    return true;
+  }
+
+  /*
+   * UNA PELEA (O, EN MODO ACTOR, UN LOTE DEL BUZON Y UN ATAQUE)
+   * - Retorna false si no habia oponente
+   * - En modo ACTOR solo este hilo escribe la salud de este inmortal: no hay locks
+   * - Si el buzon del oponente esta lleno el ataque se descarta (backpressure) y se cuenta
+   * - En la arena primero puede moverse; sin vecinos se mueve a buscar pelea (cuenta como vuelta)
+   */
+  private boolean step() throws InterruptedException {
+    if (fightStrategy == FightStrategy.ACTOR) {
+      mailbox.drain(this::onMessage, MAILBOX_BATCH);
+      if (shouldStop)
+        return false;
+    }
+    Arena arena = targeter instanceof Arena a ? a : null;
+    if (arena != null)
+      arena.maybeMove(this, false);
+    if (teamSize > 1)
+      return fightTeam();
+    var opponent = pickOpponent();
+    if (opponent == null)
+      return arena != null && arena.maybeMove(this, true);
+    if (fightStrategy == FightStrategy.ACTOR) {
+      if (!opponent.mailbox.offer(new ActorMessage(ActorMessage.Kind.ATTACK, this, damage)))
+        scoreBoard.recordDroppedMessage();
+    } else if (arena != null ? fightInArena(arena, opponent) : fight(opponent)) {
+      deathListener.accept(opponent);
     }
+    return true;
+  }
+
+  private void onMessage(ActorMessage message) {
+    switch (message.kind()) {
+      case ATTACK -> onAttacked(message.sender(), message.amount());
+      case HIT -> onHitConfirmed(message.amount());
+      case KILLED -> deathListener.accept(message.sender());
+    }
+  }
+
+  /* La victima aplica el golpe sobre su propia salud y responde al atacante */
+  private void onAttacked(Immortal attacker, int amount) {
+    int before = health;
+    if (before <= 0 || shouldStop)
+      return;
+    int after = Math.max(0, before - amount);
+    health = after;
+    bumpStamp();
+    scoreBoard.recordFight();
+
+    Targeter current = targeter;
+    if (current != null) {
+      current.healthChanged(this, before, after);
+      current.attacked(this, attacker);
+    }
+    if (fightLogging) {
+      System.out.printf("[%s] %s attacks %s! (%d HP)%n", "ACTOR", attacker.name(), name(), after);
+    }
+    EventStream stream = events;
+    if (stream != null)
+      stream.publishFight(attacker, this, attacker.health, after);
+
+    if (!attacker.mailbox.offer(new ActorMessage(ActorMessage.Kind.HIT, this, amount / 2)))
+      scoreBoard.recordDroppedMessage();
+    boolean removed = false;
+    if (after == 0) {
+      stopImmortal();
+      removed = leavePopulation(this);
+    }
+    attacker.credit(before - after, removed);
+    if (removed) {
+      if (stream != null)
+        stream.publishDeath(this, attacker);
+      if (!attacker.mailbox.offer(new ActorMessage(ActorMessage.Kind.KILLED, this, 0)))
+        scoreBoard.recordDroppedMessage();
+    }
+  }
+
+  /*
+   * GOLPE DE UN ATACANTE DE OTRA PARTICION (MODO DISTRIBUIDO)
+   * - Con el fightLock de la victima (excluye a las peleas con locks) y CAS (excluye a los modos sin lock)
+   * - Con ARENA las peleas toman las celdas y no los fightLock: primero se toma la celda de la victima
+   * - Retorna false si la victima ya estaba muerta; no aplica en modo ACTOR (la salud es del hilo del actor)
+   * - El aviso de muerte sale sin locks (puede reaparecer alguien y registrarse en otra celda)
+   */
+  boolean takeExternalHit(int amount) {
+    boolean removed = false;
+    Arena arena = targeter instanceof Arena a ? a : null;
+    int locked = arena == null ? -1 : arena.lockCellOf(this);
+    fightLock.lock();
+    try {
+      int before;
+      int after;
+      do {
+        before = health;
+        if (before <= 0 || shouldStop)
+          return false;
+        after = Math.max(0, before - amount);
+      } while (!HEALTH.compareAndSet(this, before, after));
+      bumpStamp();
+      scoreBoard.recordFight();
+      Targeter current = targeter;
+      if (current != null)
+        current.healthChanged(this, before, after);
+      if (after == 0) {
+        stopImmortal();
+        removed = leavePopulation(this);
+      }
+    } finally {
+      fightLock.unlock();
+      if (locked >= 0)
+        arena.unlockCell(locked);
+    }
+    if (removed)
+      deathListener.accept(this);
+    return true;
+  }
+
+  /* Ganancia de un golpe propio confirmado por otra particion; mismas exclusiones que takeExternalHit */
+  void gainExternal(int gain) {
+    Arena arena = targeter instanceof Arena a ? a : null;
+    int locked = arena == null ? -1 : arena.lockCellOf(this);
+    fightLock.lock();
+    try {
+      int before;
+      do {
+        before = health;
+        if (before <= 0)
+          return;
+      } while (!HEALTH.compareAndSet(this, before, before + gain));
+      bumpStamp();
+      Targeter current = targeter;
+      if (current != null)
+        current.healthChanged(this, before, before + gain);
+    } finally {
+      fightLock.unlock();
+      if (locked >= 0)
+        arena.unlockCell(locked);
+    }
+  }
+
+  private void onHitConfirmed(int gain) {
+    int before = health;
+    if (before <= 0)
+      return;
+    health = before + gain;
+    bumpStamp();
+    Targeter current = targeter;
+    if (current != null)
+      current.healthChanged(this, before, before + gain);
+  }
+
+  /*
+   * BATALLA DE EQUIPO: UN ATACANTE CONTRA HASTA k OPONENTES A LA VEZ (DAÑO DE AREA)
+   * - En modo ACTOR son k mensajes de ataque, sin locks
+   * - Si no, los k+1 participantes se bloquean como un todo (TeamLocking) y cada oponente recibe el daño
+   * - Los avisos de muerte van fuera de los locks
+   */
+  private boolean fightTeam() throws InterruptedException {
+    int n = pickTeam();
+    if (n == 0)
+      return false;
+    if (fightStrategy == FightStrategy.ACTOR) {
+      for (int i = 0; i < n; i++)
+        if (team[i] != this && !team[i].mailbox.offer(new ActorMessage(ActorMessage.Kind.ATTACK, this, damage)))
+          scoreBoard.recordDroppedMessage();
+      return true;
+    }
+    long waitStart = System.nanoTime();
+    int killed = teamLocking == TeamLocking.SORTED ? lockTeamSorted(n, waitStart) : lockTeamAllOrNothing(n, waitStart);
+    for (int i = 0; i < killed; i++) {
+      deathListener.accept(teamKilled[i]);
+      teamKilled[i] = null;
+    }
+    Arrays.fill(team, 0, n, null);
+    return true;
+  }
+
+  /* Llena team[0..n) con este inmortal y hasta teamSize oponentes vivos distintos, en orden de id; 0 si no hay oponentes */
+  private int pickTeam() {
+    team[0] = this;
+    int n = 1;
+    for (int tries = 0; tries < 2 * teamSize && n <= teamSize; tries++) {
+      Immortal candidate = pickOpponent();
+      if (candidate == null)
+        break;
+      boolean repeated = false;
+      for (int i = 0; i < n && !repeated; i++)
+        repeated = team[i] == candidate;
+      if (!repeated && candidate.isImmortalAlive())
+        team[n++] = candidate;
+    }
+    if (n == 1) {
+      team[0] = null;
+      return 0;
+    }
+    Arrays.sort(team, 0, n, BY_ID);
+    return n;
+  }
+
+  private int lockTeamSorted(int n, long waitStart) throws InterruptedException {
+    int locked = 0;
+    try {
+      for (int i = 0; i < n; i++) {
+        if (!pauseController.lockUnlessPaused(team[i].fightLock))
+          return 0;
+        locked++;
+      }
+      scoreBoard.recordLockWait(System.nanoTime() - waitStart);
+      return applyTeamHits(n, "TEAM/SORTED");
+    } finally {
+      for (int i = locked - 1; i >= 0; i--)
+        team[i].fightLock.unlock();
+    }
+  }
+
+  /* Sin esperas bloqueantes: si algun lock esta ocupado suelta todos; tras TRY_LOCK_ATTEMPTS se rinde */
+  private int lockTeamAllOrNothing(int n, long waitStart) {
+    for (int attempt = 0; attempt < TRY_LOCK_ATTEMPTS; attempt++) {
+      int locked = 0;
+      while (locked < n && team[locked].fightLock.tryLock())
+        locked++;
+      try {
+        if (locked == n) {
+          scoreBoard.recordLockWait(System.nanoTime() - waitStart);
+          return applyTeamHits(n, "TEAM/TRY_ALL");
+        }
+      } finally {
+        for (int i = locked - 1; i >= 0; i--)
+          team[i].fightLock.unlock();
+      }
+      scoreBoard.recordTeamRetry();
+      backoff(attempt);
+    }
+    return 0;
+  }
+
+  /* Con los locks de todos los participantes: sellos impares mientras se escriben las saludes */
+  private int applyTeamHits(int n, String mode) {
+    if (this.health <= 0)
+      return 0;
+    for (int i = 0; i < n; i++)
+      team[i].stamp++;
+    int killed = 0;
+    for (int i = 0; i < n; i++) {
+      Immortal opponent = team[i];
+      if (opponent == this || opponent.health <= 0)
+        continue;
+      int attackerBefore = this.health;
+      int opponentBefore = opponent.health;
+      this.health = attackerBefore + this.damage / 2;
+      opponent.health = Math.max(0, opponentBefore - this.damage);
+      if (afterHit(opponent, mode, attackerBefore, this.health, opponentBefore, opponent.health))
+        teamKilled[killed++] = opponent;
+    }
+    for (int i = 0; i < n; i++)
+      team[i].stamp++;
+    scoreBoard.recordTeamBattle();
+    return killed;
   }
 
   private Immortal pickOpponent() {
+    Targeter current = targeter;
+    if (current != null)
+      return current.pick(this);
     Object[] arr = population.toArray(); 
     if (arr.length <= 1) return null;
     Immortal other;
@@ -78,48 +590,309 @@ public class Immortal extends Thread {
     return other;
   }
 
-  private void fight(Immortal opponent) {
-    switch (this.fightStrategy) {
+  /* ARENA (salvo ACTOR): los locks de la pelea son los de las celdas de ambos, no los de cada inmortal */
+  private boolean fightInArena(Arena arena, Immortal opponent) throws InterruptedException {
+    int mine = cell;
+    int theirs = opponent.cell;
+    long waitStart = System.nanoTime();
+    if (!arena.lockCells(this, mine, opponent, theirs, pauseController))
+      return false;
+    try {
+      scoreBoard.recordLockWait(System.nanoTime() - waitStart);
+      return doFight(opponent, "ARENA");
+    } finally {
+      arena.unlockCells(mine, theirs);
+    }
+  }
+
+  /* Retorna true si el oponente murio y fue retirado de la poblacion en esta pelea */
+  private boolean fight(Immortal opponent) throws InterruptedException {
+    return switch (this.fightStrategy) {
       case NAIVE -> fightNaive(opponent);
       case ORDERED -> fightOrdered(opponent);
+      case ADAPTIVE -> fightAdaptive(opponent);
+      case FLAT_COMBINING -> fightCombining(opponent);
       default -> fightOrdered(opponent);
+    };
+  }
+
+  /*
+   * NAIVE y ORDERED toman los fightLock como puntos seguros (PauseController.lockUnlessPaused, no monitores):
+   * - Un interbloqueo de NAIVE se cancela interrumpiendo a los hilos en stop()
+   * - Si se pide la pausa mientras esperan, sueltan lo tomado y no pelean: la pausa no queda colgada
+   */
+  private boolean fightNaive(Immortal opponent) throws InterruptedException {
+    long waitStart = System.nanoTime();
+    return lockBoth(this, opponent, waitStart, opponent, "NAIVE");
+  }
+
+  private boolean lockBoth(Immortal first, Immortal second, long waitStart, Immortal opponent, String mode)
+      throws InterruptedException {
+    if (!pauseController.lockUnlessPaused(first.fightLock))
+      return false;
+    try {
+      if (!pauseController.lockUnlessPaused(second.fightLock))
+        return false;
+      try {
+        scoreBoard.recordLockWait(System.nanoTime() - waitStart);
+        return doFight(opponent, mode);
+      } finally {
+        second.fightLock.unlock();
+      }
+    } finally {
+      first.fightLock.unlock();
+    }
+  }
+
+  /* Orden total por id (unico; los nombres pueden repetirse y compararlos cuesta construirlos) */
+  private boolean fightOrdered(Immortal opponent) throws InterruptedException {
+    Immortal first = this.id <= opponent.id ? this : opponent;
+    Immortal second = this.id <= opponent.id ? opponent : this;
+
+    long waitStart = System.nanoTime();
+    return lockBoth(first, second, waitStart, opponent, "ORDERED");
+  }
+
+  /*
+   * PELEA ADAPTATIVA
+   * - El modo lo decide el AdaptiveController segun la contencion observada
+   * - Los tres modos escriben la salud con operaciones atomicas, asi pueden convivir durante un cambio de modo
+   */
+  private boolean fightAdaptive(Immortal opponent) throws InterruptedException {
+    AdaptiveController controller = adaptive;
+    return switch (controller.mode()) {
+      case BLOCKING -> fightBlocking(opponent, controller);
+      case TRY_LOCK -> fightTryLock(opponent, controller);
+      case LOCK_FREE -> fightLockFree(opponent, controller);
+    };
+  }
+
+  private boolean fightBlocking(Immortal opponent, AdaptiveController controller) throws InterruptedException {
+    Immortal first = this.id <= opponent.id ? this : opponent;
+    Immortal second = this.id <= opponent.id ? opponent : this;
+
+    long waitStart = System.nanoTime();
+    if (!pauseController.lockUnlessPaused(first.fightLock))
+      return false;
+    try {
+      if (!pauseController.lockUnlessPaused(second.fightLock))
+        return false;
+      try {
+        long waited = System.nanoTime() - waitStart;
+        scoreBoard.recordLockWait(waited);
+        controller.recordFight(waited > AdaptiveController.CONTENDED_WAIT_NANOS);
+        return doFightAtomic(opponent, "ADAPTIVE/BLOCKING");
+      } finally {
+        second.fightLock.unlock();
+      }
+    } finally {
+      first.fightLock.unlock();
     }
   }
 
-  private void fightNaive(Immortal opponent) {
-    synchronized (this) {
-      synchronized (opponent) {
-        doFight(opponent, "NAIVE");
+  private boolean fightTryLock(Immortal opponent, AdaptiveController controller) {
+    Immortal first = this.id <= opponent.id ? this : opponent;
+    Immortal second = this.id <= opponent.id ? opponent : this;
+
+    long waitStart = System.nanoTime();
+    for (int attempt = 0; attempt < TRY_LOCK_ATTEMPTS; attempt++) {
+      if (first.fightLock.tryLock()) {
+        try {
+          if (second.fightLock.tryLock()) {
+            try {
+              scoreBoard.recordLockWait(System.nanoTime() - waitStart);
+              controller.recordFight(attempt > 0);
+              return doFightAtomic(opponent, "ADAPTIVE/TRY_LOCK");
+            } finally {
+              second.fightLock.unlock();
+            }
+          }
+        } finally {
+          first.fightLock.unlock();
+        }
       }
+      backoff(attempt);
+    }
+    controller.recordFight(true);
+    return false;
+  }
+
+  private boolean fightLockFree(Immortal opponent, AdaptiveController controller) {
+    boolean killed = doFightAtomic(opponent, "ADAPTIVE/LOCK_FREE");
+    controller.recordFight(lastCasRetries > 0);
+    return killed;
+  }
+
+  /*
+   * PETICION DE PELEA PUBLICADA EN LA LISTA DE LA VICTIMA
+   * - Cada atacante reutiliza la suya: tiene a lo sumo una pendiente
+   * - El combinador lee 'next' antes de marcar done, porque despues el dueño puede volver a publicarla
+   */
+  private static final class FightRequest {
+    final Immortal attacker;
+    FightRequest next;
+    Thread waiter;
+    boolean killed;
+    volatile boolean done;
+
+    FightRequest(Immortal attacker) {
+      this.attacker = attacker;
     }
   }
 
-  private void fightOrdered(Immortal opponent) {
-    Immortal first = this.name.compareTo(opponent.name) <= 0 ? this : opponent;
-    Immortal second = this.name.compareTo(opponent.name) <= 0 ? opponent : this;
+  /*
+   * PELEA CON FLAT COMBINING
+   * - El atacante publica su peticion en la pila (Treiber) de la victima
+   * - Quien obtenga el lock de la victima aplica todas las peticiones pendientes en una pasada
+   * - Los demas esperan (giros cortos y luego park) a que su peticion quede hecha
+   * - Solo se toma el lock de la victima; la ganancia del atacante se aplica con CAS
+   */
+  private boolean fightCombining(Immortal opponent) {
+    FightRequest req = request;
+    req.killed = false;
+    req.waiter = Thread.currentThread();
+    req.done = false;
+
+    long waitStart = System.nanoTime();
+    FightRequest head;
+    do {
+      head = opponent.publications.get();
+      req.next = head;
+    } while (!opponent.publications.compareAndSet(head, req));
 
-    synchronized (first) {
-      synchronized (second) {
-        doFight(opponent, "ORDERED");
+    int spins = 0;
+    while (!req.done) {
+      if (opponent.fightLock.tryLock()) {
+        try {
+          opponent.combine();
+        } finally {
+          opponent.fightLock.unlock();
+        }
+      } else if (spins++ < COMBINE_SPINS) {
+        Thread.onSpinWait();
+      } else {
+        LockSupport.parkNanos(this, COMBINE_PARK_NANOS);
       }
     }
+    scoreBoard.recordLockWait(System.nanoTime() - waitStart);
+    return req.killed;
   }
-  private void doFight(Immortal opponent, String mode) {
+
+  /* Se ejecuta sobre la victima con su fightLock tomado */
+  private void combine() {
+    for (int pass = 0; pass < MAX_COMBINE_PASSES; pass++) {
+      FightRequest pending = publications.getAndSet(null);
+      if (pending == null)
+        return;
+      scoreBoard.recordCombinerPass();
+      while (pending != null) {
+        FightRequest next = pending.next;
+        Thread waiter = pending.waiter;
+        pending.killed = pending.attacker.doFightAtomic(this, "FLAT_COMBINING");
+        pending.done = true;
+        LockSupport.unpark(waiter);
+        pending = next;
+      }
+    }
+  }
+
+  /* Backoff exponencial con jitter: primero giros cortos, luego park de microsegundos */
+  private static void backoff(int attempt) {
+    if (attempt < 2) {
+      for (int i = 0; i < 32 << attempt; i++)
+        Thread.onSpinWait();
+    } else {
+      long maxNanos = 1_000L << Math.min(attempt, 10);
+      LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxNanos / 2, maxNanos));
+    }
+  }
+
+  /* Con ambos locks de pelea tomados: los dos sellos quedan impares mientras se escriben las saludes */
+  private boolean doFight(Immortal opponent, String mode) {
     if (this.health > 0 && opponent.health > 0) {
+      int attackerBefore = this.health;
+      int opponentBefore = opponent.health;
+      this.stamp++;
+      opponent.stamp++;
       this.health += this.damage / 2;
       opponent.health = Math.max(0, opponent.health - this.damage);
-      scoreBoard.recordFight();
-
-      System.out.printf("[%s] %s attacks %s! (%d HP)%n",
-          mode, this.name, opponent.name, opponent.health);
+      this.stamp++;
+      opponent.stamp++;
+      return afterHit(opponent, mode, attackerBefore, this.health, opponentBefore, opponent.health);
+    }
+    return false;
+  }
 
-      if (opponent.health <= 0) {
-        opponent.stopImmortal();
-        boolean removed = population.remove(opponent);
-        if (removed) {
-          pauseController.setTotalThreads(population.size());
+  /*
+   * GOLPE CON OPERACIONES ATOMICAS (CAS SOBRE LA SALUD)
+   * - Primero el daño al oponente: solo la CAS que lo deja en 0 lo mata, asi hay un unico asesino
+   * - Luego la ganancia del atacante, solo si sigue vivo (si murio en el intervalo se pierde)
+   * - El sello del atacante queda impar de la primera CAS a la ultima: una suma optimista no acepta el golpe a medias
+   *   (un atacante tiene a lo sumo una pelea en curso; las CAS de otros sobre su salud suman 2 y no cambian la paridad)
+   * - Cuenta los reintentos de CAS en lastCasRetries (hilo del propio atacante)
+   */
+  private boolean doFightAtomic(Immortal opponent, String mode) {
+    lastCasRetries = 0;
+    if (this.health <= 0)
+      return false;
+    int opponentBefore;
+    int opponentAfter;
+    int attackerBefore;
+    int attackerAfter;
+    STAMP.getAndAdd(this, 1);
+    try {
+      while (true) {
+        opponentBefore = opponent.health;
+        if (opponentBefore <= 0)
+          return false;
+        opponentAfter = Math.max(0, opponentBefore - this.damage);
+        if (HEALTH.compareAndSet(opponent, opponentBefore, opponentAfter)) {
+          opponent.bumpStamp();
+          break;
         }
+        lastCasRetries++;
+      }
+      while (true) {
+        attackerBefore = this.health;
+        attackerAfter = attackerBefore > 0 ? attackerBefore + this.damage / 2 : attackerBefore;
+        if (attackerBefore <= 0 || HEALTH.compareAndSet(this, attackerBefore, attackerAfter))
+          break;
+        lastCasRetries++;
       }
+    } finally {
+      STAMP.getAndAdd(this, 1);
+    }
+    return afterHit(opponent, mode, attackerBefore, attackerAfter, opponentBefore, opponentAfter);
+  }
+
+  private boolean afterHit(Immortal opponent, String mode, int attackerBefore, int attackerAfter,
+      int opponentBefore, int opponentAfter) {
+    scoreBoard.recordFight();
+
+    Targeter current = targeter;
+    if (current != null) {
+      current.healthChanged(this, attackerBefore, attackerAfter);
+      current.healthChanged(opponent, opponentBefore, opponentAfter);
+      current.attacked(opponent, this);
+    }
+
+    if (fightLogging) {
+      System.out.printf("[%s] %s attacks %s! (%d HP)%n",
+          mode, name(), opponent.name(), opponentAfter);
+    }
+    EventStream stream = events;
+    if (stream != null)
+      stream.publishFight(this, opponent, attackerAfter, opponentAfter);
+
+    if (opponentAfter <= 0) {
+      opponent.stopImmortal();
+      boolean removed = leavePopulation(opponent);
+      credit(opponentBefore - opponentAfter, removed);
+      if (removed && stream != null)
+        stream.publishDeath(opponent, this);
+      return removed;
     }
+    credit(opponentBefore - opponentAfter, false);
+    return false;
   }
 }
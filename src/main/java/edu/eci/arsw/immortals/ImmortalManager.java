@@ -1,30 +1,59 @@
 package edu.eci.arsw.immortals;
 
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
 
 import edu.eci.arsw.concurrency.PauseController;
 
-public class ImmortalManager implements AutoCloseable {
+public final class ImmortalManager implements AutoCloseable {
   private final ConcurrentLinkedQueue<Immortal> population;
-  private final List<Future<?>> futures = new ArrayList<>();
+  private final Roster roster = new Roster();
+  /* Configuracion, spawn() y creacion del alcance; lock y no monitor: un asesino virtual que espera no fija su portador */
+  private final ReentrantLock lock = new ReentrantLock();
   private final PauseController pauseController;
   private final ScoreBoard scoreBoard;
-  private ExecutorService executorService;
+  private volatile WorkerScope scope;
+  private volatile ExecutionBackend backend = ExecutionBackend.VIRTUAL;
+  private volatile int parallelism = Runtime.getRuntime().availableProcessors();
+  private volatile long lastStopNanos;
   private final FightStrategy fightStrategy;
 
   private final int initialHealth;
   private final int damage;
+  private static final int MAILBOX_CAPACITY = 256;
+  private static final int PARALLEL_THRESHOLD = 4096;
+  private static final int START_BATCH = 1024;
+  private static final long STOP_TIMEOUT_MILLIS = 2000;
+  private static final int OPTIMISTIC_READS = 8;
+
+  private volatile boolean fightLogging = true;
+  private volatile FightRateGovernor governor = FightRateGovernor.LEGACY;
+  private volatile RespawnPolicy respawnPolicy = RespawnPolicy.NONE;
+  private volatile TargetingPolicy targetingPolicy = TargetingPolicy.UNIFORM;
+  private volatile Targeter targeter;
+  private volatile int teamSize = 1;
+  private volatile int arenaSide;
+  private volatile TeamLocking teamLocking = TeamLocking.SORTED;
+  private final AdaptiveController adaptiveController;
+  private final EventStream events = new EventStream();
 
   /*
    * Constructor actualizado para incluir la estrategia de pelea.
-   * - fightStrategy: Estrategia de pelea (NAIVE o ORDERED)
+   * - fightStrategy: Estrategia de pelea (NAIVE, ORDERED, ADAPTIVE, FLAT_COMBINING o ACTOR; ADAPTIVE alterna entre
+   *   lock ordenado, tryLock con backoff y LOCK_FREE segun la contencion, ver FightStrategy)
    */
   public ImmortalManager(int immortalsCount, int health, int damage,
       FightStrategy fightStrategy) {
@@ -34,9 +63,10 @@ public class ImmortalManager implements AutoCloseable {
     this.fightStrategy = fightStrategy;
     this.initialHealth = health;
     this.damage = damage;
+    this.targeter = Targeter.create(TargetingPolicy.UNIFORM, roster, damage, 0);
+    this.adaptiveController = fightStrategy == FightStrategy.ADAPTIVE ? new AdaptiveController(scoreBoard) : null;
 
-    initializeImmortals(immortalsCount, health, damage);
-    pauseController.setTotalThreads(population.size());
+    addImmortals(buildImmortals(0, immortalsCount, i -> health, i -> damage));
   }
 
   public ImmortalManager(int immortalsCount, String fightMode, int health, int damage) {
@@ -47,60 +77,442 @@ public class ImmortalManager implements AutoCloseable {
     return switch (strategy.toLowerCase()) {
       case "naive" -> FightStrategy.NAIVE;
       case "ordered" -> FightStrategy.ORDERED;
+      case "adaptive" -> FightStrategy.ADAPTIVE;
+      case "combining" -> FightStrategy.FLAT_COMBINING;
+      case "actor" -> FightStrategy.ACTOR;
       default -> FightStrategy.ORDERED;
     };
   }
 
-  private void initializeImmortals(int count, int health, int damage) {
-    for (int i = 0; i < count; i++) {
-      String name = String.format("Immortal_%d", i);
-      Immortal immortal = new Immortal(name, health, damage, population,
-          scoreBoard, pauseController,
-          fightStrategy); 
-      population.add(immortal);
+  /*
+   * METODO PARA CREAR INMORTALES EN BLOQUE
+   * - Con poblaciones grandes la creacion (objetos, registro en el indice de seleccion) se reparte entre nucleos
+   * - Los nombres no se construyen aqui: se derivan del id cuando se piden
+   */
+  private Immortal[] buildImmortals(int firstId, int n, IntUnaryOperator health, IntUnaryOperator damage) {
+    Immortal[] batch = new Immortal[n];
+    if (n >= PARALLEL_THRESHOLD)
+      Arrays.parallelSetAll(batch, i -> newImmortal(firstId + i, health.applyAsInt(i), damage.applyAsInt(i)));
+    else
+      Arrays.setAll(batch, i -> newImmortal(firstId + i, health.applyAsInt(i), damage.applyAsInt(i)));
+    return batch;
+  }
+
+  /* Publica un bloque en el roster (en orden de id) y los vivos en la poblacion */
+  private void addImmortals(Immortal[] batch) {
+    roster.addAll(batch);
+    for (Immortal immortal : batch)
+      if (immortal.isImmortalAlive())
+        population.add(immortal);
+    pauseController.setTotalThreads(population.size());
+  }
+
+  private Immortal newImmortal(int id, int health, int damage) {
+    Immortal immortal = new Immortal(id, health, damage, population,
+        scoreBoard, pauseController,
+        fightStrategy);
+    immortal.setFightLogging(fightLogging);
+    immortal.setFightRateGovernor(governor);
+    immortal.setDeathListener(this::onDeath);
+    immortal.setTargeter(targeter);
+    immortal.setRoster(roster);
+    immortal.setAdaptiveController(adaptiveController);
+    immortal.setEventStream(events);
+    immortal.setTeamBattle(teamSize, teamLocking);
+    if (fightStrategy == FightStrategy.ACTOR)
+      immortal.enableMailbox(MAILBOX_CAPACITY);
+    targeter.register(immortal);
+    return immortal;
+  }
+
+  /*
+   * METODO PARA AGREGAR INMORTALES EN TIEMPO DE EJECUCION
+   * - Los nuevos reciben ids consecutivos y la salud inicial del manager
+   * - Si la simulacion esta corriendo se envian de inmediato al executor
+   * - Actualiza el total de hilos del PauseController (si esta pausada, los nuevos se pausan al arrancar)
+   * - Retorna cuantos se crearon
+   */
+  public int spawn(int n) {
+    if (n <= 0)
+      return 0;
+    lock.lock();
+    try {
+      for (int i = 0; i < n; i++) {
+        int id = roster.size();
+        Immortal immortal = newImmortal(id, initialHealth, damage);
+        roster.add(immortal);
+        population.add(immortal);
+        WorkerScope current = scope;
+        if (current != null && !current.isShutdown()) {
+          try {
+            current.fork(immortal);
+          } catch (RejectedExecutionException e) {
+            // stop() en curso: el inmortal queda en la poblacion pero no arranca
+          }
+        }
+      }
+      pauseController.setTotalThreads(population.size());
+      return n;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /*
+   * METODO PARA CAMBIAR LA POLITICA DE SELECCION DE OPONENTE
+   * - Solo antes de start(): el indice se construye con la poblacion viva actual
+   * - Las cubetas de salud tienen el ancho del daño, asi un golpe mueve a lo sumo una cubeta
+   */
+  public void setTargetingPolicy(TargetingPolicy policy) {
+    lock.lock();
+    try {
+      if (isRunning())
+        throw new IllegalStateException("Targeting policy can only be changed before start()");
+      Targeter next = Targeter.create(policy, roster, damage, arenaSide);
+      for (Immortal im : population)
+        next.register(im);
+      int n = roster.size();
+      for (int i = 0; i < n; i++)
+        roster.get(i).setTargeter(next);
+      this.targeter = next;
+      this.targetingPolicy = policy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public TargetingPolicy getTargetingPolicy() {
+    return targetingPolicy;
+  }
+
+  Targeter targeter() {
+    return targeter;
+  }
+
+  /* Todos los inmortales creados, vivos y muertos, por id */
+  Roster roster() {
+    return roster;
+  }
+
+  /* Lado de la grilla para ARENA (0 = automatico, unos 4 inmortales por celda); reconstruye la arena si ya esta activa */
+  public void setArenaSide(int side) {
+    if (side < 0)
+      throw new IllegalArgumentException("side must not be negative");
+    lock.lock();
+    try {
+      if (isRunning())
+        throw new IllegalStateException("Arena size can only be changed before start()");
+      this.arenaSide = side;
+      if (targetingPolicy == TargetingPolicy.ARENA)
+        setTargetingPolicy(TargetingPolicy.ARENA);
+    } finally {
+      lock.unlock();
     }
   }
 
-  public synchronized void start() {
-    if (executorService != null)
-      stop();
-    executorService = Executors.newVirtualThreadPerTaskExecutor();
-    for (Immortal im : population) {
-      futures.add(executorService.submit(im));
+  public void setRespawnPolicy(RespawnPolicy policy) {
+    this.respawnPolicy = policy == null ? RespawnPolicy.NONE : policy;
+  }
+
+  public RespawnPolicy getRespawnPolicy() {
+    return respawnPolicy;
+  }
+
+  /*
+   * METODO INVOCADO CUANDO UN INMORTAL MUERE (HILO DEL ASESINO, SIN LOCKS DE PELEA)
+   * - Consulta la politica de reaparicion y crea los inmortales que falten
+   * - Solo reaparecen en la corrida del asesino: si mientras esperaba el lock hubo stop() o un start() nuevo, no crea nada
+   * - La espera es interrumpible: stop() no tiene que esperar a un asesino encolado
+   */
+  private void onDeath(Immortal dead) {
+    RespawnPolicy policy = respawnPolicy;
+    WorkerScope runScope = scope;
+    if (policy == RespawnPolicy.NONE || runScope == null || runScope.isShutdown())
+      return;
+    try {
+      lock.lockInterruptibly();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    try {
+      if (scope == runScope && !runScope.isShutdown())
+        spawn(policy.spawnCount(population.size()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /*
+   * METODO PARA ARRANCAR LA SIMULACION
+   * - Una corrida anterior se detiene sin tener el lock: los asesinos que esperan para reaparecer pueden terminar
+   * - El lock solo se toma para crear el alcance (WorkerScope) y fotografiar la poblacion (spawn() arranca a los que lleguen despues)
+   * - Si otro start() gano la carrera entre ambos pasos, se detiene esa corrida y se reintenta
+   * - Con poblaciones grandes el envio se hace por lotes, cada lote desde su propio hilo virtual
+   */
+  public void start() {
+    WorkerScope runScope = null;
+    Immortal[] initial = null;
+    while (runScope == null) {
+      if (scope != null)
+        stop();
+      lock.lock();
+      try {
+        if (!isRunning()) {
+          runScope = new WorkerScope(backend, parallelism);
+          initial = population.toArray(new Immortal[0]);
+          scope = runScope;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    launch(runScope, initial);
+  }
+
+  private static void launch(WorkerScope runScope, Immortal[] initial) {
+    try {
+      if (initial.length <= START_BATCH) {
+        forkAll(runScope, initial, 0, initial.length);
+        return;
+      }
+      for (int from = 0; from < initial.length; from += START_BATCH) {
+        int start = from;
+        int end = Math.min(initial.length, from + START_BATCH);
+        runScope.forkTask(() -> forkAll(runScope, initial, start, end));
+      }
+    } catch (RejectedExecutionException e) {
+      // stop() en curso
+    }
+  }
+
+  private static void forkAll(WorkerScope runScope, Immortal[] batch, int from, int to) {
+    try {
+      for (int i = from; i < to; i++)
+        runScope.fork(batch[i]);
+    } catch (RejectedExecutionException e) {
+      // stop() en curso: el resto del lote no arranca
+    }
+  }
+
+  /*
+   * METODO PARA ELEGIR EL BACKEND DE EJECUCION
+   * - Solo con la simulacion detenida; aplica desde el siguiente start()
+   * - parallelism: hilos de PLATFORM_POOL y FORK_JOIN (VIRTUAL lo ignora)
+   */
+  public void setExecutionBackend(ExecutionBackend backend, int parallelism) {
+    if (parallelism <= 0)
+      throw new IllegalArgumentException("parallelism must be positive");
+    lock.lock();
+    try {
+      if (isRunning())
+        throw new IllegalStateException("Execution backend can only be changed while stopped");
+      this.backend = backend;
+      this.parallelism = parallelism;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public ExecutionBackend getExecutionBackend() {
+    return backend;
+  }
+
+  /*
+   * METODO PARA CONFIGURAR BATALLAS DE EQUIPO
+   * - teamSize = 1: peleas 1 contra 1 con la estrategia del manager
+   * - teamSize > 1: cada ataque golpea hasta teamSize oponentes a la vez, bloqueando a todos segun 'locking'
+   *   (en modo ACTOR son teamSize mensajes de ataque)
+   */
+  public void setTeamBattle(int teamSize, TeamLocking locking) {
+    if (teamSize <= 0)
+      throw new IllegalArgumentException("teamSize must be positive");
+    lock.lock();
+    try {
+      if (isRunning())
+        throw new IllegalStateException("Team battles can only be configured while stopped");
+      this.teamSize = teamSize;
+      this.teamLocking = locking;
+      int n = roster.size();
+      for (int i = 0; i < n; i++)
+        roster.get(i).setTeamBattle(teamSize, locking);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getTeamSize() {
+    return teamSize;
+  }
+
+  /*
+   * METODO PARA COPIAR LA CONFIGURACION DE OTRO MANAGER
+   * - Arena, seleccion de oponente, backend, ritmo, equipos, reaparicion y log de peleas (no poblacion ni estrategia)
+   * - Solo con la simulacion detenida; lo usa la UI para que un Start nuevo conserve lo configurado al lanzar
+   */
+  public void copySettingsFrom(ImmortalManager source) {
+    lock.lock();
+    try {
+      if (isRunning())
+        throw new IllegalStateException("Settings can only be copied while stopped");
+      setArenaSide(source.arenaSide);
+      setTargetingPolicy(source.targetingPolicy);
+      setExecutionBackend(source.backend, source.parallelism);
+      setFightRateGovernor(source.governor);
+      setTeamBattle(source.teamSize, source.teamLocking);
+      setRespawnPolicy(source.respawnPolicy);
+      setFightLogging(source.fightLogging);
+    } finally {
+      lock.unlock();
     }
   }
 
   public void pause() throws InterruptedException {
     pauseController.pause();
+    events.publishPause(true);
     pauseController.waitUntilAllPaused();
   }
 
+  /*
+   * METODO PARA PAUSAR CON PLAZO
+   * - Las esperas por locks y el ritmo entre peleas ceden ante la pausa, asi que termina en un tiempo acotado
+   * - Retorna false si al vencer el plazo aun hay inmortales sin pausar (la pausa queda pedida)
+   */
+  public boolean pause(Duration timeout) throws InterruptedException {
+    pauseController.pause();
+    events.publishPause(true);
+    return pauseController.waitUntilAllPaused(timeout);
+  }
+
+  /* Tiempo desde el ultimo pause hasta que todos los inmortales quedaron quietos; -1 si aun no */
+  public long lastQuiesceNanos() {
+    return pauseController.lastQuiesceNanos();
+  }
+
   public void resume() {
     pauseController.resume();
+    events.publishPause(false);
   }
 
-public void stop() {
-    for (Immortal im : population) {
-        im.stopImmortal();
+  /*
+   * METODO PARA DETENER LA SIMULACION
+   * - Marca a todos, libera la pausa y cierra el alcance: interrumpe cada tarea y espera a que terminen
+   * - Todas las esperas son interrumpibles, asi que no hay que esperar a que terminen solos (ni aun con NAIVE interbloqueado)
+   * - Con todas las tareas terminadas devuelve los turnos del gobernador que quedaron reservados (las vueltas
+   *   programadas de los backends de pool se descartan sin pasar por exit())
+   * - Cierra el flujo de eventos: completa a los suscriptores y termina el despachador (la poblacion queda vacia,
+   *   asi que la corrida no se puede retomar)
+   * - Guarda cuanto tardo en lastStopNanos()
+   */
+  public void stop() {
+    long begin = System.nanoTime();
+    Object[] running = population.toArray();
+    for (Object im : running) {
+      ((Immortal) im).stopImmortal();
     }
 
     if (pauseController.paused()) {
-        pauseController.resume();
-    }
-
-    if (executorService != null) {
-        executorService.shutdown(); 
-        try {
-            if (!executorService.awaitTermination(2, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
+      pauseController.resume();
+    }
+
+    WorkerScope current = scope;
+    if (current != null) {
+      try {
+        if (current.close(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          for (Object im : running)
+            ((Immortal) im).releasePermits();
+        } else {
+          System.err.println("Some immortals did not stop within " + STOP_TIMEOUT_MILLIS + " ms");
         }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
     }
     population.clear();
-}
+    roster.clearLive();
+    events.close();
+    lastStopNanos = System.nanoTime() - begin;
+  }
+
+  /* Duracion del ultimo stop() */
+  public long lastStopNanos() {
+    return lastStopNanos;
+  }
+
+  /* Primera excepcion no controlada de una tarea de la corrida actual (o de la ultima), o null */
+  public Throwable workerFailure() {
+    WorkerScope current = scope;
+    return current == null ? null : current.failure();
+  }
+
+  /*
+   * METODO PARA GUARDAR UN CHECKPOINT (FORMATO EN Checkpoint)
+   * - Si la simulacion corre, la pausa mientras escribe y luego la reanuda
+   * - Si ya estaba pausada o detenida, escribe el estado tal cual
+   */
+  public void checkpoint(Path target) throws IOException, InterruptedException {
+    boolean pausedHere = isRunning() && !pauseController.paused();
+    if (pausedHere)
+      pause();
+    try {
+      Checkpoint.write(this, roster, target);
+    } finally {
+      if (pausedHere)
+        resume();
+    }
+  }
+
+  /* Reconstruye un manager (detenido) desde un checkpoint; se arranca con start() */
+  public static ImmortalManager restore(Path source) throws IOException {
+    return Checkpoint.read(source);
+  }
+
+  /*
+   * METODO PARA RECONSTRUIR LA POBLACION DE UN CHECKPOINT
+   * - Mismo camino en bloque que el constructor; los muertos quedan en el roster pero no en la poblacion
+   * - Las muertes y el daño hecho se devuelven a cada inmortal y reconstruyen los top-K del ScoreBoard
+   */
+  void restorePopulation(int n, IntBuffer health, IntBuffer damages, LongBuffer kills, LongBuffer dealt) {
+    Immortal[] restored = buildImmortals(roster.size(), n, health::get, damages::get);
+    for (int i = 0; i < n; i++) {
+      Immortal immortal = restored[i];
+      if (immortal.getHealth() <= 0)
+        immortal.stopImmortal();
+      immortal.restoreCredit(kills.get(i), dealt.get(i));
+    }
+    addImmortals(restored);
+  }
+
+  /*
+   * METODO PARA ACTIVAR/DESACTIVAR EL LOG DE CADA PELEA
+   * - El printf por pelea domina el costo cuando se mide rendimiento
+   */
+  public void setFightLogging(boolean enabled) {
+    this.fightLogging = enabled;
+    int n = roster.size();
+    for (int i = 0; i < n; i++)
+      roster.get(i).setFightLogging(enabled);
+  }
+
+  public boolean isFightLogging() {
+    return fightLogging;
+  }
+
+  /*
+   * METODO PARA CAMBIAR EL RITMO DE PELEAS (TAMBIEN CON LA SIMULACION CORRIENDO)
+   * - Cada inmortal toma el nuevo gobernador en su siguiente pelea
+   */
+  public void setFightRateGovernor(FightRateGovernor governor) {
+    FightRateGovernor next = governor == null ? FightRateGovernor.LEGACY : governor;
+    this.governor = next;
+    int n = roster.size();
+    for (int i = 0; i < n; i++)
+      roster.get(i).setFightRateGovernor(next);
+  }
+
+  public FightRateGovernor getFightRateGovernor() {
+    return governor;
+  }
 
   public int aliveCount() {
     int c = 0;
@@ -110,13 +522,99 @@ public void stop() {
     return c;
   }
 
+  /*
+   * METODO PARA SUMAR LA SALUD SIN BLOQUEAR LAS PELEAS
+   * - Lectura optimista (ver snapshotTotalHealth); si no logra un corte estable retorna la ultima suma
+   * - Nunca toma locks: la UI puede refrescar sin frenar a los inmortales
+   */
   public long totalHealth() {
+    Object[] alive = population.toArray();
+    OptionalLong consistent = snapshotTotalHealth(alive, OPTIMISTIC_READS);
+    return consistent.isPresent() ? consistent.getAsLong() : sumHealth(alive);
+  }
+
+  /*
+   * METODO PARA UNA SUMA CONSISTENTE POR DOBLE RECOLECCION
+   * - Primera pasada: sellos (todos pares) y saludes; segunda pasada: los mismos sellos
+   * - Si nada cambio, la suma corresponde a un instante sin peleas a medias: con locks, con CAS (ADAPTIVE/LOCK_FREE,
+   *   FLAT_COMBINING) el sello del atacante queda impar entre sus dos CAS
+   * - Con ACTOR un golpe son dos mensajes (daño a la victima, ganancia al atacante): la suma es por mensaje aplicado
+   * - Vacio si no lo logra en 'attempts' intentos (peleas muy frecuentes)
+   */
+  OptionalLong snapshotTotalHealth(Object[] alive, int attempts) {
+    int[] stamps = new int[alive.length];
+    for (int attempt = 0; attempt < attempts; attempt++) {
+      long sum = 0;
+      boolean stable = true;
+      for (int i = 0; i < alive.length && stable; i++) {
+        Immortal im = (Immortal) alive[i];
+        stamps[i] = im.stamp();
+        stable = (stamps[i] & 1) == 0;
+        sum += im.getHealth();
+      }
+      for (int i = 0; i < alive.length && stable; i++)
+        stable = ((Immortal) alive[i]).stamp() == stamps[i];
+      if (stable)
+        return OptionalLong.of(sum);
+      Thread.onSpinWait();
+    }
+    return OptionalLong.empty();
+  }
+
+  private static long sumHealth(Object[] alive) {
     long sum = 0;
-    for (Immortal im : population)
-      sum += im.getHealth();
+    for (Object im : alive)
+      sum += ((Immortal) im).getHealth();
     return sum;
   }
 
+  /*
+   * METODO PARA COPIAR LA SALUD DE TODOS LOS INMORTALES (VIVOS Y MUERTOS)
+   * - La posicion i corresponde al inmortal con id i, asi la vista es estable
+   * - No reserva memoria: escribe en el arreglo dado y retorna cuantas posiciones lleno
+   */
+  public int healthSnapshot(int[] dst) {
+    int n = Math.min(dst.length, roster.size());
+    for (int i = 0; i < n; i++)
+      dst[i] = roster.get(i).getHealth();
+    return n;
+  }
+
+  /*
+   * UN INMORTAL VIVO AL AZAR (O(1), SOBRE EL INDICE DE VIVOS DEL ROSTER), O NULL SI NO HAY
+   * - Lo usa el modo distribuido para elegir atacantes y victimas de peleas entre particiones
+   */
+  public Immortal randomAlive() {
+    return roster.randomLive(null);
+  }
+
+  /*
+   * GOLPES QUE LLEGAN DE OTRA PARTICION (MODO DISTRIBUIDO)
+   * - applyExternalHit: la victima pierde damage; false si ya estaba muerta
+   * - applyExternalGain: el atacante local recibe la ganancia de un golpe que la otra particion aplico
+   * - No se admiten con ACTOR: ahi solo el hilo de cada inmortal escribe su salud
+   */
+  public boolean applyExternalHit(int targetId, int damage) {
+    requireLockBasedStrategy();
+    return targetId >= 0 && targetId < roster.size() && roster.get(targetId).takeExternalHit(damage);
+  }
+
+  public void applyExternalGain(int attackerId, int gain) {
+    requireLockBasedStrategy();
+    if (attackerId >= 0 && attackerId < roster.size())
+      roster.get(attackerId).gainExternal(gain);
+  }
+
+  private void requireLockBasedStrategy() {
+    if (fightStrategy == FightStrategy.ACTOR)
+      throw new IllegalStateException("External hits are not supported with the ACTOR strategy");
+  }
+
+  /* Numero de inmortales creados (incluye los muertos) */
+  public int rosterSize() {
+    return roster.size();
+  }
+
   public List<Immortal> populationSnapshot() {
     return Collections.unmodifiableList(new ArrayList<>(population));
   }
@@ -125,6 +623,20 @@ public void stop() {
     return fightStrategy;
   }
 
+  /*
+   * FLUJO DE EVENTOS DE LA SIMULACION (PELEAS, MUERTES, PAUSAS)
+   * - Para buffer y politica de desborde propios usar events().subscribe(subscriber, size, policy)
+   * - stop() y close() completan a los suscriptores
+   */
+  public EventStream events() {
+    return events;
+  }
+
+  /* Controlador de la estrategia ADAPTIVE (modo actual y cambios); null con otras estrategias */
+  public AdaptiveController adaptiveController() {
+    return adaptiveController;
+  }
+
   public int getInitialHealth() {
     return initialHealth;
   }
@@ -134,7 +646,8 @@ public void stop() {
   }
 
   public boolean isRunning() {
-    return executorService != null && !executorService.isShutdown();
+    WorkerScope current = scope;
+    return current != null && !current.isShutdown();
   }
 
   public ScoreBoard scoreBoard() {
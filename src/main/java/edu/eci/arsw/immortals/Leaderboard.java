@@ -0,0 +1,134 @@
+package edu.eci.arsw.immortals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Top-K de inmortales por un puntaje que solo crece (muertes o daño
+ * causado), mantenido en linea desde las peleas sin ordenar la poblacion.
+ *
+ * Los inmortales se reparten por id en franjas; cada franja guarda su
+ * propio top-K como un arreglo ordenado inmutable (copia al escribir) y
+ * publica su umbral de entrada. El top-K global siempre esta contenido en
+ * la union de los top-K de las franjas, asi que top() es exacto y cuesta
+ * O(franjas * K) sin importar el tamaño de la poblacion.
+ *
+ * En el camino caliente casi todas las actualizaciones se descartan con
+ * una lectura volatil del umbral; solo las que entran al top toman el lock
+ * de su franja.
+ */
+public final class Leaderboard {
+
+  public static final int DEFAULT_K = 10;
+  static final int DEFAULT_STRIPES = 16;
+
+  public record Entry(int id, String name, long score) {}
+
+  private static final Entry[] EMPTY = new Entry[0];
+
+  private static final class Stripe {
+    final ReentrantLock lock = new ReentrantLock();
+    /* Puntaje minimo para entrar (0 mientras la franja no este llena) */
+    volatile long threshold;
+    /* Orden descendente por puntaje (empates por id); nunca se modifica, se reemplaza */
+    volatile Entry[] entries = EMPTY;
+  }
+
+  private final int k;
+  private final Stripe[] stripes;
+  private final int mask;
+
+  public Leaderboard() {
+    this(DEFAULT_K, DEFAULT_STRIPES);
+  }
+
+  /* stripes se redondea a potencia de dos */
+  public Leaderboard(int k, int stripes) {
+    if (k < 1 || stripes < 1)
+      throw new IllegalArgumentException("k and stripes must be >= 1");
+    int n = 1;
+    while (n < stripes)
+      n <<= 1;
+    this.k = k;
+    this.stripes = new Stripe[n];
+    for (int i = 0; i < n; i++)
+      this.stripes[i] = new Stripe();
+    this.mask = n - 1;
+  }
+
+  public int k() {
+    return k;
+  }
+
+  /*
+   * METODO PARA REPORTAR EL PUNTAJE ACTUAL DE UN INMORTAL
+   * - Camino rapido sin lock: si no supera el umbral de su franja se descarta
+   * - Con el lock de la franja reemplaza (o inserta) su entrada y recorta a K
+   * - Un puntaje viejo que llega tarde no pisa uno mayor ya publicado
+   */
+  public void update(Immortal immortal, long score) {
+    Stripe stripe = stripes[immortal.id() & mask];
+    if (score <= stripe.threshold)
+      return;
+    stripe.lock.lock();
+    try {
+      if (score <= stripe.threshold)
+        return;
+      Entry[] current = stripe.entries;
+      Entry entry = new Entry(immortal.id(), immortal.name(), score);
+      Entry[] next = new Entry[current.length + 1];
+      int n = 0;
+      boolean placed = false;
+      for (Entry e : current) {
+        if (e.id() == entry.id()) {
+          if (e.score() >= score)
+            return;
+          continue;
+        }
+        if (!placed && before(entry, e)) {
+          next[n++] = entry;
+          placed = true;
+        }
+        next[n++] = e;
+      }
+      if (!placed)
+        next[n++] = entry;
+      next = Arrays.copyOf(next, Math.min(n, k));
+      stripe.entries = next;
+      stripe.threshold = next.length == k ? next[k - 1].score() : 0;
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  private static boolean before(Entry a, Entry b) {
+    return a.score() > b.score() || (a.score() == b.score() && a.id() < b.id());
+  }
+
+  /*
+   * METODO PARA CONSULTAR EL TOP-K (SIN LOCKS)
+   * - Mezcla las cabezas de las fotos de cada franja: O(franjas * K)
+   * - Cada franja es una foto consistente; entre franjas puede haber una pelea de diferencia
+   */
+  public List<Entry> top() {
+    Entry[][] heads = new Entry[stripes.length][];
+    for (int s = 0; s < stripes.length; s++)
+      heads[s] = stripes[s].entries;
+    int[] cursor = new int[stripes.length];
+    List<Entry> top = new ArrayList<>(k);
+    while (top.size() < k) {
+      int best = -1;
+      for (int s = 0; s < heads.length; s++) {
+        if (cursor[s] < heads[s].length
+            && (best < 0 || before(heads[s][cursor[s]], heads[best][cursor[best]])))
+          best = s;
+      }
+      if (best < 0)
+        break;
+      top.add(heads[best][cursor[best]++]);
+    }
+    return List.copyOf(top);
+  }
+}
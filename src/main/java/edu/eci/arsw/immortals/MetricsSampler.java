@@ -0,0 +1,172 @@
+package edu.eci.arsw.immortals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
+
+/**
+ * Muestreador de metricas de una simulacion. Cada periodo (100 ms por
+ * defecto) toma peleas/segundo, inmortales vivos, p99 de espera por locks
+ * del intervalo e hilos pausados, y los guarda en un buffer circular de
+ * arreglos primitivos de capacidad fija.
+ *
+ * Un unico hilo escribe; los lectores (UI, exportacion CSV) obtienen una
+ * copia ordenada con snapshot(). El top-K de muertes y daño no se muestrea:
+ * se exporta en el momento desde los leaderboards (exportLeadersCsv).
+ */
+public final class MetricsSampler implements AutoCloseable {
+
+  public static final long DEFAULT_PERIOD_MILLIS = 100;
+
+  /* Copia ordenada (de la mas antigua a la mas reciente) de las series */
+  public record Series(long[] timeMillis, double[] fightsPerSecond, int[] alive,
+      double[] lockWaitP99Micros, int[] pausedThreads) {
+    public int size() {
+      return timeMillis.length;
+    }
+  }
+
+  private final ImmortalManager manager;
+  private final long periodMillis;
+  private final ScheduledExecutorService scheduler;
+
+  private final long[] time;
+  private final double[] fightsPerSecond;
+  private final int[] alive;
+  private final double[] lockWaitP99;
+  private final int[] paused;
+  private int next = 0;
+  private int size = 0;
+
+  /* Estado del hilo muestreador */
+  private final long[] previousWait = new long[LatencyHistogram.BUCKETS];
+  private final long[] currentWait = new long[LatencyHistogram.BUCKETS];
+  private long previousFights;
+  private long previousNanos;
+  private final long startNanos = System.nanoTime();
+
+  public MetricsSampler(ImmortalManager manager, int capacity) {
+    this(manager, capacity, DEFAULT_PERIOD_MILLIS);
+  }
+
+  public MetricsSampler(ImmortalManager manager, int capacity, long periodMillis) {
+    this.manager = manager;
+    this.periodMillis = periodMillis;
+    this.time = new long[capacity];
+    this.fightsPerSecond = new double[capacity];
+    this.alive = new int[capacity];
+    this.lockWaitP99 = new double[capacity];
+    this.paused = new int[capacity];
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "metrics-sampler");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  public MetricsSampler start() {
+    previousFights = manager.scoreBoard().totalFights();
+    previousNanos = System.nanoTime();
+    manager.scoreBoard().lockWaitHistogram().copyInto(previousWait);
+    scheduler.scheduleAtFixedRate(this::sample, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  /*
+   * METODO DE MUESTREO (HILO DEL MUESTREADOR)
+   * - Las tasas y el p99 son del intervalo, no acumulados desde el inicio
+   */
+  void sample() {
+    long now = System.nanoTime();
+    long fights = manager.scoreBoard().totalFights();
+    double rate = (fights - previousFights) * 1e9 / Math.max(1, now - previousNanos);
+
+    manager.scoreBoard().lockWaitHistogram().copyInto(currentWait);
+    for (int i = 0; i < currentWait.length; i++) {
+      long c = currentWait[i];
+      currentWait[i] = c - previousWait[i];
+      previousWait[i] = c;
+    }
+    double p99Micros = LatencyHistogram.percentile(currentWait, 0.99) / 1000.0;
+
+    int aliveNow = manager.aliveCount();
+    int pausedNow = manager.controller().pausedThreads();
+
+    synchronized (this) {
+      time[next] = (now - startNanos) / 1_000_000;
+      fightsPerSecond[next] = rate;
+      alive[next] = aliveNow;
+      lockWaitP99[next] = p99Micros;
+      paused[next] = pausedNow;
+      next = (next + 1) % time.length;
+      if (size < time.length)
+        size++;
+    }
+    previousFights = fights;
+    previousNanos = now;
+  }
+
+  public synchronized Series snapshot() {
+    int n = size;
+    int first = (next - n + time.length) % time.length;
+    Series s = new Series(new long[n], new double[n], new int[n], new double[n], new int[n]);
+    for (int i = 0; i < n; i++) {
+      int j = (first + i) % time.length;
+      s.timeMillis()[i] = time[j];
+      s.fightsPerSecond()[i] = fightsPerSecond[j];
+      s.alive()[i] = alive[j];
+      s.lockWaitP99Micros()[i] = lockWaitP99[j];
+      s.pausedThreads()[i] = paused[j];
+    }
+    return s;
+  }
+
+  public void exportCsv(Path target) throws IOException {
+    Series s = snapshot();
+    try (BufferedWriter out = Files.newBufferedWriter(target)) {
+      out.write("time_ms,fights_per_sec,alive,lock_wait_p99_us,paused_threads");
+      out.newLine();
+      for (int i = 0; i < s.size(); i++) {
+        out.write(String.format(Locale.ROOT, "%d,%.1f,%d,%.3f,%d", s.timeMillis()[i],
+            s.fightsPerSecond()[i], s.alive()[i], s.lockWaitP99Micros()[i], s.pausedThreads()[i]));
+        out.newLine();
+      }
+    }
+  }
+
+  /*
+   * METODO PARA EXPORTAR EL TOP-K DE MUERTES Y DE DAÑO A CSV
+   * - Foto actual de los leaderboards del ScoreBoard: O(K), no recorre la poblacion
+   */
+  public void exportLeadersCsv(Path target) throws IOException {
+    ScoreBoard board = manager.scoreBoard();
+    try (BufferedWriter out = Files.newBufferedWriter(target)) {
+      out.write("board,rank,id,name,score");
+      out.newLine();
+      writeLeaders(out, "kills", board.killLeaders().top());
+      writeLeaders(out, "damage", board.damageLeaders().top());
+    }
+  }
+
+  private static void writeLeaders(BufferedWriter out, String board, List<Leaderboard.Entry> top)
+      throws IOException {
+    for (int i = 0; i < top.size(); i++) {
+      Leaderboard.Entry e = top.get(i);
+      out.write(String.format(Locale.ROOT, "%s,%d,%d,%s,%d", board, i + 1, e.id(), e.name(), e.score()));
+      out.newLine();
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
@@ -0,0 +1,22 @@
+package edu.eci.arsw.immortals;
+
+/*
+ * POLITICA DE REAPARICION DE INMORTALES
+ *    - Se consulta cada vez que muere un inmortal
+ *    - Retorna cuantos inmortales nuevos crear dada la poblacion viva actual
+ *    - NONE: la poblacion solo decrece (comportamiento original)
+ *    - keepPopulation(n): mantiene la poblacion en n para pruebas de carga estables
+ */
+@FunctionalInterface
+public interface RespawnPolicy {
+
+  RespawnPolicy NONE = alive -> 0;
+
+  int spawnCount(int alive);
+
+  static RespawnPolicy keepPopulation(int target) {
+    if (target < 2)
+      throw new IllegalArgumentException("target population must be >= 2");
+    return alive -> Math.max(0, target - alive);
+  }
+}
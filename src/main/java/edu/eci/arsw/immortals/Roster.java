@@ -0,0 +1,166 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro de todos los inmortales creados por un manager (vivos y
+ * muertos), indexado por id. Crece duplicando su capacidad; el tamaño se
+ * publica (volatile) despues de llenar las posiciones, asi un lector que
+ * lee size() y luego get(i) con i < size() siempre ve un inmortal.
+ *
+ * Ademas mantiene un indice denso solo con los vivos para sortear
+ * oponentes: quien saca a un inmortal de la poblacion lo quita de ahi en
+ * O(1) (el ultimo ocupa su lugar). Asi los sorteos no fallan aunque el
+ * roster acumule muertos (p. ej. con keepPopulation). Las escrituras usan
+ * un lock y no el monitor porque ocurren en el camino de cada muerte.
+ */
+final class Roster {
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile Immortal[] slots = new Immortal[0];
+  private volatile int size = 0;
+  private volatile Immortal[] live = new Immortal[0];
+  private volatile int liveSize = 0;
+
+  int size() {
+    return size;
+  }
+
+  Immortal get(int id) {
+    return slots[id];
+  }
+
+  /* Cuantos hay en el indice de vivos */
+  int liveCount() {
+    return liveSize;
+  }
+
+  /* El lugar pos del indice de vivos sin lock: puede ser null o un muerto si se esta moviendo */
+  Immortal liveAt(int pos) {
+    Immortal[] current = live;
+    return pos < current.length ? current[pos] : null;
+  }
+
+  /* El inmortal debe tener id == size() */
+  void add(Immortal immortal) {
+    lock.lock();
+    try {
+      int n = size;
+      if (immortal.id() != n)
+        throw new IllegalArgumentException("Expected id " + n + " but got " + immortal.id());
+      Immortal[] current = slots;
+      if (n == current.length) {
+        Immortal[] grown = new Immortal[Math.max(16, n * 2)];
+        System.arraycopy(current, 0, grown, 0, n);
+        slots = grown;
+        current = grown;
+      }
+      current[n] = immortal;
+      size = n + 1;
+      addLive(immortal);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Agrega un bloque de inmortales con ids consecutivos desde size() */
+  void addAll(Immortal[] batch) {
+    lock.lock();
+    try {
+      int n = size;
+      for (int i = 0; i < batch.length; i++)
+        if (batch[i].id() != n + i)
+          throw new IllegalArgumentException("Expected id " + (n + i) + " but got " + batch[i].id());
+      Immortal[] current = slots;
+      if (n + batch.length > current.length) {
+        Immortal[] grown = new Immortal[Math.max(16, Math.max(n * 2, n + batch.length))];
+        System.arraycopy(current, 0, grown, 0, n);
+        slots = grown;
+        current = grown;
+      }
+      System.arraycopy(batch, 0, current, n, batch.length);
+      size = n + batch.length;
+      for (Immortal immortal : batch)
+        addLive(immortal);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Con el lock: agrega al indice de vivos (los creados muertos, p. ej. al restaurar, no entran) */
+  private void addLive(Immortal immortal) {
+    if (!immortal.isImmortalAlive())
+      return;
+    int n = liveSize;
+    Immortal[] current = live;
+    if (n == current.length) {
+      Immortal[] grown = new Immortal[Math.max(16, n * 2)];
+      System.arraycopy(current, 0, grown, 0, n);
+      current = grown;
+    }
+    current[n] = immortal;
+    immortal.livePos = n;
+    live = current;
+    liveSize = n + 1;
+  }
+
+  /* Saca a un inmortal del indice de vivos en O(1); no hace nada si ya no estaba */
+  void removeLive(Immortal immortal) {
+    lock.lock();
+    try {
+      int pos = immortal.livePos;
+      if (pos < 0)
+        return;
+      int last = liveSize - 1;
+      Immortal[] current = live;
+      Immortal moved = current[last];
+      current[pos] = moved;
+      moved.livePos = pos;
+      current[last] = null;
+      immortal.livePos = -1;
+      liveSize = last;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Vacia el indice de vivos (stop() vacia la poblacion) */
+  void clearLive() {
+    lock.lock();
+    try {
+      Immortal[] current = live;
+      for (int i = 0; i < liveSize; i++)
+        current[i].livePos = -1;
+      live = new Immortal[0];
+      liveSize = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /*
+   * UN INMORTAL VIVO AL AZAR DISTINTO DE exclude (PUEDE SER NULL), O NULL SI NO HAY
+   * - Sin lock: unos pocos sorteos sobre el indice denso; un lugar que se esta moviendo puede verse vacio o con
+   *   un muerto, por eso se verifica cada candidato
+   * - Si todos fallan (casi solo queda exclude) recorre el indice, que en ese caso es pequeño
+   */
+  Immortal randomLive(Immortal exclude) {
+    Immortal[] current = live;
+    int n = Math.min(liveSize, current.length);
+    if (n == 0)
+      return null;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < Targeter.PROBES; i++) {
+      Immortal candidate = current[random.nextInt(n)];
+      if (candidate != null && candidate != exclude && candidate.isImmortalAlive())
+        return candidate;
+    }
+    int from = random.nextInt(n);
+    for (int i = 0; i < n; i++) {
+      Immortal candidate = current[(from + i) % n];
+      if (candidate != null && candidate != exclude && candidate.isImmortalAlive())
+        return candidate;
+    }
+    return null;
+  }
+}
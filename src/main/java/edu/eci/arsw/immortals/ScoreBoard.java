@@ -1,9 +1,56 @@
 package edu.eci.arsw.immortals;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.eci.arsw.concurrency.LatencyHistogram;
 
 public final class ScoreBoard {
   private final AtomicLong totalFights = new AtomicLong();
+  private final LatencyHistogram lockWait = new LatencyHistogram();
+  private final AtomicLong adaptiveSwitches = new AtomicLong();
+  private final LongAdder combinerPasses = new LongAdder();
+  private final LongAdder droppedMessages = new LongAdder();
+  private final LongAdder teamBattles = new LongAdder();
+  private final LongAdder teamRetries = new LongAdder();
+  private final Leaderboard killLeaders = new Leaderboard();
+  private final Leaderboard damageLeaders = new Leaderboard();
   public void recordFight() { totalFights.incrementAndGet(); }
   public long totalFights() { return totalFights.get(); }
+  /* Tiempo que un atacante espero para obtener los locks de una pelea */
+  public void recordLockWait(long nanos) { lockWait.record(nanos); }
+  public LatencyHistogram lockWaitHistogram() { return lockWait; }
+  /* Cambios de modo de la estrategia ADAPTIVE */
+  public void recordAdaptiveSwitch() { adaptiveSwitches.incrementAndGet(); }
+  public long adaptiveSwitches() { return adaptiveSwitches.get(); }
+  /* Pasadas de un combinador (FLAT_COMBINING): peleas / pasadas = peleas aplicadas por adquisicion de lock */
+  public void recordCombinerPass() { combinerPasses.increment(); }
+  public long combinerPasses() { return combinerPasses.sum(); }
+  /* Mensajes del modo ACTOR descartados por buzon lleno */
+  public void recordDroppedMessage() { droppedMessages.increment(); }
+  public long droppedMessages() { return droppedMessages.sum(); }
+
+  /* Batallas de equipo: aplicadas y reintentos de TRY_ALL (algun lock ocupado) */
+  public void recordTeamBattle() { teamBattles.increment(); }
+  public long teamBattles() { return teamBattles.sum(); }
+  public void recordTeamRetry() { teamRetries.increment(); }
+  public long teamRetries() { return teamRetries.sum(); }
+
+  /* Top-K por muertes y por daño causado; se alimentan con los contadores de cada inmortal (Immortal.credit) */
+  void recordCredit(Immortal attacker, long kills, long damageDealt) {
+    if (kills > 0) killLeaders.update(attacker, kills);
+    damageLeaders.update(attacker, damageDealt);
+  }
+  public Leaderboard killLeaders() { return killLeaders; }
+  public Leaderboard damageLeaders() { return damageLeaders; }
+
+  /* Solo al restaurar un checkpoint, antes de arrancar */
+  void restore(long fights, long switches, long passes, long dropped) {
+    totalFights.set(fights);
+    adaptiveSwitches.set(switches);
+    combinerPasses.reset();
+    combinerPasses.add(passes);
+    droppedMessages.reset();
+    droppedMessages.add(dropped);
+  }
 }
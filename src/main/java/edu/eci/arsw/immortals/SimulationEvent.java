@@ -0,0 +1,21 @@
+package edu.eci.arsw.immortals;
+
+/**
+ * Eventos publicados por ImmortalManager.events(). Son inmutables y solo
+ * llevan ids y valores primitivos, asi un suscriptor lento no retiene
+ * inmortales muertos.
+ *
+ * atNanos es System.nanoTime() del momento en que ocurrio el evento.
+ */
+public sealed interface SimulationEvent {
+
+  long atNanos();
+
+  /* Golpe(s) de attacker sobre victim; hits > 1 cuando el stream los agrupa (COALESCE) */
+  record Fight(long atNanos, int attackerId, int victimId, int attackerHealth, int victimHealth, int hits)
+      implements SimulationEvent {}
+
+  record Death(long atNanos, int victimId, int killerId) implements SimulationEvent {}
+
+  record PauseChanged(long atNanos, boolean paused) implements SimulationEvent {}
+}
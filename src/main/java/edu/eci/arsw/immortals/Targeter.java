@@ -0,0 +1,227 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.eci.arsw.concurrency.ZipfSampler;
+
+/**
+ * Implementacion de una TargetingPolicy para un manager concreto.
+ *
+ * pick() se llama sin locks desde el hilo del atacante. Los avisos de
+ * cambio de salud llegan despues de cada escritura, pero no siempre con los
+ * locks de pelea del inmortal: FLAT_COMBINING y ADAPTIVE/LOCK_FREE escriben
+ * con CAS y avisan sin ellos, asi que los avisos de un mismo inmortal pueden
+ * llegar a la vez y en desorden. Una implementacion no debe llevar estado a
+ * partir de before/after sino releer la salud (ver HealthIndexed).
+ */
+interface Targeter {
+
+  int PROBES = 8;
+  double ZIPF_EXPONENT = 1.1;
+
+  /* Retorna un oponente vivo distinto de self, o null si no hay */
+  Immortal pick(Immortal self);
+
+  /* Un inmortal vivo entra a la simulacion */
+  default void register(Immortal immortal) {}
+
+  default void healthChanged(Immortal immortal, int before, int after) {}
+
+  default void attacked(Immortal victim, Immortal attacker) {}
+
+  static Targeter create(TargetingPolicy policy, Roster roster, int bucketWidth) {
+    return create(policy, roster, bucketWidth, 0);
+  }
+
+  /* arenaSide: lado de la grilla de ARENA (0 = automatico segun el roster) */
+  static Targeter create(TargetingPolicy policy, Roster roster, int bucketWidth, int arenaSide) {
+    Uniform uniform = new Uniform(roster);
+    return switch (policy) {
+      case UNIFORM -> uniform;
+      case WEAKEST -> new HealthIndexed(roster, uniform, bucketWidth, true);
+      case STRONGEST -> new HealthIndexed(roster, uniform, bucketWidth, false);
+      case ZIPF -> new Zipf(roster, uniform);
+      case REVENGE -> new Revenge(uniform);
+      case ARENA -> new Arena(arenaSide > 0 ? arenaSide : Arena.defaultSide(roster.size()), uniform);
+    };
+  }
+
+  /*
+   * UNIFORME SOBRE LOS VIVOS
+   * - Sorteos en O(1) sobre el indice denso de vivos del roster: los muertos acumulados no los hacen fallar
+   */
+  final class Uniform implements Targeter {
+    private final Roster roster;
+
+    Uniform(Roster roster) {
+      this.roster = roster;
+    }
+
+    @Override
+    public Immortal pick(Immortal self) {
+      return roster.randomLive(self);
+    }
+  }
+
+  /*
+   * INDICE POR CUBETAS DE SALUD
+   * - Clave = (salud / ancho de cubeta, id) empaquetada en un long, en un ConcurrentSkipListSet
+   * - Solo se actualiza cuando un inmortal cambia de cubeta o muere, no en cada golpe
+   * - El mas debil/fuerte se obtiene del extremo del indice en O(log n)
+   * - Cada inmortal recuerda su clave vigente (indexedKey): asi el indice tiene a lo sumo una clave por inmortal
+   *   aunque los avisos lleguen concurrentes o en desorden
+   */
+  final class HealthIndexed implements Targeter {
+    private final Roster roster;
+    private final Uniform fallback;
+    private final int bucketWidth;
+    private final boolean weakest;
+    private final ConcurrentSkipListSet<Long> index = new ConcurrentSkipListSet<>();
+
+    HealthIndexed(Roster roster, Uniform fallback, int bucketWidth, boolean weakest) {
+      this.roster = roster;
+      this.fallback = fallback;
+      this.bucketWidth = Math.max(1, bucketWidth);
+      this.weakest = weakest;
+    }
+
+    private static final long NO_KEY = -1;
+
+    private long key(int health, int id) {
+      return ((long) (health / bucketWidth) << 32) | id;
+    }
+
+    /* Clave que corresponde a la salud actual (NO_KEY si esta muerto) */
+    private long currentKey(Immortal immortal) {
+      int h = immortal.getHealth();
+      return h > 0 ? key(h, immortal.id()) : NO_KEY;
+    }
+
+    /* Antes de arrancar: la clave que tuviera en un indice anterior no cuenta en este */
+    @Override
+    public void register(Immortal immortal) {
+      immortal.setIndexedKey(NO_KEY);
+      reindex(immortal);
+    }
+
+    @Override
+    public void healthChanged(Immortal immortal, int before, int after) {
+      reindex(immortal);
+    }
+
+    /*
+     * METODO PARA LLEVAR LA CLAVE DE UN INMORTAL A SU SALUD ACTUAL
+     * - Relee la salud en vez de usar before/after, que pueden llegar viejos o en desorden
+     * - Sin cambio de cubeta no toca el indice (camino comun)
+     * - Solo quien gana la bandera del inmortal quita la clave vieja y pone la nueva; quien la pierde no espera:
+     *   el dueño vuelve a leer la salud al soltarla (despues de la escritura del perdedor) y repite si cambio
+     */
+    private void reindex(Immortal immortal) {
+      long wanted = currentKey(immortal);
+      if (wanted == immortal.indexedKey())
+        return;
+      while (immortal.tryBeginIndexing()) {
+        long old = immortal.indexedKey();
+        wanted = currentKey(immortal);
+        if (wanted != old) {
+          if (old != NO_KEY)
+            index.remove(old);
+          if (wanted != NO_KEY)
+            index.add(wanted);
+          immortal.setIndexedKey(wanted);
+        }
+        immortal.endIndexing();
+        if (currentKey(immortal) == wanted)
+          return;
+      }
+    }
+
+    @Override
+    public Immortal pick(Immortal self) {
+      int skipped = 0;
+      for (Long k : weakest ? index : index.descendingSet()) {
+        Immortal candidate = roster.get((int) (long) k);
+        if (candidate != self && candidate.isImmortalAlive())
+          return candidate;
+        if (++skipped >= PROBES)
+          break;
+      }
+      return fallback.pick(self);
+    }
+
+    int indexedCount() {
+      return index.size();
+    }
+  }
+
+  /*
+   * OBJETIVOS CALIENTES CON DISTRIBUCION ZIPF SOBRE EL INDICE DENSO DE VIVOS
+   * - Los muertos acumulados en el roster no gastan sorteos; los primeros lugares del indice son los calientes
+   * - El muestreador cubre una potencia de dos >= vivos: se recrea solo al duplicarse o al caer a la cuarta parte,
+   *   y los rangos que pasan de los vivos cuentan como un sorteo fallido
+   */
+  final class Zipf implements Targeter {
+    private final Roster roster;
+    private final Uniform fallback;
+    private volatile ZipfSampler sampler;
+
+    Zipf(Roster roster, Uniform fallback) {
+      this.roster = roster;
+      this.fallback = fallback;
+    }
+
+    @Override
+    public Immortal pick(Immortal self) {
+      int n = roster.liveCount();
+      if (n <= 1)
+        return null;
+      ZipfSampler current = sampler;
+      if (current == null || current.n() < n || current.n() / 4 > n) {
+        current = new ZipfSampler(Integer.highestOneBit(n - 1) << 1, ZIPF_EXPONENT);
+        sampler = current;
+      }
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int i = 0; i < PROBES; i++) {
+        int rank = current.sample(random);
+        if (rank >= n)
+          continue;
+        Immortal candidate = roster.liveAt(rank);
+        if (candidate != null && candidate != self && candidate.isImmortalAlive())
+          return candidate;
+      }
+      return fallback.pick(self);
+    }
+
+    /* Rangos que cubre el muestreador actual (0 si aun no hubo sorteos) */
+    int samplerSize() {
+      ZipfSampler current = sampler;
+      return current == null ? 0 : current.n();
+    }
+  }
+
+  /*
+   * VENGANZA
+   * - Cada inmortal recuerda su ultimo atacante (escrito bajo los locks de la pelea)
+   */
+  final class Revenge implements Targeter {
+    private final Uniform fallback;
+
+    Revenge(Uniform fallback) {
+      this.fallback = fallback;
+    }
+
+    @Override
+    public void attacked(Immortal victim, Immortal attacker) {
+      victim.setLastAttacker(attacker);
+    }
+
+    @Override
+    public Immortal pick(Immortal self) {
+      Immortal enemy = self.lastAttacker();
+      if (enemy != null && enemy != self && enemy.isImmortalAlive())
+        return enemy;
+      return fallback.pick(self);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package edu.eci.arsw.immortals;
+
+/*
+ * ENUM PARA POLITICAS DE SELECCION DE OPONENTE
+ *    - UNIFORM: cualquier inmortal vivo con igual probabilidad (comportamiento original)
+ *    - WEAKEST: ataca al de menor salud (indice por cubetas de salud)
+ *    - STRONGEST: ataca al de mayor salud (mismo indice, recorrido inverso)
+ *    - ZIPF: pocos objetivos "calientes" reciben la mayoria de ataques
+ *    - REVENGE: ataca a quien lo ataco por ultimo, si sigue vivo
+ *    - ARENA: grilla 2D; solo vecinos de la celda propia y las 8 adyacentes, las celdas son los locks de pelea
+ */
+public enum TargetingPolicy {
+  UNIFORM,
+  WEAKEST,
+  STRONGEST,
+  ZIPF,
+  REVENGE,
+  ARENA
+}
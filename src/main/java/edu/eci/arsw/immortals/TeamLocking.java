@@ -0,0 +1,11 @@
+package edu.eci.arsw.immortals;
+
+/*
+ * ENUM PARA LA ADQUISICION DE LOCKS EN BATALLAS DE EQUIPO (k OPONENTES A LA VEZ)
+ *    - SORTED: lock de los k+1 participantes en orden de id; espera (cediendo ante una pausa), pero sin deadlocks
+ *    - TRY_ALL: todo o nada con tryLock en orden de id; si falta uno suelta todos, backoff y reintenta
+ */
+public enum TeamLocking {
+    SORTED,
+    TRY_ALL
+}
@@ -0,0 +1,154 @@
+package edu.eci.arsw.immortals;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Alcance estructurado de las tareas de una corrida (un start()): toda
+ * tarea de un inmortal se crea con fork() y vive dentro del alcance, y
+ * close() la cancela y espera a que termine antes de retornar.
+ *
+ * StructuredTaskScope sigue siendo preview en Java 21, por eso el alcance
+ * se arma sobre el executor del backend: cancelar es interrumpir a todos
+ * (shutdownNow) y unirse es awaitTermination con un plazo. Todos los
+ * puntos de espera de un inmortal (locks de pelea, pausa, ritmo) son
+ * interrumpibles, asi que la cancelacion es inmediata incluso con NAIVE
+ * interbloqueado. La primera excepcion de una tarea queda registrada.
+ */
+final class WorkerScope {
+  private final ExecutorService executor;
+  private final ScheduledExecutorService timer;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  WorkerScope(ExecutionBackend backend, int parallelism) {
+    this.executor = backend.newExecutor(parallelism);
+    this.timer = backend.sliced() ? Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "immortal-pacer");
+      t.setDaemon(true);
+      return t;
+    }) : null;
+  }
+
+  /* Lanza al inmortal; si el alcance ya se cerro no arranca (VIRTUAL lanza RejectedExecutionException) */
+  void fork(Immortal immortal) {
+    if (timer == null)
+      executor.execute(() -> guarded(immortal));
+    else
+      new Slice(immortal).submit();
+  }
+
+  /* Tarea auxiliar del alcance (p. ej. lanzar un lote de inmortales) */
+  void forkTask(Runnable task) {
+    executor.execute(() -> guarded(task));
+  }
+
+  boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  Throwable failure() {
+    return failure.get();
+  }
+
+  /*
+   * METODO PARA CANCELAR Y UNIRSE
+   * - Interrumpe a todas las tareas y descarta las vueltas encoladas o programadas
+   * - Retorna true si todas terminaron dentro del plazo
+   */
+  boolean close(long timeout, TimeUnit unit) throws InterruptedException {
+    if (timer != null)
+      timer.shutdownNow();
+    executor.shutdownNow();
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  private void guarded(Runnable task) {
+    try {
+      task.run();
+    } catch (Throwable t) {
+      failure.compareAndSet(null, t);
+    }
+  }
+
+  /*
+   * VUELTA DE UN INMORTAL EN UN BACKEND DE POOL; SE REPROGRAMA A SI MISMA
+   * - Sin espera de ritmo: se reencola y cede el hilo
+   * - Con espera: el timer la vigila en tramos de a lo sumo PauseController.MAX_PLAIN_SLEEP_NANOS y en cada
+   *   tramo mira si se pidio la pausa; asi el ritmo no demora la pausa (ni con una cubeta de tokens muy adelantada)
+   * - Si la pausa corta la espera, al reanudar se espera lo que faltaba antes de la siguiente pelea
+   */
+  private final class Slice implements Runnable {
+    private final Immortal immortal;
+    private final Runnable resume = this::submit;
+    private final Runnable tick = this::tick;
+    /* Instante de la siguiente vuelta y lo que faltaba de la espera al pausar (0 = nada); solo un hilo a la vez */
+    private long due;
+    private long remaining;
+
+    Slice(Immortal immortal) {
+      this.immortal = immortal;
+    }
+
+    @Override
+    public void run() {
+      if (remaining > 0) {
+        pace(remaining);
+        remaining = 0;
+        return;
+      }
+      long delay;
+      try {
+        delay = immortal.runSlice(resume);
+      } catch (Throwable t) {
+        failure.compareAndSet(null, t);
+        immortal.exit();
+        return;
+      }
+      if (delay == 0)
+        submit();
+      else if (delay > 0)
+        pace(delay);
+    }
+
+    private void pace(long nanos) {
+      due = System.nanoTime() + nanos;
+      arm(nanos);
+    }
+
+    /* En el timer: vence la espera, se estaciona en la pausa guardando el resto, o sigue un tramo mas */
+    private void tick() {
+      long left = due - System.nanoTime();
+      if (left <= 0) {
+        submit();
+        return;
+      }
+      remaining = left;
+      if (immortal.parkIfPaused(resume))
+        return;
+      remaining = 0;
+      arm(left);
+    }
+
+    private void arm(long left) {
+      try {
+        timer.schedule(tick, Math.min(left, PauseController.MAX_PLAIN_SLEEP_NANOS), TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        immortal.exit();
+      }
+    }
+
+    void submit() {
+      try {
+        executor.execute(this);
+      } catch (RejectedExecutionException e) {
+        immortal.exit();
+      }
+    }
+  }
+}
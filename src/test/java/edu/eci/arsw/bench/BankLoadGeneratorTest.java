@@ -0,0 +1,48 @@
+package edu.eci.arsw.bench;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.bench.BankLoadGenerator.AmountDistribution;
+import edu.eci.arsw.bench.BankLoadGenerator.Strategy;
+import edu.eci.arsw.bench.BankLoadGenerator.ThreadModel;
+
+/**
+ * Tests del generador de carga de transferencias.
+ */
+class BankLoadGeneratorTest {
+
+    private static BankLoadGenerator.Config config(int accounts, Strategy strategy, ThreadModel threads, double skew) {
+        return new BankLoadGenerator.Config(accounts, 1_000, 8, threads, skew, AmountDistribution.EXPONENTIAL, 50,
+                Duration.ofMillis(300), strategy, Duration.ofMillis(50));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Strategy.class, names = { "ORDERED", "TRY_LOCK", "STRIPED" })
+    @DisplayName("Las estrategias sin deadlock deben transferir con sesgo Zipf y conservar el dinero")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldTransferAndConserveMoney(Strategy strategy) throws InterruptedException {
+        var result = new BankLoadGenerator(config(1_000, strategy, ThreadModel.VIRTUAL, 1.1)).run();
+
+        assertTrue(result.transfers() > 0, "Debe aplicar transferencias");
+        assertTrue(result.conserved(), BankLoadGenerator.summary(result));
+        assertEquals(0, result.stuckWorkers());
+        assertTrue(result.p99Nanos() >= result.p50Nanos());
+    }
+
+    @Test
+    @DisplayName("Con NAIVE y dos cuentas la corrida debe terminar y reportar los hilos atascados")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void naiveDeadlockShouldBeReportedNotHang() throws InterruptedException {
+        var result = new BankLoadGenerator(config(2, Strategy.NAIVE, ThreadModel.PLATFORM, 0)).run();
+
+        assertTrue(result.stuckWorkers() > 0, BankLoadGenerator.summary(result));
+        assertTrue(result.conserved());
+    }
+}
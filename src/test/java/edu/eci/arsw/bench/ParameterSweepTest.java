@@ -0,0 +1,45 @@
+package edu.eci.arsw.bench;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.immortals.FightStrategy;
+
+/**
+ * Tests del orquestador de barridos de parametros.
+ */
+class ParameterSweepTest {
+
+    @Test
+    @DisplayName("El grid debe generar el producto cartesiano de parametros")
+    void shouldBuildCartesianGrid() {
+        var configs = ParameterSweep.grid(List.of(4, 8), List.of(100), List.of(10, 20),
+                List.of(FightStrategy.ORDERED));
+        assertEquals(4, configs.size());
+        assertTrue(configs.contains(new ParameterSweep.Config(8, 100, 20, FightStrategy.ORDERED)));
+    }
+
+    @Test
+    @DisplayName("El barrido debe ejecutar todas las configuraciones y ordenarlas por throughput")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void shouldRunAllConfigurationsAndRankThem() throws InterruptedException {
+        var configs = ParameterSweep.grid(List.of(3, 6), List.of(50), List.of(10),
+                List.of(FightStrategy.ORDERED));
+        var results = new ParameterSweep(2, Duration.ofSeconds(3)).run(configs);
+
+        assertEquals(configs.size(), results.size());
+        for (var r : results) {
+            assertTrue(r.fights() > 0, "Cada corrida debe registrar peleas");
+        }
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).fightsPerSecond() >= results.get(i).fightsPerSecond(),
+                    "Los resultados deben estar ordenados por throughput descendente");
+        }
+        assertFalse(ParameterSweep.summary(results).isBlank());
+    }
+}
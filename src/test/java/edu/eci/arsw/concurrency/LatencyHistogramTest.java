@@ -0,0 +1,63 @@
+package edu.eci.arsw.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests del histograma de latencias con cubetas logaritmicas.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Cada valor debe caer en una cubeta cuyo limite superior lo cubre con error acotado")
+    void shouldBoundRelativeError() {
+        for (long v = 0; v < 1_000_000; v = v * 3 / 2 + 1) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.bucketOf(v));
+            assertTrue(upper >= v, "El limite superior debe cubrir el valor " + v);
+            assertTrue(upper - v <= Math.max(1, v / 8), "Error relativo demasiado grande para " + v);
+        }
+    }
+
+    @Test
+    @DisplayName("Los percentiles deben reflejar la distribucion registrada")
+    void shouldComputePercentiles() {
+        var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.99));
+
+        for (int i = 0; i < 990; i++) histogram.record(100);
+        for (int i = 0; i < 10; i++) histogram.record(1_000_000);
+
+        assertEquals(1000, histogram.count());
+        assertTrue(histogram.percentile(0.50) < 120);
+        assertTrue(histogram.percentile(0.99) < 120);
+        assertTrue(histogram.percentile(0.999) >= 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Las franjas de varios hilos deben sumarse en count() y en la copia")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void stripesShouldMergeOnSnapshot() throws InterruptedException {
+        var histogram = new LatencyHistogram(8);
+        assertEquals(8, histogram.stripes());
+        int threads = 16;
+        int perThread = 10_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long value = t < threads / 2 ? 100 : 1_000_000;
+            workers[t] = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < perThread; i++) histogram.record(value);
+            });
+        }
+        for (Thread worker : workers) worker.join();
+
+        long[] counts = histogram.snapshot();
+        assertEquals((long) threads * perThread, histogram.count());
+        assertEquals((long) threads / 2 * perThread, counts[LatencyHistogram.bucketOf(100)]);
+        assertEquals((long) threads / 2 * perThread, counts[LatencyHistogram.bucketOf(1_000_000)]);
+        assertTrue(histogram.percentile(0.50) < 120);
+        assertTrue(histogram.percentile(0.51) >= 1_000_000);
+    }
+}
@@ -0,0 +1,67 @@
+package edu.eci.arsw.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests del buzon MPSC acotado usado por el modo ACTOR.
+ */
+class MpscMailboxTest {
+
+    @Test
+    @DisplayName("Un buzon lleno debe rechazar el offer y aceptar de nuevo tras drenar")
+    void shouldRejectWhenFull() {
+        var mailbox = new MpscMailbox<Integer>(4);
+        for (int i = 0; i < 4; i++) assertTrue(mailbox.offer(i));
+        assertFalse(mailbox.offer(99));
+        assertEquals(4, mailbox.size());
+
+        assertEquals(0, mailbox.poll());
+        assertTrue(mailbox.offer(4));
+
+        List<Integer> seen = new ArrayList<>();
+        assertEquals(4, mailbox.drain(seen::add, 10));
+        assertEquals(List.of(1, 2, 3, 4), seen);
+        assertNull(mailbox.poll());
+        assertThrows(IllegalArgumentException.class, () -> new MpscMailbox<Integer>(6));
+    }
+
+    @Test
+    @DisplayName("Con varios productores cada mensaje debe entregarse exactamente una vez y en orden por productor")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldDeliverEveryMessageOnce() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5_000;
+        var mailbox = new MpscMailbox<Long>(64);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p << 32;
+            threads[p] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!mailbox.offer(base | i)) Thread.yield();
+                }
+            });
+        }
+
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            Long v = mailbox.poll();
+            if (v == null) {
+                Thread.yield();
+                continue;
+            }
+            int p = (int) (v >>> 32);
+            assertEquals(next[p], (int) (long) v, "Orden FIFO por productor");
+            next[p]++;
+            received++;
+        }
+        for (Thread t : threads) t.join();
+        assertNull(mailbox.poll());
+    }
+}
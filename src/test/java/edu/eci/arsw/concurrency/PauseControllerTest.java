@@ -4,9 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Tests enfocados en verificar el comportamiento del PauseController
@@ -117,4 +120,63 @@ class PauseControllerTest {
         worker.join();
         assertTrue(executionSteps.get() > 0, "Debería haber ejecutado algunos pasos");
     }
+
+    @Test
+    @DisplayName("Un hilo esperando un lock tomado cede ante la pausa y la espera con plazo termina")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void shouldQuiesceThreadBlockedOnLock() throws InterruptedException {
+        var controller = new PauseController();
+        controller.setTotalThreads(1);
+        var held = new ReentrantLock();
+        held.lock();
+
+        var gaveUp = new AtomicInteger();
+        Thread worker = Thread.ofPlatform().start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    controller.awaitIfPaused();
+                    if (!controller.lockUnlessPaused(held))
+                        gaveUp.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(20);
+
+        assertFalse(controller.waitUntilAllPaused(Duration.ofMillis(20)),
+                "Sin pausa pedida el hilo sigue esperando el lock");
+        controller.pause();
+        assertTrue(controller.waitUntilAllPaused(Duration.ofSeconds(2)),
+                "Con la pausa pedida el hilo debe soltar la espera y quedar pausado");
+        assertEquals(1, gaveUp.get());
+        assertTrue(controller.lastQuiesceNanos() >= 0);
+
+        worker.interrupt();
+        worker.join();
+        held.unlock();
+    }
+
+    @Test
+    @DisplayName("Una dormida larga se corta al pedir la pausa")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void shouldCutLongSleepOnPause() throws InterruptedException {
+        var controller = new PauseController();
+        var left = new AtomicLong();
+        controller.setTotalThreads(1);
+        Thread worker = Thread.ofPlatform().start(() -> {
+            try {
+                left.set(controller.sleepUnlessPaused(TimeUnit.SECONDS.toNanos(60)));
+                controller.awaitIfPaused();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(20);
+        controller.pause();
+        assertTrue(controller.waitUntilAllPaused(Duration.ofSeconds(2)));
+        controller.resume();
+        worker.join();
+        assertTrue(left.get() > TimeUnit.SECONDS.toNanos(50), "Debe reportar lo que faltaba dormir");
+    }
 }
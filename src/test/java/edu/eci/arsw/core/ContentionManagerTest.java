@@ -0,0 +1,45 @@
+package edu.eci.arsw.core;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests del gestor de contencion por prioridad.
+ */
+class ContentionManagerTest {
+
+    @ParameterizedTest
+    @EnumSource(ContentionManager.Policy.class)
+    @DisplayName("Transferencias cruzadas sin orden global deben terminar todas sin deadlock y conservar el dinero")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void crossedTransfersShouldAllCompleteWithoutDeadlock(ContentionManager.Policy policy) throws InterruptedException {
+        var manager = new ContentionManager(policy);
+        var a = new BankAccount(1, 100_000);
+        var b = new BankAccount(2, 100_000);
+        var c = new BankAccount(3, 100_000);
+        BankAccount[][] pairs = { { a, b }, { b, a }, { b, c }, { c, a } };
+        var restarts = new AtomicLong();
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 16; t++) {
+                BankAccount[] pair = pairs[t % pairs.length];
+                exec.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        restarts.addAndGet(manager.transfer(pair[0], pair[1], 1));
+                    }
+                    return null;
+                });
+            }
+        }
+        assertEquals(300_000, a.balance() + b.balance() + c.balance());
+        assertEquals(restarts.get(), manager.aborts());
+        assertNull(a.holder);
+        assertThrows(IllegalArgumentException.class, () -> manager.transfer(a, b, 1_000_000));
+        assertNull(a.holder, "Un rechazo por fondos debe soltar las cuentas");
+    }
+}
@@ -0,0 +1,99 @@
+package edu.eci.arsw.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests del almacen de cuentas con locks por franja.
+ */
+class StripedAccountStoreTest {
+
+    @Test
+    @DisplayName("Las transferencias concurrentes (incluidas las de la misma franja) deben conservar el dinero")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void concurrentTransfersShouldConserveMoney() throws InterruptedException {
+        var store = new StripedAccountStore(1_000, 100, 4);
+        try (var exec = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                exec.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 50_000; i++) {
+                        int from = random.nextInt(store.size());
+                        // la mitad de las veces una cuenta de la misma linea (misma franja)
+                        int to = random.nextBoolean() ? random.nextInt(store.size()) : (from & ~7) | random.nextInt(8);
+                        try {
+                            store.transfer(from, to, random.nextInt(1, 20));
+                        } catch (IllegalArgumentException insufficientFunds) {
+                            // esperado con saldos pequeños
+                        }
+                    }
+                });
+            }
+        }
+        assertEquals(100_000, store.totalBalance());
+        for (int i = 0; i < store.size(); i++) {
+            assertTrue(store.balance(i) >= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Las franjas deben redondearse a potencia de dos y agrupar cuentas en bloques de 8")
+    void stripesShouldBePowerOfTwoAndGroupBlocksOfEight() {
+        var store = new StripedAccountStore(64, 10, 5);
+        assertEquals(8, store.stripes());
+        assertEquals(store.stripeOf(0), store.stripeOf(7));
+        assertNotEquals(store.stripeOf(7), store.stripeOf(8));
+
+        store.transfer(3, 3, 10);
+        assertEquals(10, store.balance(3));
+        assertThrows(IllegalArgumentException.class, () -> store.transfer(0, 9, 11));
+        assertEquals(10, store.balance(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.transfer(0, 64, 1));
+    }
+
+    @Test
+    @DisplayName("Cada auditoria concurrente debe ver el dinero conservado mientras corren millones de transferencias")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void auditsDuringTransfersShouldAlwaysSeeConservedTotal() throws Exception {
+        var store = new StripedAccountStore(10_000, 1_000, 64);
+        long expected = 10_000L * 1_000;
+        var done = new AtomicBoolean();
+        var audits = new AtomicLong();
+        var mismatch = new AtomicLong(Long.MIN_VALUE);
+        Thread auditor = Thread.ofPlatform().start(() -> {
+            while (!done.get()) {
+                long total = store.auditTotal();
+                if (total != expected) mismatch.compareAndSet(Long.MIN_VALUE, total);
+                audits.incrementAndGet();
+            }
+        });
+        try (var exec = Executors.newFixedThreadPool(3)) {
+            for (int t = 0; t < 3; t++) {
+                exec.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 1_000_000; i++) {
+                        try {
+                            store.transfer(random.nextInt(store.size()), random.nextInt(store.size()), random.nextInt(1, 500));
+                        } catch (IllegalArgumentException insufficientFunds) {
+                            // esperado
+                        }
+                    }
+                });
+            }
+        } finally {
+            done.set(true);
+            auditor.join();
+        }
+        assertEquals(Long.MIN_VALUE, mismatch.get(), "una auditoria vio un total inconsistente");
+        assertTrue(audits.get() > 0);
+        assertEquals(expected, store.auditTotal());
+        assertEquals(expected, store.totalBalance());
+    }
+}
@@ -0,0 +1,109 @@
+package edu.eci.arsw.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests del log de transferencias (WAL con group commit) y su recuperacion.
+ */
+class TransferLogTest {
+
+    @Test
+    @DisplayName("Las transferencias durables concurrentes deben compartir force() y recuperarse exactamente")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void concurrentDurableTransfersShouldGroupCommitAndRecover(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("transfers.wal");
+        long[] expected = new long[100];
+        long records;
+        try (var store = DurableAccountStore.create(file, 100, 1_000)) {
+            try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < 64; t++) {
+                    exec.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 50; i++) {
+                            store.transfer(random.nextInt(100), random.nextInt(100), random.nextInt(1, 50));
+                        }
+                        return null;
+                    });
+                }
+            }
+            records = store.log().records();
+            assertEquals(64 * 50, records);
+            assertTrue(store.log().syncs() < records, "Varias transferencias deben compartir un force()");
+            for (int i = 0; i < 100; i++) expected[i] = store.balance(i);
+        }
+
+        try (var recovered = DurableAccountStore.recover(file)) {
+            assertEquals(100_000, recovered.totalBalance());
+            for (int i = 0; i < 100; i++) assertEquals(expected[i], recovered.balance(i));
+            assertEquals(records, recovered.log().records());
+        }
+    }
+
+    @Test
+    @DisplayName("La recuperacion debe descartar una cola rota y permitir seguir agregando")
+    void recoveryShouldDropTornTail(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("torn.wal");
+        try (var store = DurableAccountStore.create(file, 4, 100)) {
+            store.transfer(0, 1, 30);
+            store.transfer(1, 2, 10);
+        }
+        // registro a medio escribir, como tras un crash
+        Files.write(file, new byte[TransferLog.RECORD_BYTES - 5], StandardOpenOption.APPEND);
+
+        var recovery = TransferLog.recover(file);
+        assertEquals(2, recovery.records());
+        assertEquals(TransferLog.RECORD_BYTES - 5, recovery.discardedBytes());
+        assertArrayEquals(new long[] { 70, 120, 110, 100 }, recovery.balances());
+
+        try (var store = DurableAccountStore.recover(file)) {
+            store.transfer(3, 0, 100);
+            assertThrows(IllegalArgumentException.class, () -> store.transfer(3, 0, 1));
+        }
+        assertArrayEquals(new long[] { 170, 120, 110, 0 }, TransferLog.recover(file).balances());
+        assertEquals(0, TransferLog.recover(file).discardedBytes());
+    }
+
+    @Test
+    @DisplayName("La recuperacion por ventanas debe cruzar sus bordes sin perder registros ni la cola rota")
+    void recoveryShouldCrossWindowBoundaries(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("windows.wal");
+        try (var store = DurableAccountStore.create(file, 3, 1_000)) {
+            for (int i = 0; i < 10; i++) store.transfer(i % 3, (i + 1) % 3, i + 1);
+        }
+        Files.write(file, new byte[TransferLog.RECORD_BYTES - 1], StandardOpenOption.APPEND);
+
+        var whole = TransferLog.recover(file);
+        for (int records : new int[] { 1, 3, 4 }) {
+            var windowed = TransferLog.recover(file, records * TransferLog.RECORD_BYTES);
+            assertEquals(10, windowed.records(), "Ventana de " + records + " registros");
+            assertArrayEquals(whole.balances(), windowed.balances());
+            assertEquals(whole.validBytes(), windowed.validBytes());
+            assertEquals(TransferLog.RECORD_BYTES - 1, windowed.discardedBytes());
+        }
+        assertThrows(IllegalArgumentException.class, () -> TransferLog.recover(file, TransferLog.RECORD_BYTES + 1));
+    }
+
+    @Test
+    @DisplayName("Tras un fallo del log el store debe rechazar transferencias sin aplicarlas")
+    void failedLogShouldFailTheStore(@TempDir Path dir) throws Exception {
+        try (var store = DurableAccountStore.create(dir.resolve("failed.wal"), 2, 100)) {
+            store.transfer(0, 1, 10);
+            store.log().close();
+            assertThrows(IOException.class, () -> store.transfer(0, 1, 10), "El force falla");
+            long before = store.balance(0);
+            assertThrows(IOException.class, () -> store.transfer(0, 1, 10));
+            assertEquals(before, store.balance(0), "Un store fallido no aplica mas transferencias");
+        }
+    }
+}
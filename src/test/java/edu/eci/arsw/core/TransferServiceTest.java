@@ -0,0 +1,51 @@
+package edu.eci.arsw.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests de las lecturas optimistas de saldos.
+ */
+class TransferServiceTest {
+
+    @Test
+    @DisplayName("La suma optimista de saldos debe ser siempre consistente mientras hay transferencias")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void optimisticTotalShouldAlwaysBeConsistent() throws Exception {
+        BankAccount[] accounts = new BankAccount[64];
+        for (int i = 0; i < accounts.length; i++) accounts[i] = new BankAccount(i, 1_000);
+        var done = new AtomicBoolean();
+        int reads = 0;
+        try (var exec = Executors.newFixedThreadPool(3)) {
+            for (int t = 0; t < 3; t++) {
+                exec.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (!done.get()) {
+                        try {
+                            TransferService.transferOrdered(accounts[random.nextInt(64)], accounts[random.nextInt(64)],
+                                    random.nextInt(1, 100));
+                        } catch (IllegalArgumentException insufficientFunds) {
+                            // esperado
+                        }
+                    }
+                });
+            }
+            long deadline = System.nanoTime() + 500_000_000L;
+            try {
+                while (System.nanoTime() < deadline) {
+                    assertEquals(64_000, TransferService.totalBalance(accounts));
+                    reads++;
+                }
+            } finally {
+                done.set(true);
+            }
+        }
+        assertTrue(reads > 0);
+    }
+}
@@ -0,0 +1,141 @@
+package edu.eci.arsw.distributed;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+
+/**
+ * Tests del modo distribuido: particiones sobre SocketChannels en localhost
+ * y un coordinador con pausa, reanudacion, parada y totales globales.
+ */
+class DistributedSimulationTest {
+
+    private static final PartitionNode.Config CONFIG = new PartitionNode.Config(50, 100_000, 10,
+            FightStrategy.ORDERED, FightRateGovernor.LEGACY, 2_000);
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    @DisplayName("Tres particiones en la misma JVM pelean entre si y la pausa global congela los totales")
+    void shouldFightAcrossPartitionsAndPauseGlobally() throws Exception {
+        List<PartitionNode> nodes = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++)
+                nodes.add(new PartitionNode(CONFIG, 0));
+            try (var coordinator = new Coordinator(nodes.stream().map(PartitionNode::port).toList())) {
+                coordinator.start();
+                Thread.sleep(500);
+
+                Coordinator.Totals running = coordinator.stats();
+                assertEquals(3, running.nodes().size());
+                assertEquals(150, running.roster());
+                assertTrue(running.attacksSent() > 0, "Debe haber ataques entre particiones");
+                assertTrue(running.remoteHits() > 0, "Los ataques deben aplicarse en la particion destino");
+                for (Coordinator.NodeStats node : running.nodes())
+                    assertTrue(node.remoteHits() > 0, "Cada particion debe recibir golpes de las otras");
+
+                Coordinator.GlobalPause pause = coordinator.pause();
+                assertTrue(pause.quiesced(), "Todas las particiones deben quedar quietas");
+                Coordinator.Totals paused = coordinator.stats();
+                Thread.sleep(100);
+                Coordinator.Totals later = coordinator.stats();
+                assertEquals(paused.fights(), later.fights(), "Nada debe pelear durante la pausa global");
+                assertEquals(paused.totalHealth(), later.totalHealth());
+                assertEquals(paused.remoteHits(), later.remoteHits(), "Los lotes en vuelo esperan al RESUME");
+
+                coordinator.resume();
+                Thread.sleep(200);
+                assertTrue(coordinator.stats().fights() > later.fights(), "Tras reanudar se vuelve a pelear");
+
+                Coordinator.Totals last = coordinator.stop();
+                assertTrue(last.fights() >= later.fights());
+            }
+            for (PartitionNode node : nodes)
+                node.awaitStop();
+        } finally {
+            for (PartitionNode node : nodes)
+                node.close();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Cerrar un nodo con el hilo interrumpido no lanza y conserva la marca de interrupcion")
+    void closeShouldKeepTheInterruptFlag() throws Exception {
+        var node = new PartitionNode(CONFIG, 0);
+        Thread.currentThread().interrupt();
+        node.close();
+        assertTrue(Thread.interrupted(), "close() debe restaurar la interrupcion");
+        node.close();
+        node.awaitStop();
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    @DisplayName("Si cae una particion las demas siguen vivas y un coordinador no se cuelga esperandola")
+    void deadPartitionShouldNotWedgeTheOthers() throws Exception {
+        List<PartitionNode> nodes = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++)
+                nodes.add(new PartitionNode(CONFIG, 0));
+            try (var coordinator = new Coordinator(nodes.stream().map(PartitionNode::port).toList(),
+                    Duration.ofSeconds(2))) {
+                coordinator.start();
+                Thread.sleep(200);
+                nodes.get(2).close();
+                Thread.sleep(300);
+                for (PartitionNode node : nodes.subList(0, 2))
+                    assertTrue(node.manager().isRunning(), "Un par caido no debe detener a los demas");
+                assertThrows(IOException.class, coordinator::pause, "La pausa global falla por el nodo caido");
+            }
+        } finally {
+            for (PartitionNode node : nodes)
+                node.close();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Un nodo que acepta la conexion pero no responde debe hacer fallar la orden dentro del plazo")
+    void silentNodeShouldTimeOut() throws Exception {
+        try (var silent = ServerSocketChannel.open()) {
+            silent.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            int port = ((InetSocketAddress) silent.getLocalAddress()).getPort();
+            try (var coordinator = new Coordinator(List.of(port), Duration.ofMillis(300))) {
+                long begin = System.nanoTime();
+                assertThrows(IOException.class, coordinator::stats);
+                assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(5));
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Dos particiones en procesos aparte se coordinan sobre localhost")
+    void shouldCoordinateLocalProcesses() throws Exception {
+        try (var local = Coordinator.LocalNodes.launch(2, List.of("-Dcount=20", "-Dhealth=100000", "-DcrossRate=500"));
+                var coordinator = new Coordinator(local.ports())) {
+            coordinator.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            while (coordinator.stats().remoteHits() == 0 && System.nanoTime() < deadline)
+                Thread.sleep(50);
+            assertTrue(coordinator.pause().quiesced());
+            Coordinator.Totals totals = coordinator.stop();
+            assertEquals(40, totals.roster());
+            assertTrue(totals.remoteHits() > 0, "Debe haber golpes entre procesos");
+            for (Process process : local.processes())
+                assertTrue(process.waitFor(10, TimeUnit.SECONDS), "Cada nodo termina tras STOP");
+        }
+    }
+}
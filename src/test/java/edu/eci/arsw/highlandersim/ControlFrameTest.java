@@ -0,0 +1,63 @@
+package edu.eci.arsw.highlandersim;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.immortals.ExecutionBackend;
+import edu.eci.arsw.immortals.FightRateGovernor;
+import edu.eci.arsw.immortals.FightStrategy;
+import edu.eci.arsw.immortals.ImmortalManager;
+import edu.eci.arsw.immortals.RespawnPolicy;
+import edu.eci.arsw.immortals.TargetingPolicy;
+import edu.eci.arsw.immortals.TeamLocking;
+
+/**
+ * Tests del arranque desde la UI sin abrir ventanas: el manager de cada
+ * Start conserva la configuracion del manager con que se abrio el frame.
+ */
+class ControlFrameTest {
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("La configuracion del manager inyectado sobrevive al Start")
+    void shouldKeepInjectedSettingsOnStart() throws InterruptedException {
+        RespawnPolicy keep = alive -> Math.max(0, 12 - alive);
+        FightRateGovernor rate = FightRateGovernor.fixedPause(1);
+        try (var injected = new ImmortalManager(8, 100, 10, FightStrategy.ORDERED)) {
+            injected.setTargetingPolicy(TargetingPolicy.WEAKEST);
+            injected.setExecutionBackend(ExecutionBackend.PLATFORM_POOL, 2);
+            injected.setFightRateGovernor(rate);
+            injected.setTeamBattle(2, TeamLocking.TRY_ALL);
+            injected.setRespawnPolicy(keep);
+            injected.setFightLogging(false);
+
+            try (var next = ControlFrame.newManager(injected, 12, 200, 5, FightStrategy.FLAT_COMBINING)) {
+                assertEquals(12, next.rosterSize(), "La poblacion viene del formulario");
+                next.start();
+                Thread.sleep(100);
+
+                assertTrue(next.isRunning());
+                assertEquals(FightStrategy.FLAT_COMBINING, next.getFightStrategy());
+                assertEquals(TargetingPolicy.WEAKEST, next.getTargetingPolicy());
+                assertEquals(ExecutionBackend.PLATFORM_POOL, next.getExecutionBackend());
+                assertSame(rate, next.getFightRateGovernor());
+                assertEquals(2, next.getTeamSize());
+                assertSame(keep, next.getRespawnPolicy());
+                assertFalse(next.isFightLogging());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Sin manager inyectado el Start usa la configuracion por defecto")
+    void shouldUseDefaultsWithoutInjectedManager() {
+        try (var next = ControlFrame.newManager(null, 4, 100, 10, FightStrategy.ORDERED)) {
+            assertEquals(TargetingPolicy.UNIFORM, next.getTargetingPolicy());
+            assertEquals(ExecutionBackend.VIRTUAL, next.getExecutionBackend());
+            assertSame(RespawnPolicy.NONE, next.getRespawnPolicy());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package edu.eci.arsw.highlandersim;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del dimensionamiento de los buffers del mapa de calor.
+ */
+class HealthHeatmapPanelTest {
+
+    @Test
+    @DisplayName("Con el roster creciendo de a uno los buffers solo se recrean al duplicarse")
+    void capacityShouldGrowGeometrically() {
+        int capacity = 0;
+        int reallocations = 0;
+        for (int n = 1; n <= 100_000; n++) {
+            int next = HealthHeatmapPanel.capacityFor(n, capacity);
+            assertTrue(next >= n, "La capacidad debe cubrir el roster");
+            if (next != capacity) {
+                reallocations++;
+                capacity = next;
+            }
+        }
+        assertEquals(131_072, capacity);
+        assertTrue(reallocations <= 12, "Demasiadas reservas: " + reallocations);
+    }
+
+    @Test
+    @DisplayName("Un roster mucho menor debe encoger los buffers, uno algo menor no")
+    void capacityShouldShrinkOnlyAtAQuarter() {
+        assertEquals(1024, HealthHeatmapPanel.capacityFor(300, 1024));
+        assertEquals(256, HealthHeatmapPanel.capacityFor(200, 1024));
+        assertEquals(64, HealthHeatmapPanel.capacityFor(1, 64));
+    }
+}
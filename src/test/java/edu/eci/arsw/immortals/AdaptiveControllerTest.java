@@ -0,0 +1,74 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests del controlador de la estrategia ADAPTIVE.
+ */
+class AdaptiveControllerTest {
+
+    private static void feed(AdaptiveController controller, int fights, boolean contended) throws InterruptedException {
+        for (int i = 0; i < fights; i++) {
+            controller.recordFight(contended);
+        }
+        Thread.sleep(5);
+        controller.recordFight(contended);
+    }
+
+    @Test
+    @DisplayName("Debe escalar con alta contencion y retroceder cuando baja, registrando cada cambio")
+    void shouldEscalateAndRelaxWithContention() throws InterruptedException {
+        var scoreBoard = new ScoreBoard();
+        var controller = new AdaptiveController(scoreBoard, 0.3, 0.05, 1_000_000, 0);
+        assertEquals(AdaptiveController.Mode.BLOCKING, controller.mode());
+
+        feed(controller, 200, true);
+        assertEquals(AdaptiveController.Mode.TRY_LOCK, controller.mode());
+        feed(controller, 200, true);
+        assertEquals(AdaptiveController.Mode.LOCK_FREE, controller.mode());
+        feed(controller, 200, true);
+        assertEquals(AdaptiveController.Mode.LOCK_FREE, controller.mode(), "LOCK_FREE es el ultimo nivel");
+
+        feed(controller, 200, false);
+        assertEquals(AdaptiveController.Mode.TRY_LOCK, controller.mode());
+
+        assertEquals(3, scoreBoard.adaptiveSwitches());
+        var log = controller.switchLog();
+        assertEquals(3, log.size());
+        assertEquals(AdaptiveController.Mode.LOCK_FREE, log.get(2).from());
+        assertEquals(AdaptiveController.Mode.TRY_LOCK, log.get(2).to());
+    }
+
+    @Test
+    @DisplayName("No debe cambiar de modo con pocas muestras")
+    void shouldIgnoreSmallWindows() throws InterruptedException {
+        var controller = new AdaptiveController(new ScoreBoard(), 0.3, 0.05, 1_000_000, 0);
+        feed(controller, 10, true);
+        assertEquals(AdaptiveController.Mode.BLOCKING, controller.mode());
+    }
+
+    @Test
+    @DisplayName("La estrategia ADAPTIVE debe pelear y pausar sin salud negativa")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void adaptiveSimulationShouldRunSafely() throws InterruptedException {
+        try (var manager = new ImmortalManager(6, 300, 10, FightStrategy.ADAPTIVE)) {
+            manager.setFightLogging(false);
+            assertNotNull(manager.adaptiveController());
+            manager.start();
+            Thread.sleep(300);
+            manager.pause();
+            long fights = manager.scoreBoard().totalFights();
+            assertTrue(fights > 0);
+            for (Immortal im : manager.populationSnapshot()) {
+                assertTrue(im.getHealth() >= 0);
+            }
+            Thread.sleep(50);
+            assertEquals(fights, manager.scoreBoard().totalFights());
+            manager.resume();
+        }
+    }
+}
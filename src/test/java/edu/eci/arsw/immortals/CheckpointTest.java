@@ -0,0 +1,96 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests de checkpoint y restauracion de una simulacion.
+ */
+class CheckpointTest {
+
+    @Test
+    @DisplayName("Restaurar un checkpoint debe reproducir salud, vivos, contadores, creditos, top-K y politica, y poder seguir peleando")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldRestoreCheckpointedSimulation(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("sim.ckpt");
+        int[] before = new int[12];
+        long[] kills = new long[12];
+        long[] dealt = new long[12];
+        long fights;
+        int alive;
+        List<Leaderboard.Entry> killLeaders;
+        List<Leaderboard.Entry> damageLeaders;
+        try (var manager = new ImmortalManager(12, 60, 10, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setTargetingPolicy(TargetingPolicy.WEAKEST);
+            manager.start();
+            while (manager.aliveCount() > 8) {
+                Thread.sleep(5);
+            }
+            manager.checkpoint(dir.resolve("running.ckpt"));
+            manager.pause();
+            manager.checkpoint(file);
+            manager.healthSnapshot(before);
+            fights = manager.scoreBoard().totalFights();
+            alive = manager.aliveCount();
+            for (int i = 0; i < 12; i++) {
+                kills[i] = manager.roster().get(i).kills();
+                dealt[i] = manager.roster().get(i).damageDealt();
+            }
+            killLeaders = manager.scoreBoard().killLeaders().top();
+            damageLeaders = manager.scoreBoard().damageLeaders().top();
+        }
+        assertTrue(Arrays.stream(kills).sum() >= 4, "Hubo muertes antes del checkpoint");
+        assertFalse(damageLeaders.isEmpty());
+        assertTrue(Files.exists(dir.resolve("running.ckpt")), "Checkpoint con la simulacion corriendo");
+
+        try (var restored = ImmortalManager.restore(file)) {
+            int[] after = new int[12];
+            assertEquals(12, restored.rosterSize());
+            restored.healthSnapshot(after);
+            assertArrayEquals(before, after);
+            assertEquals(fights, restored.scoreBoard().totalFights());
+            assertEquals(alive, restored.aliveCount());
+            assertEquals(Arrays.stream(before).sum(), restored.totalHealth());
+            assertEquals(TargetingPolicy.WEAKEST, restored.getTargetingPolicy());
+            assertEquals(FightStrategy.ORDERED, restored.getFightStrategy());
+            for (int i = 0; i < 12; i++) {
+                assertEquals(kills[i], restored.roster().get(i).kills());
+                assertEquals(dealt[i], restored.roster().get(i).damageDealt());
+            }
+            assertEquals(killLeaders, restored.scoreBoard().killLeaders().top(), "Top-K de muertes reconstruido");
+            assertEquals(damageLeaders, restored.scoreBoard().damageLeaders().top(), "Top-K de daño reconstruido");
+
+            restored.setFightLogging(false);
+            restored.start();
+            while (restored.scoreBoard().totalFights() == fights) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Un archivo que no es checkpoint o esta truncado debe rechazarse")
+    void shouldRejectInvalidFiles(@TempDir Path dir) throws Exception {
+        Path garbage = dir.resolve("garbage.ckpt");
+        Files.write(garbage, new byte[100]);
+        assertThrows(IOException.class, () -> ImmortalManager.restore(garbage));
+
+        Path truncated = dir.resolve("truncated.ckpt");
+        try (var manager = new ImmortalManager(4, 100, 10, FightStrategy.ORDERED)) {
+            manager.checkpoint(truncated);
+        }
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> ImmortalManager.restore(truncated));
+    }
+}
@@ -0,0 +1,184 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.eci.arsw.concurrency.PauseController;
+
+/**
+ * Tests del flujo de eventos (Flow.Publisher) del manager.
+ */
+class EventStreamTest {
+
+    /* Suscriptor que guarda lo recibido y pide la demanda indicada al suscribirse */
+    private static class Recorder implements Flow.Subscriber<SimulationEvent> {
+        final ConcurrentLinkedQueue<SimulationEvent> received = new ConcurrentLinkedQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final long initialDemand;
+        volatile Flow.Subscription subscription;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            if (initialDemand > 0) s.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(SimulationEvent item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Un suscriptor debe recibir peleas, muertes y pausas, y completarse al cerrar el manager")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldStreamFightsDeathsAndPauses() throws InterruptedException {
+        var recorder = new Recorder(Long.MAX_VALUE);
+        var manager = new ImmortalManager(4, 40, 10, FightStrategy.ORDERED);
+        manager.setFightLogging(false);
+        manager.events().subscribe(recorder);
+        manager.start();
+        while (manager.aliveCount() > 1) {
+            Thread.sleep(10);
+        }
+        manager.pause();
+        manager.resume();
+        manager.close();
+
+        assertTrue(recorder.completed.await(5, TimeUnit.SECONDS), "close() debe completar al suscriptor");
+        List<SimulationEvent> events = List.copyOf(recorder.received);
+        assertTrue(events.stream().anyMatch(e -> e instanceof SimulationEvent.Fight));
+        assertEquals(3, events.stream().filter(e -> e instanceof SimulationEvent.Death).count());
+        assertTrue(events.stream().anyMatch(e -> e instanceof SimulationEvent.PauseChanged p && p.paused()));
+        assertEquals(0, manager.events().droppedEvents());
+    }
+
+    @Test
+    @DisplayName("Un suscriptor sin demanda no debe frenar las peleas: su buffer acotado descarta eventos")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void slowSubscriberShouldOnlyDropItsOwnEvents() throws InterruptedException {
+        try (var manager = new ImmortalManager(8, 1_000_000, 1, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            var stalled = new Recorder(1);
+            manager.events().subscribe(stalled, 8, EventStream.OverflowPolicy.DROP_NEWEST);
+            manager.start();
+            Thread.sleep(300);
+            manager.pause();
+            Thread.sleep(100);
+
+            assertTrue(manager.scoreBoard().totalFights() > 8);
+            assertEquals(1, stalled.received.size(), "Solo se entrega lo pedido con request(n)");
+            assertTrue(manager.events().droppedEvents() > 0);
+
+            stalled.subscription.request(100);
+            Thread.sleep(100);
+            assertEquals(9, stalled.received.size(), "El buffer conserva a lo sumo 8 eventos pendientes");
+        }
+    }
+
+    @Test
+    @DisplayName("COALESCE debe agrupar las peleas pendientes contra la misma victima")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void coalesceShouldMergeFightsPerVictim() throws InterruptedException {
+        var population = new ConcurrentLinkedQueue<Immortal>();
+        var scoreBoard = new ScoreBoard();
+        var controller = new PauseController();
+        var attacker = new Immortal(0, "a", 100, 10, population, scoreBoard, controller, FightStrategy.ORDERED);
+        var victim = new Immortal(1, "b", 100, 10, population, scoreBoard, controller, FightStrategy.ORDERED);
+
+        try (var stream = new EventStream()) {
+            var recorder = new Recorder(0);
+            stream.subscribe(recorder, 4, EventStream.OverflowPolicy.COALESCE);
+            for (int i = 0; i < 50; i++) {
+                stream.publishFight(attacker, victim, 100 + i, 100 - i);
+            }
+            stream.publishDeath(victim, attacker);
+            Thread.sleep(100);
+
+            recorder.subscription.request(10);
+            AtomicInteger waited = new AtomicInteger();
+            while (recorder.received.size() < 2 && waited.incrementAndGet() < 200) {
+                Thread.sleep(10);
+            }
+            List<SimulationEvent> events = List.copyOf(recorder.received);
+            assertEquals(2, events.size());
+            var fight = (SimulationEvent.Fight) events.get(0);
+            assertEquals(50, fight.hits());
+            assertEquals(51, fight.victimHealth());
+            assertInstanceOf(SimulationEvent.Death.class, events.get(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelar dentro de onSubscribe no debe dejar la suscripcion registrada")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void cancelInsideOnSubscribeShouldNotRegister() {
+        try (var stream = new EventStream()) {
+            var recorder = new Recorder(0) {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    super.onSubscribe(s);
+                    s.cancel();
+                }
+            };
+            stream.subscribe(recorder);
+
+            assertEquals(0, stream.subscriberCount());
+            assertFalse(stream.hasSubscribers(), "Sin suscriptores los productores no deben crear eventos");
+        }
+    }
+
+    @Test
+    @DisplayName("El despachador estacionado debe despertar con el primer evento tras un rato sin eventos")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void idleDispatcherShouldWakeOnOffer() throws InterruptedException {
+        try (var stream = new EventStream()) {
+            var recorder = new Recorder(Long.MAX_VALUE);
+            stream.subscribe(recorder);
+            Thread.sleep(100);
+            stream.publishPause(true);
+            while (recorder.received.isEmpty()) {
+                Thread.sleep(5);
+            }
+            assertInstanceOf(SimulationEvent.PauseChanged.class, recorder.received.peek());
+        }
+    }
+
+    @Test
+    @DisplayName("stop() debe completar a los suscriptores")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void stopShouldCompleteSubscribers() throws InterruptedException {
+        var manager = new ImmortalManager(4, 1_000_000, 1, FightStrategy.ORDERED);
+        manager.setFightLogging(false);
+        var recorder = new Recorder(Long.MAX_VALUE);
+        manager.events().subscribe(recorder);
+        manager.start();
+        Thread.sleep(50);
+        manager.stop();
+
+        assertTrue(recorder.completed.await(5, TimeUnit.SECONDS), "stop() debe cerrar el flujo de eventos");
+        assertEquals(0, manager.events().subscriberCount());
+    }
+}
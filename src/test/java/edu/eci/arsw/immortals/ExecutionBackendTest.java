@@ -0,0 +1,98 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests de los backends de ejecucion y del stop() estructurado.
+ */
+class ExecutionBackendTest {
+
+    @ParameterizedTest
+    @EnumSource(ExecutionBackend.class)
+    @DisplayName("Cada backend debe pelear, pausar a todos sin retener hilos y detenerse rapido")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void backendShouldFightPauseAndStop(ExecutionBackend backend) throws InterruptedException {
+        try (var manager = new ImmortalManager(64, 100_000, 10, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setExecutionBackend(backend, 2);
+            manager.start();
+            Thread.sleep(100);
+
+            manager.pause();
+            long fights = manager.scoreBoard().totalFights();
+            assertTrue(fights > 0, backend + ": Deberían haber ocurrido peleas");
+            assertEquals(64, manager.controller().pausedThreads(), "Con 2 hilos de pool, los 64 deben contar como pausados");
+            Thread.sleep(50);
+            assertEquals(fights, manager.scoreBoard().totalFights());
+
+            manager.resume();
+            Thread.sleep(50);
+            assertTrue(manager.scoreBoard().totalFights() > fights, "Las peleas deben continuar tras resume");
+
+            manager.stop();
+            assertFalse(manager.isRunning());
+            assertTrue(manager.lastStopNanos() < TimeUnit.SECONDS.toNanos(1), "stop() debe cancelar de inmediato");
+            assertNull(manager.workerFailure());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionBackend.class)
+    @DisplayName("Con una cubeta de tokens muy adelantada la pausa no espera al ritmo ni hay rafaga al reanudar")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void tokenBucketShouldNotDelayPauseNorBurstOnResume(ExecutionBackend backend) throws InterruptedException {
+        // 16 inmortales x 8 turnos reservados a 20 peleas/s: las reservas llegan a ~6 s en el futuro
+        try (var manager = new ImmortalManager(16, 100_000, 10, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setExecutionBackend(backend, 2);
+            manager.setFightRateGovernor(FightRateGovernor.tokenBucket(20));
+            manager.start();
+            Thread.sleep(300);
+
+            assertTrue(manager.pause(Duration.ofSeconds(1)), backend + ": la pausa no debe esperar al ritmo");
+            assertTrue(manager.lastQuiesceNanos() < TimeUnit.MILLISECONDS.toNanos(500),
+                    backend + ": quieto en " + manager.lastQuiesceNanos() / 1_000_000 + " ms");
+            long fights = manager.scoreBoard().totalFights();
+
+            manager.resume();
+            Thread.sleep(300);
+            long burst = manager.scoreBoard().totalFights() - fights;
+            assertTrue(burst <= 12, backend + ": " + burst + " peleas en 300 ms a 20/s, cada uno debe esperar su turno");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionBackend.class)
+    @DisplayName("stop() debe cancelar una simulacion NAIVE aunque este interbloqueada")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void stopShouldCancelDeadlockedNaive(ExecutionBackend backend) throws InterruptedException {
+        try (var manager = new ImmortalManager(3, 1_000_000, 1, FightStrategy.NAIVE)) {
+            manager.setFightLogging(false);
+            manager.setExecutionBackend(backend, 3);
+            manager.setTargetingPolicy(TargetingPolicy.REVENGE);
+            manager.start();
+            Thread.sleep(300);
+            manager.stop();
+            assertTrue(manager.lastStopNanos() < TimeUnit.SECONDS.toNanos(1),
+                    "stop() tardo " + manager.lastStopNanos() / 1_000_000 + " ms");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionBackend.class)
+    @DisplayName("El backend solo se puede cambiar con la simulacion detenida")
+    void backendChangeRequiresStoppedManager(ExecutionBackend backend) {
+        try (var manager = new ImmortalManager(2, 100, 10, FightStrategy.ORDERED)) {
+            manager.setExecutionBackend(backend, 1);
+            assertEquals(backend, manager.getExecutionBackend());
+            manager.start();
+            assertThrows(IllegalStateException.class, () -> manager.setExecutionBackend(ExecutionBackend.VIRTUAL, 1));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests del gobernador de ritmo de peleas.
+ */
+class FightRateGovernorTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    @DisplayName("La cubeta de tokens debe espaciar los turnos reservados a la tasa pedida")
+    void tokenBucketShouldSpaceReservations() {
+        var governor = FightRateGovernor.tokenBucket(1000);
+        var permits = new FightRateGovernor.Permits();
+        long previous = -1;
+        long last = 0;
+        for (int i = 0; i < 80; i++) {
+            last = governor.delayNanos(permits);
+            assertTrue(last >= previous - MS, "Los turnos deben avanzar en el tiempo");
+            previous = last;
+        }
+        assertTrue(last > 70 * MS && last < 85 * MS, "El turno 80 a 1000/s debe caer cerca de 79 ms: " + last);
+    }
+
+    @Test
+    @DisplayName("Los inmortales deben compartir la tasa global reservando lotes disjuntos")
+    void tokenBucketShouldShareRateBetweenImmortals() {
+        var governor = FightRateGovernor.tokenBucket(1000);
+        var first = new FightRateGovernor.Permits();
+        var second = new FightRateGovernor.Permits();
+        governor.delayNanos(first);
+        long secondDelay = governor.delayNanos(second);
+        long batch = FightRateGovernor.TokenBucket.BATCH * MS;
+        assertTrue(secondDelay > batch - 2 * MS && secondDelay <= batch,
+                "El segundo lote empieza cuando termina el primero: " + secondDelay);
+    }
+
+    @Test
+    @DisplayName("Los turnos sin usar de quien sale deben volver a la cubeta para el siguiente")
+    void tokenBucketShouldReturnUnusedPermits() {
+        var governor = (FightRateGovernor.TokenBucket) FightRateGovernor.tokenBucket(10);
+        var dying = new FightRateGovernor.Permits();
+        long begin = System.nanoTime();
+        governor.delayNanos(dying);
+        assertTrue(governor.tat() - begin >= 790 * MS, "Reservo 8 turnos de 100 ms");
+
+        governor.release(dying);
+        long afterRelease = governor.tat();
+        assertTrue(afterRelease - begin <= 110 * MS, "Vuelven los 7 turnos sin usar: " + (afterRelease - begin) / MS + " ms");
+        governor.release(dying);
+        assertEquals(afterRelease, governor.tat(), "Devolver dos veces no debe devolver de mas");
+
+        long replacement = governor.delayNanos(new FightRateGovernor.Permits());
+        assertTrue(replacement <= 110 * MS, "El reemplazo pelea en el turno siguiente: " + replacement / MS + " ms");
+    }
+
+    @Test
+    @DisplayName("LEGACY debe pausar 2 ms por inmortal y UNTHROTTLED no debe esperar")
+    void fixedGovernorsShouldReturnConstantDelays() {
+        var permits = new FightRateGovernor.Permits();
+        assertEquals(2 * MS, FightRateGovernor.LEGACY.delayNanos(permits));
+        assertEquals(0, FightRateGovernor.UNTHROTTLED.delayNanos(permits));
+        assertThrows(IllegalArgumentException.class, () -> FightRateGovernor.tokenBucket(0));
+    }
+
+    @Test
+    @DisplayName("Una simulacion con tasa objetivo debe pelear cerca de esa tasa sin importar la poblacion")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void simulationShouldFollowTargetRate() throws InterruptedException {
+        try (var manager = new ImmortalManager(200, 1_000_000, 1, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.tokenBucket(1000));
+            manager.start();
+            Thread.sleep(100);
+            long fights0 = manager.scoreBoard().totalFights();
+            long begin = System.nanoTime();
+            Thread.sleep(500);
+            double rate = (manager.scoreBoard().totalFights() - fights0) * 1e9 / (System.nanoTime() - begin);
+            assertTrue(rate > 700 && rate < 1300, "Tasa fuera de rango: " + rate);
+        }
+    }
+}
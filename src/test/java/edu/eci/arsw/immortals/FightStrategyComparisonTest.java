@@ -1,9 +1,12 @@
 package edu.eci.arsw.immortals;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -67,6 +70,121 @@ class FightStrategyComparisonTest {
         }
     }
 
+    @Test
+    @DisplayName("FLAT_COMBINING debe aplicar peleas en lote sin salud negativa y respetar la pausa")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void flatCombiningShouldBatchFightsSafely() throws InterruptedException {
+        try (var manager = new ImmortalManager(2, 100_000, DAMAGE, FightStrategy.FLAT_COMBINING)) {
+            manager.setFightLogging(false);
+            manager.start();
+            Thread.sleep(200);
+            manager.pause();
+
+            long fights = manager.scoreBoard().totalFights();
+            assertTrue(fights > 0, "FLAT_COMBINING: Deberían haber ocurrido peleas");
+            assertTrue(manager.scoreBoard().combinerPasses() > 0);
+            assertTrue(manager.scoreBoard().combinerPasses() <= fights,
+                    "Cada pasada del combinador aplica al menos una pelea");
+            for (Immortal immortal : manager.populationSnapshot()) {
+                assertTrue(immortal.getHealth() >= 0);
+            }
+            Thread.sleep(50);
+            assertEquals(fights, manager.scoreBoard().totalFights());
+            manager.resume();
+        }
+    }
+
+    @Test
+    @DisplayName("FLAT_COMBINING debe llevar una población pequeña hasta un único sobreviviente")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void flatCombiningShouldReachLastSurvivor() throws InterruptedException {
+        try (var manager = new ImmortalManager(6, 50, DAMAGE, FightStrategy.FLAT_COMBINING)) {
+            manager.setFightLogging(false);
+            manager.start();
+            while (manager.aliveCount() > 1) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, manager.aliveCount());
+        }
+    }
+
+    @Test
+    @DisplayName("ACTOR debe pelear por mensajes sin salud negativa, respetar la pausa y llegar a un sobreviviente")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void actorStrategyShouldFightThroughMailboxes() throws InterruptedException {
+        try (var manager = new ImmortalManager(8, 60, DAMAGE, FightStrategy.ACTOR)) {
+            manager.setFightLogging(false);
+            manager.start();
+            Thread.sleep(100);
+            manager.pause();
+
+            long fights = manager.scoreBoard().totalFights();
+            assertTrue(fights > 0, "ACTOR: Deberían haber ocurrido peleas");
+            for (Immortal immortal : manager.populationSnapshot()) {
+                assertTrue(immortal.getHealth() >= 0);
+            }
+            Thread.sleep(50);
+            assertEquals(fights, manager.scoreBoard().totalFights());
+
+            manager.resume();
+            while (manager.aliveCount() > 1) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, manager.aliveCount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(TeamLocking.class)
+    @DisplayName("Las batallas de equipo deben bloquear k oponentes sin deadlock, sin salud negativa y llegar a un sobreviviente")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void teamBattlesShouldLockKOpponentsWithoutDeadlock(TeamLocking locking) throws InterruptedException {
+        try (var manager = new ImmortalManager(12, 200, DAMAGE, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            manager.setTeamBattle(4, locking);
+            manager.start();
+            assertThrows(IllegalStateException.class, () -> manager.setTeamBattle(2, locking));
+
+            manager.pause();
+            for (Immortal im : manager.populationSnapshot()) {
+                assertTrue(im.getHealth() >= 0, "La salud nunca debe ser negativa");
+            }
+            manager.resume();
+
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (manager.aliveCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, manager.aliveCount());
+            assertTrue(manager.scoreBoard().teamBattles() > 0);
+            assertTrue(manager.scoreBoard().totalFights() >= manager.scoreBoard().teamBattles());
+            manager.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FightStrategy.class)
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    @DisplayName("La pausa termina dentro del plazo con cualquier estrategia, incluso NAIVE interbloqueado")
+    void shouldPauseWithinDeadline(FightStrategy strategy) throws InterruptedException {
+        try (var manager = new ImmortalManager(200, 1_000_000, 1, strategy)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            manager.start();
+            for (int round = 0; round < 3; round++) {
+                Thread.sleep(100);
+                assertTrue(manager.pause(Duration.ofSeconds(2)), "Todos deben pausarse antes del plazo");
+                assertTrue(manager.lastQuiesceNanos() >= 0);
+                long total = manager.totalHealth();
+                Thread.sleep(20);
+                assertEquals(total, manager.totalHealth(), "Nada debe pelear durante la pausa");
+                manager.resume();
+            }
+            manager.stop();
+        }
+    }
+
     @Test
     @DisplayName("La creación de managers con diferentes estrategias debe funcionar correctamente")
     void shouldCreateManagersWithDifferentStrategiesCorrectly() {
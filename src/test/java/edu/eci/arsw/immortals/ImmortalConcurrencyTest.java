@@ -3,6 +3,8 @@ package edu.eci.arsw.immortals;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.concurrent.TimeUnit;
 
@@ -28,6 +30,75 @@ class ImmortalConcurrencyTest {
         }
     }
 
+    @Test
+    @DisplayName("La foto de salud debe ser estable por id y no depender de la población viva")
+    void shouldSnapshotHealthByStableId() {
+        try (var manager = new ImmortalManager(5, INITIAL_HEALTH, DAMAGE, FightStrategy.ORDERED)) {
+            int[] health = new int[8];
+            assertEquals(5, manager.rosterSize());
+            assertEquals(5, manager.healthSnapshot(health));
+            for (int i = 0; i < 5; i++) {
+                assertEquals(INITIAL_HEALTH, health[i]);
+                assertEquals(i, manager.populationSnapshot().get(i).id());
+            }
+            assertEquals(0, health[5]);
+        }
+    }
+
+    @Test
+    @DisplayName("spawn debe agregar inmortales en caliente y contarlos en la pausa")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void shouldSpawnImmortalsWhileRunning() throws InterruptedException {
+        try (var manager = new ImmortalManager(3, 1000, DAMAGE, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.start();
+            assertEquals(4, manager.spawn(4));
+            assertEquals(7, manager.rosterSize());
+            assertEquals(6, manager.populationSnapshot().get(6).id());
+
+            manager.pause();
+            assertEquals(7, manager.controller().pausedThreads(),
+                    "Los inmortales nuevos tambien deben quedar pausados");
+            manager.resume();
+        }
+    }
+
+    @Test
+    @DisplayName("keepPopulation debe mantener la población constante mientras mueren inmortales")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void shouldKeepPopulationWithRespawnPolicy() throws InterruptedException {
+        try (var manager = new ImmortalManager(4, 20, DAMAGE, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setRespawnPolicy(RespawnPolicy.keepPopulation(4));
+            manager.start();
+            Thread.sleep(400);
+            manager.pause();
+
+            assertTrue(manager.rosterSize() > 4, "Deberian haber reaparecido inmortales");
+            assertEquals(4, manager.populationSnapshot().size());
+            manager.resume();
+        }
+    }
+
+    @Test
+    @DisplayName("Reiniciar con reaparicion activa no debe esperar a los asesinos ni reaparecer en la corrida nueva")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void shouldRestartPromptlyWhileRespawning() throws InterruptedException {
+        try (var manager = new ImmortalManager(64, 20, DAMAGE, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            manager.setRespawnPolicy(RespawnPolicy.keepPopulation(64));
+            manager.start();
+            Thread.sleep(200);
+
+            manager.start();
+            assertTrue(manager.lastStopNanos() < TimeUnit.MILLISECONDS.toNanos(1000),
+                    "El stop del reinicio no debe esperar a asesinos bloqueados: " + manager.lastStopNanos() + " ns");
+            assertTrue(manager.isRunning());
+            assertEquals(0, manager.aliveCount(), "stop() vacio la poblacion y nada de la corrida vieja reaparece");
+        }
+    }
+
     @Test
     @DisplayName("Los inmortales deben poder pausar y reanudar correctamente")
     @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
@@ -123,6 +194,59 @@ class ImmortalConcurrencyTest {
         }
     }
 
+    @Test
+    @DisplayName("La inicializacion en bloque debe asignar ids consecutivos, nombres derivados y arrancar todos los lotes")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void bulkInitializationShouldStartEveryBatch() throws InterruptedException {
+        int count = 10_000;
+        try (var manager = new ImmortalManager(count, INITIAL_HEALTH, DAMAGE, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            assertEquals(count, manager.rosterSize());
+            var snapshot = manager.populationSnapshot();
+            assertEquals("Immortal_0", snapshot.get(0).name());
+            assertEquals("Immortal_" + (count - 1), snapshot.get(count - 1).name());
+
+            manager.start();
+            manager.pause();
+            assertEquals(count, manager.controller().pausedThreads(), "Todos los lotes deben haber arrancado");
+            manager.resume();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = FightStrategy.class, names = { "ORDERED", "ADAPTIVE", "FLAT_COMBINING" })
+    @DisplayName("Las sumas optimistas de salud nunca deben ver una pelea a medias (sin tomar locks)")
+    @Timeout(value = TEST_TIMEOUT_SECONDS, unit = TimeUnit.SECONDS)
+    void optimisticHealthTotalsShouldNeverSeeHalfAppliedFights(FightStrategy strategy) throws InterruptedException {
+        // damage 2: cada pelea suma 1 al atacante y resta 2 a la victima, el total solo puede bajar
+        // (con CAS se resta primero: una pelea a medias se veria como una bajada y luego una subida)
+        try (var manager = new ImmortalManager(8, 1_000_000, 2, strategy)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            // hilos de plataforma: el sistema puede desalojar a un atacante entre sus dos escrituras
+            manager.setExecutionBackend(ExecutionBackend.PLATFORM_POOL, 4);
+            if (strategy == FightStrategy.ADAPTIVE)
+                manager.adaptiveController().pin(AdaptiveController.Mode.LOCK_FREE);
+            Object[] immortals = manager.populationSnapshot().toArray();
+            manager.start();
+
+            long previous = Long.MAX_VALUE;
+            int consistent = 0;
+            long deadline = System.nanoTime() + 500_000_000L;
+            while (System.nanoTime() < deadline) {
+                var total = manager.snapshotTotalHealth(immortals, 8);
+                if (total.isPresent()) {
+                    assertTrue(total.getAsLong() <= previous, strategy + ": la suma subio, se leyo una pelea a medias");
+                    previous = total.getAsLong();
+                    consistent++;
+                }
+            }
+            manager.stop();
+            assertTrue(consistent > 0);
+            assertTrue(manager.scoreBoard().totalFights() > 0);
+        }
+    }
+
     @Test
     @DisplayName("AutoCloseable debe funcionar correctamente")
     void shouldCloseCorrectly() throws Exception {
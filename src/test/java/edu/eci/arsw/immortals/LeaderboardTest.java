@@ -0,0 +1,124 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tests del top-K concurrente de muertes y daño.
+ */
+class LeaderboardTest {
+
+    private static final Comparator<Leaderboard.Entry> RANKING = Comparator
+            .comparingLong(Leaderboard.Entry::score).reversed()
+            .thenComparingInt(Leaderboard.Entry::id);
+
+    private static Immortal[] immortals(int n) {
+        Immortal[] all = new Immortal[n];
+        for (int i = 0; i < n; i++)
+            all[i] = new Immortal(i, 100, 10, null, null, null, FightStrategy.ORDERED);
+        return all;
+    }
+
+    /* Top-K por fuerza bruta: ordena todos los puntajes positivos */
+    private static List<Leaderboard.Entry> bruteForce(Immortal[] all, long[] scores, int k) {
+        List<Leaderboard.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < all.length; i++)
+            if (scores[i] > 0)
+                entries.add(new Leaderboard.Entry(i, all[i].name(), scores[i]));
+        entries.sort(RANKING);
+        return List.copyOf(entries.subList(0, Math.min(k, entries.size())));
+    }
+
+    @Test
+    @DisplayName("El top-K coincide con ordenar toda la poblacion")
+    void shouldMatchBruteForceRanking() {
+        Immortal[] all = immortals(500);
+        long[] scores = new long[all.length];
+        var board = new Leaderboard(7, 4);
+        var random = new java.util.Random(42);
+        for (int step = 0; step < 20_000; step++) {
+            int i = random.nextInt(all.length);
+            scores[i] += random.nextInt(5);
+            board.update(all[i], scores[i]);
+        }
+        assertEquals(bruteForce(all, scores, 7), board.top());
+    }
+
+    @Test
+    @DisplayName("Un puntaje viejo que llega tarde no reemplaza uno mayor")
+    void shouldIgnoreStaleScores() {
+        Immortal[] all = immortals(3);
+        var board = new Leaderboard(2, 1);
+        board.update(all[0], 5);
+        board.update(all[0], 3);
+        board.update(all[1], 4);
+        board.update(all[2], 1);
+        assertEquals(List.of(new Leaderboard.Entry(0, "Immortal_0", 5), new Leaderboard.Entry(1, "Immortal_1", 4)),
+                board.top());
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    @DisplayName("Con actualizaciones concurrentes el top-K final es exacto")
+    void shouldBeExactUnderConcurrentUpdates() throws InterruptedException {
+        Immortal[] all = immortals(10_000);
+        var counters = new AtomicLongArray(all.length);
+        var board = new Leaderboard(10, 8);
+        Thread[] workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = Thread.ofPlatform().start(() -> {
+                var random = java.util.concurrent.ThreadLocalRandom.current();
+                for (int step = 0; step < 200_000; step++) {
+                    // Sesgo hacia ids bajos para que haya competencia real por el top
+                    int i = random.nextInt(random.nextBoolean() ? 64 : all.length);
+                    board.update(all[i], counters.addAndGet(i, 1 + random.nextInt(3)));
+                }
+            });
+        }
+        for (Thread t : workers)
+            t.join();
+
+        long[] scores = new long[all.length];
+        for (int i = 0; i < all.length; i++)
+            scores[i] = counters.get(i);
+        assertEquals(bruteForce(all, scores, 10), board.top());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = FightStrategy.class, names = { "ORDERED", "ACTOR" })
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    @DisplayName("Las muertes acreditadas suman los inmortales retirados y el top refleja los contadores")
+    void shouldCreditKillsAndDamage(FightStrategy strategy) throws Exception {
+        try (var manager = new ImmortalManager(64, 40, 10, strategy)) {
+            manager.setFightLogging(false);
+            manager.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (manager.aliveCount() > 16 && System.nanoTime() < deadline)
+                Thread.sleep(10);
+            manager.pause();
+
+            List<Immortal> roster = new ArrayList<>();
+            for (int i = 0; i < manager.rosterSize(); i++)
+                roster.add(manager.roster().get(i));
+            long kills = roster.stream().mapToLong(Immortal::kills).sum();
+            assertEquals(manager.rosterSize() - manager.aliveCount(), kills);
+
+            Immortal[] all = roster.toArray(Immortal[]::new);
+            long[] killScores = roster.stream().mapToLong(Immortal::kills).toArray();
+            long[] damageScores = roster.stream().mapToLong(Immortal::damageDealt).toArray();
+            assertEquals(bruteForce(all, killScores, Leaderboard.DEFAULT_K), manager.scoreBoard().killLeaders().top());
+            assertEquals(bruteForce(all, damageScores, Leaderboard.DEFAULT_K),
+                    manager.scoreBoard().damageLeaders().top());
+            manager.stop();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests del muestreador de metricas y su buffer circular.
+ */
+class MetricsSamplerTest {
+
+    @Test
+    @DisplayName("El buffer circular debe conservar solo las ultimas muestras en orden")
+    void shouldKeepLatestSamplesInOrder() {
+        try (var manager = new ImmortalManager(4, 100, 10, FightStrategy.ORDERED);
+                var sampler = new MetricsSampler(manager, 3)) {
+            for (int i = 0; i < 5; i++) {
+                sampler.sample();
+            }
+            var series = sampler.snapshot();
+            assertEquals(3, series.size());
+            for (int i = 1; i < series.size(); i++) {
+                assertTrue(series.timeMillis()[i - 1] <= series.timeMillis()[i]);
+            }
+            assertEquals(4, series.alive()[2]);
+        }
+    }
+
+    @Test
+    @DisplayName("Las series deben registrar peleas y exportarse a CSV")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldSampleRunningSimulationAndExportCsv(@TempDir Path dir) throws Exception {
+        try (var manager = new ImmortalManager(6, 1000, 10, FightStrategy.ORDERED);
+                var sampler = new MetricsSampler(manager, 100, 20)) {
+            manager.setFightLogging(false);
+            manager.start();
+            sampler.start();
+            Thread.sleep(300);
+            manager.stop();
+
+            var series = sampler.snapshot();
+            assertTrue(series.size() > 0);
+            double maxRate = 0;
+            for (double r : series.fightsPerSecond()) maxRate = Math.max(maxRate, r);
+            assertTrue(maxRate > 0, "Deberian verse peleas por segundo");
+
+            Path csv = dir.resolve("metrics.csv");
+            sampler.exportCsv(csv);
+            var lines = Files.readAllLines(csv);
+            assertEquals("time_ms,fights_per_sec,alive,lock_wait_p99_us,paused_threads", lines.get(0));
+            assertTrue(lines.size() > 1);
+        }
+    }
+}
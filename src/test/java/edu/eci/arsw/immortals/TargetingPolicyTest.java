@@ -0,0 +1,326 @@
+package edu.eci.arsw.immortals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import edu.eci.arsw.concurrency.PauseController;
+import edu.eci.arsw.concurrency.ZipfSampler;
+
+/**
+ * Tests de las politicas de seleccion de oponente y sus indices.
+ */
+class TargetingPolicyTest {
+
+    @Test
+    @DisplayName("WEAKEST y STRONGEST deben elegir los extremos del indice de salud")
+    void shouldPickWeakestAndStrongest() {
+        var roster = new Roster();
+        var population = new ConcurrentLinkedQueue<Immortal>();
+        var scoreBoard = new ScoreBoard();
+        var controller = new PauseController();
+        int[] health = { 50, 10, 90, 30 };
+        for (int i = 0; i < health.length; i++) {
+            var im = new Immortal(i, "Immortal_" + i, health[i], 10, population, scoreBoard, controller,
+                    FightStrategy.ORDERED);
+            roster.add(im);
+            population.add(im);
+        }
+        var weakest = Targeter.create(TargetingPolicy.WEAKEST, roster, 10);
+        var strongest = Targeter.create(TargetingPolicy.STRONGEST, roster, 10);
+        for (Immortal im : population) {
+            weakest.register(im);
+            strongest.register(im);
+        }
+
+        assertEquals(1, weakest.pick(roster.get(0)).id());
+        assertEquals(3, weakest.pick(roster.get(1)).id(), "No debe elegirse a si mismo");
+        assertEquals(2, strongest.pick(roster.get(0)).id());
+
+        roster.get(1).takeExternalHit(10);
+        weakest.healthChanged(roster.get(1), 10, 0);
+        assertEquals(3, weakest.pick(roster.get(0)).id(), "Los muertos salen del indice");
+        assertEquals(3, ((Targeter.HealthIndexed) weakest).indexedCount());
+    }
+
+    @Test
+    @DisplayName("Avisos de salud viejos o en desorden no deben dejar claves de mas en el indice")
+    void healthIndexShouldIgnoreStaleNotifications() {
+        var roster = new Roster();
+        var population = new ConcurrentLinkedQueue<Immortal>();
+        var im = new Immortal(0, "Immortal_0", 100, 10, population, new ScoreBoard(), new PauseController(),
+                FightStrategy.FLAT_COMBINING);
+        roster.add(im);
+        population.add(im);
+        var weakest = (Targeter.HealthIndexed) Targeter.create(TargetingPolicy.WEAKEST, roster, 10);
+        weakest.register(im);
+
+        im.takeExternalHit(10);
+        im.takeExternalHit(10);
+        weakest.healthChanged(im, 90, 80);
+        weakest.healthChanged(im, 100, 90);
+        assertEquals(1, weakest.indexedCount(), "Una sola clave, la de la salud actual");
+
+        im.takeExternalHit(80);
+        weakest.healthChanged(im, 80, 0);
+        weakest.healthChanged(im, 90, 80);
+        assertEquals(0, weakest.indexedCount(), "Un aviso viejo no devuelve al indice a un muerto");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = FightStrategy.class, names = { "FLAT_COMBINING", "ADAPTIVE" })
+    @DisplayName("Con avisos de salud concurrentes el indice de WEAKEST debe quedar con una clave por vivo")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void healthIndexShouldMatchTheLivingWhenQuiescent(FightStrategy strategy) throws InterruptedException {
+        try (var manager = new ImmortalManager(64, 500, 10, strategy)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            manager.setTargetingPolicy(TargetingPolicy.WEAKEST);
+            var index = (Targeter.HealthIndexed) manager.targeter();
+            if (strategy == FightStrategy.ADAPTIVE)
+                manager.adaptiveController().pin(AdaptiveController.Mode.LOCK_FREE);
+            manager.start();
+            Thread.sleep(400);
+            manager.pause();
+
+            assertTrue(manager.scoreBoard().totalFights() > 0);
+            if (strategy == FightStrategy.ADAPTIVE)
+                assertEquals(AdaptiveController.Mode.LOCK_FREE, manager.adaptiveController().mode());
+            assertEquals(manager.aliveCount(), index.indexedCount(),
+                    strategy + ": ni claves viejas ni vivos fuera del indice");
+            manager.resume();
+        }
+    }
+
+    @Test
+    @DisplayName("El muestreador Zipf debe concentrar los sorteos en los primeros rangos")
+    void shouldSkewZipfSamples() {
+        var sampler = new ZipfSampler(100_000, 1.1);
+        var random = ThreadLocalRandom.current();
+        int top10 = 0;
+        int samples = 100_000;
+        for (int i = 0; i < samples; i++) {
+            int k = sampler.sample(random);
+            assertTrue(k >= 0 && k < 100_000);
+            if (k < 10) top10++;
+        }
+        assertTrue(top10 > samples / 4, "Los 10 primeros deberian recibir mas de un cuarto de los sorteos");
+    }
+
+    @Test
+    @DisplayName("ZIPF debe sortear sobre los vivos y recrear el muestreador solo al duplicarse o encogerse")
+    void zipfShouldSampleTheLivingWithGeometricSampler() {
+        var roster = new Roster();
+        var population = new ConcurrentLinkedQueue<Immortal>();
+        var scoreBoard = new ScoreBoard();
+        var controller = new PauseController();
+        var zipf = (Targeter.Zipf) Targeter.create(TargetingPolicy.ZIPF, roster, 10);
+        int sizes = 0;
+        int last = 0;
+        for (int i = 0; i < 1000; i++) {
+            var im = new Immortal(i, "Immortal_" + i, 100, 10, population, scoreBoard, controller,
+                    FightStrategy.ORDERED);
+            roster.add(im);
+            population.add(im);
+            zipf.pick(im);
+            if (zipf.samplerSize() != last) {
+                last = zipf.samplerSize();
+                sizes++;
+            }
+        }
+        assertEquals(1024, zipf.samplerSize());
+        assertTrue(sizes <= 10, "El muestreador crece duplicando, no con cada alta: " + sizes);
+
+        for (int i = 0; i < 990; i++) {
+            var dead = roster.get(i);
+            dead.takeExternalHit(100);
+            roster.removeLive(dead);
+        }
+        var self = roster.get(999);
+        for (int i = 0; i < 1000; i++) {
+            var picked = zipf.pick(self);
+            assertNotNull(picked);
+            assertNotSame(self, picked);
+            assertTrue(picked.isImmortalAlive(), "Nunca un muerto del roster");
+        }
+        assertEquals(16, zipf.samplerSize(), "Con 10 vivos el muestreador se encoge");
+    }
+
+    @Test
+    @DisplayName("Con reaparicion el indice de vivos del roster no debe acumular muertos")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void liveIndexShouldDropTheDead() throws InterruptedException {
+        try (var manager = new ImmortalManager(16, 20, 10, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            manager.setRespawnPolicy(RespawnPolicy.keepPopulation(16));
+            manager.start();
+            Thread.sleep(300);
+            manager.pause();
+
+            assertTrue(manager.rosterSize() > 16, "Deberian haber muerto y reaparecido inmortales");
+            assertEquals(manager.populationSnapshot().size(), manager.roster().liveCount(),
+                    "El indice de vivos debe coincidir con la poblacion");
+            for (int i = 0; i < 100; i++) {
+                Immortal self = manager.populationSnapshot().get(0);
+                Immortal other = manager.targeter().pick(self);
+                assertNotNull(other);
+                assertNotSame(self, other);
+                assertTrue(other.isImmortalAlive(), "Solo se sortean vivos");
+            }
+            manager.resume();
+            manager.stop();
+            assertEquals(0, manager.roster().liveCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Todas las politicas deben producir peleas sin salud negativa")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void everyPolicyShouldFight() throws InterruptedException {
+        for (TargetingPolicy policy : TargetingPolicy.values()) {
+            try (var manager = new ImmortalManager(8, 200, 10, FightStrategy.ORDERED)) {
+                manager.setFightLogging(false);
+                manager.setTargetingPolicy(policy);
+                manager.start();
+                assertThrows(IllegalStateException.class, () -> manager.setTargetingPolicy(TargetingPolicy.UNIFORM));
+                Thread.sleep(150);
+                manager.pause();
+                assertTrue(manager.scoreBoard().totalFights() > 0, policy + ": deberian ocurrir peleas");
+                for (Immortal im : manager.populationSnapshot()) {
+                    assertTrue(im.getHealth() >= 0, policy + ": salud negativa");
+                }
+                manager.resume();
+                assertEquals(policy, manager.getTargetingPolicy());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("ARENA solo debe elegir oponentes de la celda propia o de las 8 vecinas")
+    void arenaShouldPickOnlyNeighbors() {
+        try (var manager = new ImmortalManager(256, 100, 10, FightStrategy.ORDERED)) {
+            manager.setArenaSide(16);
+            manager.setTargetingPolicy(TargetingPolicy.ARENA);
+            var arena = (Arena) manager.targeter();
+            assertEquals(16, arena.side());
+            for (Immortal self : manager.populationSnapshot()) {
+                assertTrue(self.cell() >= 0);
+                Immortal other = arena.pick(self);
+                if (other == null)
+                    continue;
+                assertNotSame(self, other);
+                int dx = Math.abs(self.cell() % 16 - other.cell() % 16);
+                int dy = Math.abs(self.cell() / 16 - other.cell() / 16);
+                assertTrue(Math.min(dx, 16 - dx) <= 1 && Math.min(dy, 16 - dy) <= 1, "Debe ser un vecino");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("En la arena los inmortales deben moverse y pelear con los locks de celda sin salud negativa")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void arenaFightsShouldUseCellLocks() throws InterruptedException {
+        try (var manager = new ImmortalManager(64, 1_000, 10, FightStrategy.ORDERED)) {
+            manager.setFightLogging(false);
+            manager.setFightRateGovernor(FightRateGovernor.UNTHROTTLED);
+            manager.setArenaSide(8);
+            manager.setTargetingPolicy(TargetingPolicy.ARENA);
+            manager.start();
+            Thread.sleep(300);
+            manager.pause();
+            assertTrue(manager.scoreBoard().totalFights() > 0);
+            for (Immortal im : manager.populationSnapshot()) {
+                assertTrue(im.getHealth() >= 0);
+                if (im.getHealth() > 0)
+                    assertTrue(im.cell() >= 0 && im.cell() < 64, "Todo vivo ocupa una celda");
+            }
+            manager.resume();
+            manager.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Con ARENA los golpes de otra particion deben excluir a las peleas de celda (sellos pares al pausar)")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void externalHitsShouldTakeTheArenaCell() throws Exception {
+        try (var left = arenaPartition(); var right = arenaPartition()) {
+            left.start();
+            right.start();
+            // el enlace entre las dos particiones, como los lotes de PartitionNode
+            Thread link = Thread.ofPlatform().start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    exchange(left, right);
+                    exchange(right, left);
+                }
+            });
+            Thread.sleep(400);
+            link.interrupt();
+            link.join();
+            left.pause();
+            right.pause();
+
+            for (var manager : List.of(left, right)) {
+                assertTrue(manager.scoreBoard().totalFights() > 0);
+                Object[] all = manager.populationSnapshot().toArray();
+                for (Object im : all)
+                    assertEquals(0, ((Immortal) im).stamp() & 1, "Ningun golpe debe dejar un sello impar");
+                var total = manager.snapshotTotalHealth(all, 4);
+                assertTrue(total.isPresent(), "En pausa la suma optimista debe ser estable");
+                long sum = 0;
+                for (Object im : all)
+                    sum += ((Immortal) im).getHealth();
+                assertEquals(sum, total.getAsLong());
+            }
+            left.resume();
+            right.resume();
+        }
+    }
+
+    @Test
+    @DisplayName("Con ARENA un golpe de otra particion debe esperar a que se libere la celda de la victima")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void externalHitShouldWaitForTheArenaCell() throws Exception {
+        try (var manager = arenaPartition()) {
+            var arena = (Arena) manager.targeter();
+            Immortal victim = manager.populationSnapshot().get(0);
+            int cell = victim.cell();
+            assertTrue(arena.lockCells(victim, cell, victim, cell, manager.controller()));
+            Thread remote;
+            try {
+                remote = Thread.ofPlatform().start(() -> manager.applyExternalHit(victim.id(), 10));
+                Thread.sleep(100);
+                assertEquals(100_000, victim.getHealth(), "Con la celda tomada el golpe no se aplica");
+            } finally {
+                arena.unlockCells(cell, cell);
+            }
+            remote.join();
+            assertEquals(100_000 - 10, victim.getHealth());
+            assertEquals(0, victim.stamp() & 1);
+        }
+    }
+
+    private static ImmortalManager arenaPartition() {
+        // ritmo LEGACY como los nodos: sin pausas entre peleas el enlace compite con todos por 16 celdas
+        var manager = new ImmortalManager(64, 100_000, 10, FightStrategy.ORDERED);
+        manager.setFightLogging(false);
+        manager.setFightRateGovernor(FightRateGovernor.LEGACY);
+        manager.setArenaSide(4);
+        manager.setTargetingPolicy(TargetingPolicy.ARENA);
+        return manager;
+    }
+
+    private static void exchange(ImmortalManager from, ImmortalManager to) {
+        Immortal attacker = from.randomAlive();
+        Immortal victim = to.randomAlive();
+        if (attacker != null && victim != null && to.applyExternalHit(victim.id(), 10))
+            from.applyExternalGain(attacker.id(), 5);
+    }
+}